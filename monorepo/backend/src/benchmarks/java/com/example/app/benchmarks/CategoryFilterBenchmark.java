@@ -0,0 +1,99 @@
+package com.example.app.benchmarks;
+
+import com.example.app.model.Series;
+import com.example.app.service.CatalogSnapshot;
+import com.example.app.service.CategoryIndex;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Splits catalogs of 10k and 100k series into the series in a user's 10 of 50 interests, without 50
+ * completed series and the continue-watching one, and the series in none of them. Compares stream
+ * filters over every series with bitset operations on the {@link CategoryIndex}, e.g. {@code
+ * ./gradlew jmh -PjmhArgs='CategoryFilterBenchmark -prof gc'}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CategoryFilterBenchmark {
+
+  private static final int CATEGORIES = 50;
+
+  @Param({"10000", "100000"})
+  private int catalogSize;
+
+  private CatalogSnapshot catalog;
+  private Set<String> interests;
+  private Set<UUID> completed;
+  private UUID continueWatching;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    List<Series> series = new ArrayList<>(catalogSize);
+    for (int i = 0; i < catalogSize; i++) {
+      Series s =
+          new Series("Series " + i, "Description", "Category " + random.nextInt(CATEGORIES), null);
+      s.setId(UUID.randomUUID());
+      series.add(s);
+    }
+    catalog = new CatalogSnapshot(series, List.of());
+    interests = new HashSet<>();
+    for (int c = 0; c < 10; c++) {
+      interests.add("Category " + c);
+    }
+    completed = new HashSet<>();
+    while (completed.size() < 50) {
+      completed.add(series.get(random.nextInt(catalogSize)).getId());
+    }
+    continueWatching = series.get(random.nextInt(catalogSize)).getId();
+  }
+
+  @Benchmark
+  public Object streamFilters() {
+    List<Series> candidates =
+        catalog.allSeries().stream()
+            .filter(s -> interests.contains(s.getCategory()))
+            .filter(s -> !completed.contains(s.getId()))
+            .filter(s -> !s.getId().equals(continueWatching))
+            .toList();
+    List<Series> others =
+        catalog.allSeries().stream()
+            .filter(s -> !interests.contains(s.getCategory()))
+            .filter(s -> !s.getId().equals(continueWatching))
+            .toList();
+    return new Object[] {candidates, others};
+  }
+
+  @Benchmark
+  public Object bitsets() {
+    CategoryIndex index = catalog.categoryIndex();
+    BitSet continueWatchingIds = index.ofSeries(List.of(continueWatching));
+    BitSet candidates = index.inCategories(interests);
+    candidates.andNot(index.ofSeries(completed));
+    candidates.andNot(continueWatchingIds);
+    BitSet others = index.notInCategories(interests);
+    others.andNot(continueWatchingIds);
+    return new Object[] {index.seriesOf(candidates), index.seriesOf(others)};
+  }
+}
@@ -0,0 +1,132 @@
+package com.example.app.benchmarks;
+
+import com.example.app.model.Series;
+import com.example.app.service.CatalogSnapshot;
+import com.example.app.service.CoCompletions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Builds co-completions for a synthetic dataset of 1M users over 5,000 series. Each user finished 1
+ * to 12 series, skewed towards popular ones. Compares the primitive pair counts of {@link
+ * CoCompletions.Builder} with a {@code HashMap<Long, Integer>} of the same pairs, and prints the
+ * memory the primitive counts hold after the run, e.g. {@code ./gradlew jmh
+ * -PjmhArgs='CoCompletionBenchmark -prof gc'}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CoCompletionBenchmark {
+
+  private static final int SERIES = 5_000;
+
+  @Param({"1000000"})
+  private int users;
+
+  private CatalogSnapshot catalog;
+  // Finished series of user u are finished[offsets[u]..offsets[u + 1])
+  private int[] finished;
+  private int[] offsets;
+  private CoCompletions.Builder lastBuilder;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    List<Series> series = new ArrayList<>(SERIES);
+    for (int i = 0; i < SERIES; i++) {
+      Series s = new Series("Series " + i, "Description", "Category " + i % 50, null);
+      s.setId(UUID.randomUUID());
+      series.add(s);
+    }
+    catalog = new CatalogSnapshot(series, List.of());
+
+    offsets = new int[users + 1];
+    int[] buffer = new int[users * 4];
+    int size = 0;
+    for (int u = 0; u < users; u++) {
+      int count = 1 + (int) (Math.pow(random.nextDouble(), 2) * 12);
+      for (int k = 0; k < count; k++) {
+        // Squared uniform: low ids are finished far more often than high ones
+        int id = (int) (Math.pow(random.nextDouble(), 2) * SERIES);
+        if (!contains(buffer, offsets[u], size, id)) {
+          if (size == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+          }
+          buffer[size++] = id;
+        }
+      }
+      offsets[u + 1] = size;
+    }
+    finished = Arrays.copyOf(buffer, size);
+  }
+
+  @Benchmark
+  public CoCompletions primitivePairCounts() {
+    CoCompletions.Builder builder = new CoCompletions.Builder(catalog, 1 << 16);
+    int[] user = new int[12];
+    for (int u = 0; u < users; u++) {
+      int count = offsets[u + 1] - offsets[u];
+      System.arraycopy(finished, offsets[u], user, 0, count);
+      builder.addUser(user, count);
+    }
+    lastBuilder = builder;
+    return builder.build(10, 3);
+  }
+
+  @Benchmark
+  public Map<Long, Integer> boxedPairCounts() {
+    Map<Long, Integer> pairs = new HashMap<>(1 << 16);
+    for (int u = 0; u < users; u++) {
+      for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+        for (int j = i + 1; j < offsets[u + 1]; j++) {
+          int a = Math.min(finished[i], finished[j]);
+          int b = Math.max(finished[i], finished[j]);
+          pairs.merge(((long) a << 32) | b, 1, Integer::sum);
+        }
+      }
+    }
+    return pairs;
+  }
+
+  @TearDown
+  public void report() {
+    if (lastBuilder != null) {
+      System.out.printf(
+          "%n%d users, %d finished series, %d distinct pairs: primitive counts hold %.1f MB%n",
+          lastBuilder.users(),
+          finished.length,
+          lastBuilder.pairs(),
+          lastBuilder.memoryBytes() / (1024.0 * 1024.0));
+    }
+  }
+
+  private static boolean contains(int[] buffer, int from, int to, int id) {
+    for (int i = from; i < to; i++) {
+      if (buffer[i] == id) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
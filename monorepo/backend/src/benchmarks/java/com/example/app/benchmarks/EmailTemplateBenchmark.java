@@ -0,0 +1,126 @@
+package com.example.app.benchmarks;
+
+import com.example.app.dto.ContinueWatchingResponse;
+import com.example.app.service.EmailTemplates;
+import com.example.app.util.EmailTemplate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Renders 100k resume reminders (subject and body) with the previous {@code String.format} code and
+ * with a precompiled {@link EmailTemplate} of the same text, plus the text and HTML bodies that
+ * {@link EmailTemplates} renders now. Run with {@code -prof gc} to compare allocation, e.g. {@code
+ * ./gradlew jmh -PjmhArgs='EmailTemplateBenchmark -prof gc'}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailTemplateBenchmark {
+
+  private static final int RENDERS = 100_000;
+
+  private EmailTemplates emailTemplates;
+  private EmailTemplate subject;
+  private EmailTemplate text;
+  private ContinueWatchingResponse[] progress;
+  private String[] links;
+
+  @Setup
+  public void setUp() {
+    emailTemplates = new EmailTemplates();
+    String[] parameters = {"seriesTitle", "episodeNumber", "episodeTitle", "link"};
+    subject = EmailTemplate.text("Resume your learning: {{seriesTitle}}", parameters);
+    text =
+        EmailTemplate.text(
+            "Hi there,\n\n"
+                + "Pick up where you left off! Continue watching \"{{seriesTitle}}\":\n\n"
+                + "Series: {{seriesTitle}}\n"
+                + "Episode Number: {{episodeNumber}} - {{episodeTitle}}\n\n"
+                + "Click here to resume: {{link}}\n\n"
+                + "Happy Learning!",
+            parameters);
+    // A handful of distinct users so the strings are not constant-folded
+    progress = new ContinueWatchingResponse[16];
+    links = new String[progress.length];
+    for (int i = 0; i < progress.length; i++) {
+      progress[i] =
+          new ContinueWatchingResponse(
+              UUID.randomUUID(),
+              "Series " + i,
+              "http://thumb.url",
+              "Tech",
+              UUID.randomUUID(),
+              "Episode " + i,
+              i + 1,
+              600,
+              "http://video.url",
+              120,
+              LocalDateTime.now());
+      links[i] =
+          "http://localhost:5173/series/"
+              + progress[i].getSeriesId()
+              + "/watch?episodeId="
+              + progress[i].getEpisodeId()
+              + "&token="
+              + UUID.randomUUID();
+    }
+  }
+
+  @Benchmark
+  public void stringFormat(Blackhole blackhole) {
+    for (int i = 0; i < RENDERS; i++) {
+      ContinueWatchingResponse p = progress[i & 15];
+      blackhole.consume("Resume your learning: " + p.getSeriesTitle());
+      blackhole.consume(
+          String.format(
+              "Hi there,\n\n"
+                  + "Pick up where you left off! Continue watching \"%s\":\n\n"
+                  + "Series: %s\n"
+                  + "Episode Number: %d - %s\n\n"
+                  + "Click here to resume: %s\n\n"
+                  + "Happy Learning!",
+              p.getSeriesTitle(),
+              p.getSeriesTitle(),
+              p.getEpisodeSequenceNumber(),
+              p.getEpisodeTitle(),
+              links[i & 15]));
+    }
+  }
+
+  @Benchmark
+  public void compiledText(Blackhole blackhole) {
+    for (int i = 0; i < RENDERS; i++) {
+      ContinueWatchingResponse p = progress[i & 15];
+      String[] values = {
+        p.getSeriesTitle(),
+        Integer.toString(p.getEpisodeSequenceNumber()),
+        p.getEpisodeTitle(),
+        links[i & 15]
+      };
+      blackhole.consume(subject.render(values));
+      blackhole.consume(text.render(values));
+    }
+  }
+
+  @Benchmark
+  public void compiledTextAndHtml(Blackhole blackhole) {
+    for (int i = 0; i < RENDERS; i++) {
+      blackhole.consume(emailTemplates.resume(progress[i & 15], links[i & 15]));
+    }
+  }
+}
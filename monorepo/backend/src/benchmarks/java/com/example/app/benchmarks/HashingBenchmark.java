@@ -0,0 +1,68 @@
+package com.example.app.benchmarks;
+
+import com.example.app.util.Sha256;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the previous per-call {@code MessageDigest} hashing of session tokens and OTPs with
+ * {@link Sha256}. Run with {@code -prof gc} to see the allocation rate per operation, e.g. {@code
+ * ./gradlew jmh -PjmhArgs='HashingBenchmark -prof gc'}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class HashingBenchmark {
+
+  private String token;
+  private String salt;
+
+  @Setup
+  public void setUp() {
+    token = UUID.randomUUID().toString();
+    salt = UUID.randomUUID().toString();
+  }
+
+  @Benchmark
+  public String sessionTokenLegacy() throws NoSuchAlgorithmException {
+    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+    byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+    return Base64.getEncoder().encodeToString(hash);
+  }
+
+  @Benchmark
+  public String sessionTokenPooled() {
+    return Sha256.base64(token);
+  }
+
+  @Benchmark
+  public String saltedOtpLegacy() throws NoSuchAlgorithmException {
+    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+    byte[] hash = digest.digest((salt + "123456").getBytes(StandardCharsets.UTF_8));
+    return Base64.getEncoder().encodeToString(hash);
+  }
+
+  @Benchmark
+  public String saltedOtpPooled() {
+    return Sha256.base64(salt, "123456");
+  }
+}
@@ -0,0 +1,83 @@
+package com.example.app.benchmarks;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+/**
+ * Time to deliver {@code emails} messages to a local GreenMail SMTP server, one {@code send} (and
+ * so one SMTP connection) per message versus a single batched {@code send(MimeMessage...)} as used
+ * by the email outbox dispatcher.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MailDeliveryBenchmark {
+
+  @Param({"50"})
+  private int emails;
+
+  private GreenMail greenMail;
+  private JavaMailSenderImpl mailSender;
+  private MimeMessage[] messages;
+
+  @Setup
+  public void setUp() throws MessagingException {
+    greenMail = new GreenMail(new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+    greenMail.start();
+    mailSender = new JavaMailSenderImpl();
+    mailSender.setHost("127.0.0.1");
+    mailSender.setPort(greenMail.getSmtp().getPort());
+    messages = new MimeMessage[emails];
+    for (int i = 0; i < emails; i++) {
+      messages[i] = mailSender.createMimeMessage();
+      MimeMessageHelper helper = new MimeMessageHelper(messages[i], "UTF-8");
+      helper.setFrom("noreply@example.com");
+      helper.setTo("user" + i + "@example.com");
+      helper.setSubject("Daily reminder");
+      helper.setText("Continue watching your series.");
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void purgeMailboxes() throws Exception {
+    greenMail.purgeEmailFromAllMailboxes();
+  }
+
+  @TearDown
+  public void tearDown() {
+    greenMail.stop();
+  }
+
+  @Benchmark
+  public void connectionPerMessage() {
+    for (MimeMessage message : messages) {
+      mailSender.send(message);
+    }
+  }
+
+  @Benchmark
+  public void batchedConnection() {
+    mailSender.send(messages);
+  }
+}
@@ -0,0 +1,75 @@
+package com.example.app.benchmarks;
+
+import com.example.app.config.PublicRouteTable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Compares the previous {@code AntPathMatcher} loop in {@code AuthInterceptor} with the compiled
+ * {@link PublicRouteTable} for a public, a method-restricted and a private path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PublicRouteBenchmark {
+
+  private final AntPathMatcher pathMatcher = new AntPathMatcher();
+  private final List<String> publicPaths =
+      Arrays.asList("/api/series/**", "/api/users/interests", "/api/health");
+  private final PublicRouteTable routeTable =
+      PublicRouteTable.compile("GET:/api/series/**", "*:/api/users/interests", "*:/api/health");
+
+  @Param({
+    "GET /api/series/3f2b5c1e-7a44-4c1d-9d7e-0c9a1f6b2e11/episodes",
+    "POST /api/series/3f2b5c1e-7a44-4c1d-9d7e-0c9a1f6b2e11/reviews",
+    "GET /api/feedback/pending"
+  })
+  public String request;
+
+  private String method;
+  private String path;
+
+  @Setup
+  public void setUp() {
+    int space = request.indexOf(' ');
+    method = request.substring(0, space);
+    path = request.substring(space + 1);
+  }
+
+  @Benchmark
+  public boolean antPathMatcher() {
+    for (String pattern : publicPaths) {
+      if (pathMatcher.match(pattern, path)) {
+        if (pattern.equals("/api/series/**")) {
+          if (method.equals("GET")) {
+            return true;
+          }
+        } else {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Benchmark
+  public boolean routeTable() {
+    return routeTable.isPublic(method, path);
+  }
+}
@@ -0,0 +1,76 @@
+package com.example.app.benchmarks;
+
+import com.example.app.dto.AuthenticatedUser;
+import com.example.app.model.Session;
+import com.example.app.service.SessionCache;
+import com.example.app.service.SignedTokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares resolving a bearer token through the opaque session lookup path with verifying a signed
+ * token.
+ *
+ * <p>The sessions table is stood in for by an in-memory map, so {@code opaqueLookup} is a lower
+ * bound: in production every cache miss adds a PostgreSQL round trip on top of it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SessionTokenBenchmark {
+
+  private final Map<String, AuthenticatedUser> sessionsTable = new ConcurrentHashMap<>();
+
+  private SessionCache sessionCache;
+  private SignedTokenService signedTokenService;
+  private String opaqueToken;
+  private String signedToken;
+
+  @Setup
+  public void setUp() {
+    AuthenticatedUser principal =
+        new AuthenticatedUser(UUID.randomUUID(), "benchmark@example.com", true);
+
+    opaqueToken = UUID.randomUUID().toString();
+    String tokenHash = Session.hashToken(opaqueToken);
+    sessionsTable.put(tokenHash, principal);
+    sessionCache = new SessionCache(300, 10_000, new SimpleMeterRegistry());
+
+    signedTokenService =
+        new SignedTokenService("signed", "benchmark-secret-benchmark-secret-0123", 168, null);
+    signedToken = signedTokenService.issue(UUID.randomUUID(), principal.id(), principal.email());
+  }
+
+  @Benchmark
+  public Optional<AuthenticatedUser> opaqueLookup() {
+    return Optional.ofNullable(sessionsTable.get(Session.hashToken(opaqueToken)));
+  }
+
+  @Benchmark
+  public Optional<AuthenticatedUser> opaqueCacheHit() {
+    return sessionCache.get(
+        Session.hashToken(opaqueToken), hash -> Optional.ofNullable(sessionsTable.get(hash)));
+  }
+
+  @Benchmark
+  public Optional<SignedTokenService.SessionClaims> signedVerify() {
+    return signedTokenService.verify(signedToken);
+  }
+}
@@ -0,0 +1,41 @@
+package com.example.app.benchmarks;
+
+import com.example.app.config.StripedRateLimiter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of one {@link StripedRateLimiter} check under contention: {@code manyClients} spreads
+ * requests over 10k keys, {@code singleHotClient} has every thread hit the same stripe.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ThrottleBenchmark {
+
+  private final StripedRateLimiter limiter = new StripedRateLimiter(65536, 1_000_000, 1000);
+
+  @Benchmark
+  public long manyClients() {
+    return limiter.tryAcquire(ThreadLocalRandom.current().nextInt(10_000));
+  }
+
+  @Benchmark
+  public long singleHotClient() {
+    return limiter.tryAcquire(42);
+  }
+}
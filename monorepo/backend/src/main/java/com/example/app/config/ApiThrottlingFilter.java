@@ -0,0 +1,88 @@
+package com.example.app.config;
+
+import com.example.app.dto.AuthenticatedUser;
+import com.example.app.service.AuthService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Throttles API requests per client address and, for requests with a valid bearer token, per user.
+ * Rejected requests get 429 with {@code Retry-After}, like OTP generation in {@code
+ * AuthController}.
+ *
+ * <p>The principal resolved here is stored under the {@code "user"} request attribute, so {@link
+ * AuthInterceptor} does not authenticate the token a second time.
+ */
+public class ApiThrottlingFilter extends OncePerRequestFilter {
+
+  private final AuthService authService;
+  private final StripedRateLimiter ipLimiter;
+  private final StripedRateLimiter userLimiter;
+  private final Counter ipRejections;
+  private final Counter userRejections;
+
+  public ApiThrottlingFilter(
+      AuthService authService,
+      StripedRateLimiter ipLimiter,
+      StripedRateLimiter userLimiter,
+      MeterRegistry meterRegistry) {
+    this.authService = authService;
+    this.ipLimiter = ipLimiter;
+    this.userLimiter = userLimiter;
+    this.ipRejections = meterRegistry.counter("api.throttle.rejected", "scope", "ip");
+    this.userRejections = meterRegistry.counter("api.throttle.rejected", "scope", "user");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    if ("OPTIONS".equals(request.getMethod())) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    long wait = ipLimiter.tryAcquire(request.getRemoteAddr().hashCode());
+    if (wait > 0) {
+      ipRejections.increment();
+      reject(response, wait);
+      return;
+    }
+
+    String authHeader = request.getHeader("Authorization");
+    if (authHeader != null && authHeader.startsWith("Bearer ")) {
+      Optional<AuthenticatedUser> user = authService.authenticate(authHeader.substring(7));
+      if (user.isPresent()) {
+        wait = userLimiter.tryAcquire(user.get().id().hashCode());
+        if (wait > 0) {
+          userRejections.increment();
+          reject(response, wait);
+          return;
+        }
+        request.setAttribute("user", user.get());
+      }
+    }
+
+    filterChain.doFilter(request, response);
+  }
+
+  private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+    long waitForRefill = Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000);
+    response.setStatus(429);
+    response.setHeader("Retry-After", String.valueOf(waitForRefill));
+    response.setContentType("application/json");
+    response
+        .getWriter()
+        .write(
+            "{\"message\":\"Too many requests. Please try again in "
+                + waitForRefill
+                + " seconds.\"}");
+  }
+}
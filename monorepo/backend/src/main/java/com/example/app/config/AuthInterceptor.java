@@ -1,25 +1,32 @@
 package com.example.app.config;
 
-import com.example.app.model.Session;
+import com.example.app.dto.AuthenticatedUser;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 @Component
 public class AuthInterceptor implements HandlerInterceptor {
 
-  private final AntPathMatcher pathMatcher = new AntPathMatcher();
-  private final List<String> publicPaths = Arrays.asList("/api/series/**", "/api/users/interests", "/api/health");
+  // Series endpoints are only public for GET (to allow viewing series/episodes/reviews)
+  static final String DEFAULT_PUBLIC_ROUTES =
+      "GET:/api/series/**,*:/api/users/interests,*:/api/health";
+
+  private PublicRouteTable publicRoutes =
+      PublicRouteTable.compile(DEFAULT_PUBLIC_ROUTES.split(","));
 
   @Autowired
   private com.example.app.service.AuthService authService;
 
+  @Value("${app.auth.public-routes:" + DEFAULT_PUBLIC_ROUTES + "}")
+  void setPublicRoutes(String[] rules) {
+    this.publicRoutes = PublicRouteTable.compile(rules);
+  }
+
   @Override
   public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
       throws Exception {
@@ -30,32 +37,20 @@ public class AuthInterceptor implements HandlerInterceptor {
     String method = request.getMethod();
     String emailParam = request.getParameter("email");
 
-    boolean isPublic = false;
     // Endpoints with email query params are never public
-    if (emailParam == null) {
-      for (String pattern : publicPaths) {
-        if (pathMatcher.match(pattern, path)) {
-          // For series endpoints, only GET is public (to allow viewing
-          // series/episodes/reviews)
-          if (pattern.equals("/api/series/**")) {
-            if (method.equals("GET")) {
-              isPublic = true;
-              break;
-            }
-          } else {
-            isPublic = true;
-            break;
-          }
-        }
-      }
+    boolean isPublic = emailParam == null && publicRoutes.isPublic(method, path);
+
+    // Already authenticated by ApiThrottlingFilter
+    if (request.getAttribute("user") instanceof AuthenticatedUser) {
+      return true;
     }
 
     String authHeader = request.getHeader("Authorization");
     if (authHeader != null && authHeader.startsWith("Bearer ")) {
       String token = authHeader.substring(7);
-      Optional<Session> session = authService.getSession(token);
-      if (session.isPresent()) {
-        request.setAttribute("user", session.get().getUser());
+      Optional<AuthenticatedUser> user = authService.authenticate(token);
+      if (user.isPresent()) {
+        request.setAttribute("user", user.get());
         return true;
       }
     }
@@ -8,11 +8,13 @@ import com.example.app.repository.EpisodeRepository;
 import com.example.app.repository.MCQOptionRepository;
 import com.example.app.repository.MCQRepository;
 import com.example.app.repository.SeriesRepository;
+import com.example.app.service.CatalogChangedEvent;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +29,8 @@ public class DataSeeder implements CommandLineRunner {
 
   @Autowired private MCQOptionRepository mcqOptionRepository;
 
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
   @Override
   @Transactional
   public void run(String... args) throws Exception {
@@ -83,6 +87,7 @@ public class DataSeeder implements CommandLineRunner {
     System.out.println("Seeding MCQs for all episodes...");
     seedMCQs();
 
+    eventPublisher.publishEvent(new CatalogChangedEvent());
     System.out.println("Seeding completed.");
   }
 
@@ -0,0 +1,65 @@
+package com.example.app.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor on which {@code EmailDispatcher} sends outbox batches, one SMTP connection per task.
+ *
+ * <p>At most {@code app.mail.executor.max-size} batches are sent concurrently and up to {@code
+ * queue-capacity} wait. When SMTP is slow and the queue is full, the submitting thread sends the
+ * batch itself: nothing is dropped, and the dispatcher slows down to the rate the mail server
+ * accepts instead of piling up work. Each such hand-back is counted in {@code
+ * mail.executor.rejected}; pool and queue sizes are published as {@code executor.*} meters with
+ * {@code name=mail}.
+ */
+@Configuration
+public class MailExecutorConfig {
+
+  public static final String MAIL_EXECUTOR = "mailExecutor";
+
+  @Bean(name = MAIL_EXECUTOR)
+  public ThreadPoolTaskExecutor mailExecutor(
+      MeterRegistry meterRegistry,
+      @Value("${app.mail.executor.core-size:2}") int coreSize,
+      @Value("${app.mail.executor.max-size:4}") int maxSize,
+      @Value("${app.mail.executor.queue-capacity:500}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(coreSize);
+    executor.setMaxPoolSize(maxSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("mail-");
+    executor.setRejectedExecutionHandler(
+        callerRunsCounting(meterRegistry.counter("mail.executor.rejected")));
+    // Let queued emails go out on shutdown instead of silently dropping them
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(30);
+    return executor;
+  }
+
+  @Bean
+  public MeterBinder mailExecutorMetrics(
+      @Qualifier(MAIL_EXECUTOR) ThreadPoolTaskExecutor mailExecutor) {
+    return registry ->
+        new ExecutorServiceMetrics(mailExecutor.getThreadPoolExecutor(), "mail", Tags.empty())
+            .bindTo(registry);
+  }
+
+  static RejectedExecutionHandler callerRunsCounting(Counter rejections) {
+    RejectedExecutionHandler callerRuns = new ThreadPoolExecutor.CallerRunsPolicy();
+    return (task, executor) -> {
+      rejections.increment();
+      callerRuns.rejectedExecution(task, executor);
+    };
+  }
+}
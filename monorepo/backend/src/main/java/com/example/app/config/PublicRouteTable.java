@@ -0,0 +1,182 @@
+package com.example.app.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable table of routes that may be called without a session, compiled once from rules of the
+ * form {@code METHODS:PATTERN}, e.g. {@code GET:/api/series/**} or {@code GET|HEAD:/api/x/*}. A
+ * method of {@code *} allows every method.
+ *
+ * <p>Patterns are split into segments and merged into a trie. A segment is either a literal, {@code
+ * *} (exactly one non-empty segment) or, as the last segment only, {@code **} (zero or more
+ * segments). Each node stores the allowed methods as a bit mask, so {@link #isPublic(String,
+ * String)} walks the request path once without allocating or parsing patterns.
+ */
+public final class PublicRouteTable {
+
+  private static final String[] METHODS = {
+    "GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE"
+  };
+  private static final int ALL_METHODS = (1 << METHODS.length) - 1;
+
+  private final Node root;
+
+  private PublicRouteTable(Node root) {
+    this.root = root;
+  }
+
+  public static PublicRouteTable compile(String... rules) {
+    return compile(List.of(rules));
+  }
+
+  public static PublicRouteTable compile(List<String> rules) {
+    Builder root = new Builder();
+    for (String rule : rules) {
+      String trimmed = rule.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      int colon = trimmed.indexOf(':');
+      if (colon <= 0 || colon == trimmed.length() - 1) {
+        throw new IllegalArgumentException("Public route must be METHODS:PATTERN, got: " + rule);
+      }
+      int methods = parseMethods(trimmed.substring(0, colon), rule);
+      root.add(trimmed.substring(colon + 1), methods, rule);
+    }
+    return new PublicRouteTable(root.build());
+  }
+
+  /** Returns whether {@code method} on {@code path} matches one of the compiled rules. */
+  public boolean isPublic(String method, String path) {
+    int methodBit = methodBit(method);
+    if (methodBit == 0 || path == null || path.isEmpty() || path.charAt(0) != '/') {
+      return false;
+    }
+    return (match(root, path, 1) & methodBit) != 0;
+  }
+
+  /**
+   * Returns the union of the method masks of every rule matching {@code path} from {@code start}.
+   */
+  private static int match(Node node, String path, int start) {
+    int mask = node.globMask;
+    int end = path.indexOf('/', start);
+    if (end < 0) {
+      end = path.length();
+    }
+    int segmentLength = end - start;
+    for (int i = 0; i < node.literals.length; i++) {
+      String literal = node.literals[i];
+      if (literal.length() == segmentLength
+          && path.regionMatches(start, literal, 0, segmentLength)) {
+        mask |= descend(node.literalChildren[i], path, end);
+      }
+    }
+    if (node.wildcardChild != null && segmentLength > 0) {
+      mask |= descend(node.wildcardChild, path, end);
+    }
+    return mask;
+  }
+
+  private static int descend(Node child, String path, int segmentEnd) {
+    if (segmentEnd == path.length()) {
+      return child.terminalMask | child.globMask;
+    }
+    return match(child, path, segmentEnd + 1);
+  }
+
+  private static int parseMethods(String methods, String rule) {
+    if (methods.equals("*")) {
+      return ALL_METHODS;
+    }
+    int mask = 0;
+    for (String method : methods.split("\\|")) {
+      int bit = methodBit(method.trim().toUpperCase(Locale.ROOT));
+      if (bit == 0) {
+        throw new IllegalArgumentException("Unknown HTTP method in public route: " + rule);
+      }
+      mask |= bit;
+    }
+    return mask;
+  }
+
+  private static int methodBit(String method) {
+    for (int i = 0; i < METHODS.length; i++) {
+      if (METHODS[i].equals(method)) {
+        return 1 << i;
+      }
+    }
+    return 0;
+  }
+
+  private static final class Node {
+    private final String[] literals;
+    private final Node[] literalChildren;
+    private final Node wildcardChild;
+    private final int terminalMask;
+    private final int globMask;
+
+    Node(
+        String[] literals,
+        Node[] literalChildren,
+        Node wildcardChild,
+        int terminalMask,
+        int globMask) {
+      this.literals = literals;
+      this.literalChildren = literalChildren;
+      this.wildcardChild = wildcardChild;
+      this.terminalMask = terminalMask;
+      this.globMask = globMask;
+    }
+  }
+
+  private static final class Builder {
+    private final Map<String, Builder> literals = new LinkedHashMap<>();
+    private Builder wildcard;
+    private int terminalMask;
+    private int globMask;
+
+    void add(String pattern, int methods, String rule) {
+      if (!pattern.startsWith("/")) {
+        throw new IllegalArgumentException("Public route pattern must start with '/': " + rule);
+      }
+      String[] segments = pattern.substring(1).split("/", -1);
+      Builder node = this;
+      for (int i = 0; i < segments.length; i++) {
+        String segment = segments[i];
+        if (segment.equals("**")) {
+          if (i != segments.length - 1) {
+            throw new IllegalArgumentException("'**' is only supported at the end: " + rule);
+          }
+          node.globMask |= methods;
+          return;
+        }
+        if (segment.equals("*")) {
+          node = node.wildcard == null ? (node.wildcard = new Builder()) : node.wildcard;
+        } else if (segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0) {
+          throw new IllegalArgumentException("Partial wildcards are not supported: " + rule);
+        } else {
+          node = node.literals.computeIfAbsent(segment, s -> new Builder());
+        }
+      }
+      node.terminalMask |= methods;
+    }
+
+    Node build() {
+      List<Node> children = new ArrayList<>(literals.size());
+      for (Builder child : literals.values()) {
+        children.add(child.build());
+      }
+      return new Node(
+          literals.keySet().toArray(new String[0]),
+          children.toArray(new Node[0]),
+          wildcard == null ? null : wildcard.build(),
+          terminalMask,
+          globMask);
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package com.example.app.config;
+
+import com.example.app.service.RecommendationEngine;
+import com.example.app.service.SeriesScorer;
+import com.example.app.service.SeriesSignals;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The scorers {@link RecommendationEngine} combines, each weighted by {@code
+ * app.recommendations.weights.<name>}. Another signal is added by declaring another {@link
+ * SeriesScorer} bean.
+ */
+@Configuration
+public class RecommendationScoringConfig {
+
+  // Interest weight at which the interest score reaches about 0.76; feedback moves it by 5
+  private static final double INTEREST_SCALE = 10.0;
+
+  // Ratings are averaged with this many reviews of the middle rating, so that a series with one
+  // 5-star review does not outrank one with a hundred 4.8-star reviews
+  private static final double RATING_PRIOR = 3.0;
+  private static final double RATING_PRIOR_REVIEWS = 5.0;
+
+  /** How strongly the user's feedback and interests favor the series' category. */
+  @Bean
+  public SeriesScorer interestScorer(
+      @Value("${app.recommendations.weights.interest:1.0}") double weight) {
+    return SeriesScorer.of(
+        "interest",
+        weight,
+        (series, context) ->
+            Math.tanh(
+                context.interestWeights().getOrDefault(series.getCategory(), 0) / INTEREST_SCALE));
+  }
+
+  /** Smoothed average review rating, mapped from 1..5 to 0..1. */
+  @Bean
+  public SeriesScorer ratingScorer(
+      @Value("${app.recommendations.weights.rating:0.3}") double weight) {
+    return SeriesScorer.of(
+        "rating",
+        weight,
+        (series, context) -> {
+          SeriesSignals.Stats stats = context.signals().of(series.getId());
+          if (stats.reviews() == 0) {
+            return 0;
+          }
+          double smoothed =
+              (stats.averageRating() * stats.reviews() + RATING_PRIOR * RATING_PRIOR_REVIEWS)
+                  / (stats.reviews() + RATING_PRIOR_REVIEWS);
+          return (smoothed - 1) / 4;
+        });
+  }
+
+  /** Viewers of the series relative to the most watched one, on a log scale. */
+  @Bean
+  public SeriesScorer popularityScorer(
+      @Value("${app.recommendations.weights.popularity:0.2}") double weight) {
+    return SeriesScorer.of(
+        "popularity",
+        weight,
+        (series, context) -> {
+          long maxViewers = context.signals().maxViewers();
+          if (maxViewers == 0) {
+            return 0;
+          }
+          return Math.log1p(context.signals().of(series.getId()).viewers())
+              / Math.log1p(maxViewers);
+        });
+  }
+
+  /** 1 for a series added just now, halving every {@code recency-half-life-days}. */
+  @Bean
+  public SeriesScorer recencyScorer(
+      @Value("${app.recommendations.weights.recency:0.1}") double weight,
+      @Value("${app.recommendations.recency-half-life-days:30}") double halfLifeDays) {
+    double halfLifeSeconds = Duration.ofDays(1).toSeconds() * halfLifeDays;
+    // Epoch seconds rather than Duration.between, which allocates for every series scored
+    return SeriesScorer.of(
+        "recency",
+        weight,
+        (series, context) -> {
+          if (series.getCreatedAt() == null) {
+            return 0;
+          }
+          long age =
+              context.now().toEpochSecond(ZoneOffset.UTC)
+                  - series.getCreatedAt().toEpochSecond(ZoneOffset.UTC);
+          return Math.pow(0.5, Math.max(0, age) / halfLifeSeconds);
+        });
+  }
+
+  /** Share of the series' episodes the user has completed, to bring back started series. */
+  @Bean
+  public SeriesScorer completionScorer(
+      @Value("${app.recommendations.weights.completion:0.4}") double weight) {
+    return SeriesScorer.of(
+        "completion",
+        weight,
+        (series, context) -> {
+          Long completed = context.completedCounts().get(series.getId());
+          if (completed == null) {
+            return 0;
+          }
+          int episodes = context.catalog().episodeCount(series.getId());
+          return episodes == 0 ? 0 : Math.min(1.0, (double) completed / episodes);
+        });
+  }
+
+  /** Highest similarity to a series the user finished, by the users who finished both. */
+  @Bean
+  public SeriesScorer coCompletionScorer(
+      @Value("${app.recommendations.weights.co-completion:0.5}") double weight) {
+    return SeriesScorer.of(
+        "coCompletion",
+        weight,
+        (series, context) -> {
+          Double affinity = context.coCompletionAffinity().get(series.getId());
+          return affinity == null ? 0 : affinity;
+        });
+  }
+
+  /** The scorers with their default weights, for use outside the application context. */
+  public static List<SeriesScorer> defaultScorers() {
+    RecommendationScoringConfig config = new RecommendationScoringConfig();
+    return List.of(
+        config.interestScorer(1.0),
+        config.ratingScorer(0.3),
+        config.popularityScorer(0.2),
+        config.recencyScorer(0.1, 30),
+        config.completionScorer(0.4),
+        config.coCompletionScorer(0.5));
+  }
+}
@@ -0,0 +1,43 @@
+package com.example.app.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor on which {@code DailyReminderJob} processes users, {@code app.reminders.concurrency} at
+ * a time. Each worker holds a database connection while it runs, so the concurrency must stay well
+ * below the connection pool size. Pool and queue sizes are published as {@code executor.*} meters
+ * with {@code name=reminders}.
+ */
+@Configuration
+public class ReminderExecutorConfig {
+
+  public static final String REMINDER_EXECUTOR = "reminderExecutor";
+
+  @Bean(name = REMINDER_EXECUTOR)
+  public ThreadPoolTaskExecutor reminderExecutor(
+      @Value("${app.reminders.concurrency:4}") int concurrency) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(concurrency);
+    executor.setMaxPoolSize(concurrency);
+    executor.setThreadNamePrefix("reminder-");
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(30);
+    return executor;
+  }
+
+  @Bean
+  public MeterBinder reminderExecutorMetrics(
+      @Qualifier(REMINDER_EXECUTOR) ThreadPoolTaskExecutor reminderExecutor) {
+    return registry ->
+        new ExecutorServiceMetrics(
+                reminderExecutor.getThreadPoolExecutor(), "reminders", Tags.empty())
+            .bindTo(registry);
+  }
+}
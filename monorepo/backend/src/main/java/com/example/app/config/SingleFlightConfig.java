@@ -0,0 +1,46 @@
+package com.example.app.config;
+
+import com.example.app.dto.ContinueWatchingResponse;
+import com.example.app.dto.RecommendationResponse;
+import com.example.app.model.Episode;
+import com.example.app.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@link SingleFlight}s for the reads the home page and series page fire concurrently and
+ * repeatedly (re-renders, several tabs): identical calls in flight at the same time share one
+ * computation. Coalesced calls are counted in {@code singleflight.calls{outcome=coalesced}} per
+ * {@code name}.
+ */
+@Configuration
+public class SingleFlightConfig {
+
+  public static final String RECOMMENDATIONS = "recommendationsFlight";
+  public static final String CONTINUE_WATCHING = "continueWatchingFlight";
+  public static final String EPISODES = "episodesFlight";
+
+  /** {@code SeriesService.getRecommendations} by user email. */
+  @Bean(name = RECOMMENDATIONS)
+  public SingleFlight<String, RecommendationResponse> recommendationsFlight(
+      MeterRegistry meterRegistry) {
+    return new SingleFlight<>("recommendations", meterRegistry);
+  }
+
+  /** {@code WatchProgressService.getContinueWatching} by user email. */
+  @Bean(name = CONTINUE_WATCHING)
+  public SingleFlight<String, Optional<ContinueWatchingResponse>> continueWatchingFlight(
+      MeterRegistry meterRegistry) {
+    return new SingleFlight<>("continueWatching", meterRegistry);
+  }
+
+  /** {@code SeriesService.getEpisodesForSeries} by series id. */
+  @Bean(name = EPISODES)
+  public SingleFlight<UUID, List<Episode>> episodesFlight(MeterRegistry meterRegistry) {
+    return new SingleFlight<>("episodes", meterRegistry);
+  }
+}
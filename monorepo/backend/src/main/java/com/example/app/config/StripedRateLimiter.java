@@ -0,0 +1,69 @@
+package com.example.app.config;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free token buckets for a large, open-ended set of keys (client addresses, users).
+ *
+ * <p>Keys are hashed onto a fixed array of stripes, each holding a single {@code long}: the
+ * theoretical arrival time of the next request in the generic cell rate algorithm, which is
+ * equivalent to a token bucket with the given rate and burst. Allowing a request is one CAS on that
+ * slot and rejecting one is a plain read, so a check costs tens of nanoseconds and needs no per-key
+ * allocation or cleanup. Keys that share a stripe share a bucket; with enough stripes this only
+ * rarely makes the limit stricter for an unlucky pair of keys.
+ */
+public final class StripedRateLimiter {
+
+  private final AtomicLongArray arrivals;
+  private final int mask;
+  private final long emissionIntervalNanos;
+  private final long toleranceNanos;
+  private final long origin = System.nanoTime();
+
+  /**
+   * @param stripes number of buckets, rounded up to a power of two
+   * @param permitsPerSecond sustained rate per key
+   * @param burst requests a key may make at once after being idle
+   */
+  public StripedRateLimiter(int stripes, double permitsPerSecond, int burst) {
+    if (stripes < 1 || permitsPerSecond <= 0 || burst < 1) {
+      throw new IllegalArgumentException("stripes, rate and burst must be positive");
+    }
+    int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+    this.arrivals = new AtomicLongArray(size);
+    this.mask = size - 1;
+    this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000d / permitsPerSecond));
+    this.toleranceNanos = emissionIntervalNanos * (burst - 1);
+  }
+
+  /**
+   * Takes one permit for the key if available.
+   *
+   * @return 0 if the request is allowed, otherwise the nanoseconds until it would be
+   */
+  public long tryAcquire(int keyHash) {
+    return tryAcquire(keyHash, System.nanoTime() - origin);
+  }
+
+  long tryAcquire(int keyHash, long now) {
+    int slot = spread(keyHash) & mask;
+    while (true) {
+      long arrival = arrivals.get(slot);
+      long start = Math.max(arrival, now);
+      long wait = start - now - toleranceNanos;
+      if (wait > 0) {
+        return wait;
+      }
+      if (arrivals.compareAndSet(slot, arrival, start + emissionIntervalNanos)) {
+        return 0;
+      }
+    }
+  }
+
+  private static int spread(int h) {
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    return h;
+  }
+}
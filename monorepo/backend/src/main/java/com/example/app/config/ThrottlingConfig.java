@@ -0,0 +1,43 @@
+package com.example.app.config;
+
+import com.example.app.service.AuthService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.throttle.enabled", havingValue = "true", matchIfMissing = true)
+public class ThrottlingConfig {
+
+  @Value("${app.throttle.stripes:65536}")
+  private int stripes;
+
+  @Value("${app.throttle.ip.requests-per-second:20}")
+  private double ipRequestsPerSecond;
+
+  @Value("${app.throttle.ip.burst:60}")
+  private int ipBurst;
+
+  @Value("${app.throttle.user.requests-per-second:10}")
+  private double userRequestsPerSecond;
+
+  @Value("${app.throttle.user.burst:30}")
+  private int userBurst;
+
+  @Bean
+  public FilterRegistrationBean<ApiThrottlingFilter> apiThrottlingFilter(
+      AuthService authService, MeterRegistry meterRegistry) {
+    ApiThrottlingFilter filter =
+        new ApiThrottlingFilter(
+            authService,
+            new StripedRateLimiter(stripes, ipRequestsPerSecond, ipBurst),
+            new StripedRateLimiter(stripes, userRequestsPerSecond, userBurst),
+            meterRegistry);
+    FilterRegistrationBean<ApiThrottlingFilter> registration = new FilterRegistrationBean<>(filter);
+    registration.addUrlPatterns("/api/*");
+    return registration;
+  }
+}
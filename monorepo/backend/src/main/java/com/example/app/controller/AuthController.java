@@ -1,9 +1,11 @@
 package com.example.app.controller;
 
+import com.example.app.dto.AuthenticatedUser;
 import com.example.app.model.User;
 import com.example.app.service.AuthService;
 import com.example.app.service.RateLimitingService;
 import io.github.bucket4j.ConsumptionProbe;
+import jakarta.servlet.http.HttpServletRequest;
 import java.util.Map;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,27 +21,38 @@ public class AuthController {
   @Autowired private RateLimitingService rateLimitingService;
 
   @PostMapping("/generate-otp")
-  public ResponseEntity<?> generateOtp(@RequestBody Map<String, String> payload) {
+  public ResponseEntity<?> generateOtp(
+      @RequestBody Map<String, String> payload, HttpServletRequest request) {
     String email = payload.get("email");
     if (email == null || email.isEmpty()) {
       return ResponseEntity.badRequest().body("Email is required");
     }
 
+    // Limit per client address first, so one client cannot burn through many emails' allowance
+    ConsumptionProbe ipProbe = rateLimitingService.resolveIpBucket(request.getRemoteAddr());
+    if (!ipProbe.isConsumed()) {
+      return tooManyRequests(ipProbe);
+    }
+
     ConsumptionProbe probe = rateLimitingService.resolveBucket(email);
     if (probe.isConsumed()) {
       authService.generateAndSendOtp(email);
       return ResponseEntity.ok().body(Map.of("message", "OTP sent successfully"));
     } else {
-      long waitForRefill = probe.getNanosToWaitForRefill() / 1_000_000_000;
-      return ResponseEntity.status(429)
-          .header("Retry-After", String.valueOf(waitForRefill))
-          .body(
-              Map.of(
-                  "message",
-                  "Too many requests. Please try again in " + waitForRefill + " seconds."));
+      return tooManyRequests(probe);
     }
   }
 
+  private ResponseEntity<?> tooManyRequests(ConsumptionProbe probe) {
+    long waitForRefill = probe.getNanosToWaitForRefill() / 1_000_000_000;
+    return ResponseEntity.status(429)
+        .header("Retry-After", String.valueOf(waitForRefill))
+        .body(
+            Map.of(
+                "message",
+                "Too many requests. Please try again in " + waitForRefill + " seconds."));
+  }
+
   @PostMapping("/verify-otp")
   public ResponseEntity<?> verifyOtp(@RequestBody Map<String, String> payload) {
     String email = payload.get("email");
@@ -87,15 +100,10 @@ public class AuthController {
       return ResponseEntity.status(401).body(Map.of("error", "Invalid token"));
     }
     String token = authHeader.substring(7);
-    Optional<com.example.app.model.Session> session = authService.getSession(token);
-    if (session.isPresent()) {
-      User user = session.get().getUser();
-      return ResponseEntity.ok(
-          Map.of(
-              "email",
-              user.getEmail(),
-              "hasInterests",
-              user.getInterests() != null && !user.getInterests().isEmpty()));
+    Optional<AuthenticatedUser> principal = authService.authenticate(token);
+    if (principal.isPresent()) {
+      AuthenticatedUser user = principal.get();
+      return ResponseEntity.ok(Map.of("email", user.email(), "hasInterests", user.hasInterests()));
     }
     return ResponseEntity.status(401).body(Map.of("error", "Invalid token"));
   }
@@ -112,20 +120,19 @@ public class AuthController {
       if (authTokenOpt.isPresent()) {
         String authToken = authTokenOpt.get();
         // Get user details for response
-        Optional<com.example.app.model.Session> session = authService.getSession(authToken);
-        if (session.isPresent()) {
-          User user = session.get().getUser();
-          boolean hasInterests = user.getInterests() != null && !user.getInterests().isEmpty();
+        Optional<AuthenticatedUser> principal = authService.authenticate(authToken);
+        if (principal.isPresent()) {
+          AuthenticatedUser user = principal.get();
           return ResponseEntity.ok(
               Map.of(
                   "message",
                   "Login successful",
                   "email",
-                  user.getEmail(),
+                  user.email(),
                   "token",
                   authToken,
                   "hasInterests",
-                  hasInterests));
+                  user.hasInterests()));
         }
       }
       return ResponseEntity.status(401).body(Map.of("error", "Invalid or expired token"));
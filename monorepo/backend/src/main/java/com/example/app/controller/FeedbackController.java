@@ -1,6 +1,6 @@
 package com.example.app.controller;
 
-import com.example.app.model.User;
+import com.example.app.dto.AuthenticatedUser;
 import com.example.app.service.FeedbackService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -24,27 +24,26 @@ public class FeedbackController {
   @PostMapping("/save")
   public ResponseEntity<Map<String, String>> saveFeedback(
       HttpServletRequest request, @Valid @RequestBody SaveFeedbackRequest feedbackRequest) {
-    User user = (User) request.getAttribute("user");
+    AuthenticatedUser user = (AuthenticatedUser) request.getAttribute("user");
     if (user == null) {
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
           .body(Map.of("error", "Authentication required"));
     }
 
     feedbackService.saveFeedback(
-        user.getEmail(), feedbackRequest.getEpisodeId(), feedbackRequest.getIsHelpful());
+        user.email(), feedbackRequest.getEpisodeId(), feedbackRequest.getIsHelpful());
     return ResponseEntity.ok(Map.of("message", "Feedback saved successfully"));
   }
 
   @PostMapping("/exists")
   public ResponseEntity<Map<String, Boolean>> feedbackExists(
       HttpServletRequest request, @Valid @RequestBody FeedbackExistsRequest feedbackRequest) {
-    User user = (User) request.getAttribute("user");
+    AuthenticatedUser user = (AuthenticatedUser) request.getAttribute("user");
     if (user == null) {
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("exists", false));
     }
 
-    boolean exists =
-        feedbackService.feedbackExists(user.getEmail(), feedbackRequest.getEpisodeId());
+    boolean exists = feedbackService.feedbackExists(user.email(), feedbackRequest.getEpisodeId());
     return ResponseEntity.ok(Map.of("exists", exists));
   }
 
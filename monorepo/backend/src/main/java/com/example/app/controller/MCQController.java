@@ -1,7 +1,7 @@
 package com.example.app.controller;
 
+import com.example.app.dto.AuthenticatedUser;
 import com.example.app.dto.MCQResponse;
-import com.example.app.model.User;
 import com.example.app.service.MCQService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -34,7 +34,7 @@ public class MCQController {
   public ResponseEntity<?> getMCQByEpisodeId(
       @PathVariable UUID episodeId, HttpServletRequest request) {
     // Verify user is authenticated
-    User user = (User) request.getAttribute("user");
+    AuthenticatedUser user = (AuthenticatedUser) request.getAttribute("user");
     if (user == null) {
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
           .body(Map.of("error", "Authentication required"));
@@ -61,7 +61,7 @@ public class MCQController {
   public ResponseEntity<?> validateAnswer(
       @Valid @RequestBody ValidateAnswerRequest validateRequest, HttpServletRequest request) {
     // Verify user is authenticated
-    User user = (User) request.getAttribute("user");
+    AuthenticatedUser user = (AuthenticatedUser) request.getAttribute("user");
     if (user == null) {
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
           .body(Map.of("error", "Authentication required"));
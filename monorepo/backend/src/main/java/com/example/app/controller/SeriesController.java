@@ -1,11 +1,11 @@
 package com.example.app.controller;
 
+import com.example.app.dto.AuthenticatedUser;
 import com.example.app.dto.SeriesReviewRequest;
 import com.example.app.dto.SeriesReviewResponse;
 import com.example.app.exception.ResourceNotFoundException;
 import com.example.app.model.Series;
 import com.example.app.model.SeriesReview;
-import com.example.app.model.User;
 import com.example.app.service.SeriesReviewService;
 import com.example.app.service.SeriesService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -61,7 +61,7 @@ public class SeriesController {
       @PathVariable UUID seriesId,
       @Valid @RequestBody SeriesReviewRequest reviewRequest) {
 
-    User user = (User) request.getAttribute("user");
+    AuthenticatedUser user = (AuthenticatedUser) request.getAttribute("user");
     if (user == null) {
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
           .body(Map.of("error", "Authentication required"));
@@ -69,13 +69,13 @@ public class SeriesController {
 
     try {
       SeriesReview review = seriesReviewService.submitReview(
-          user.getEmail(), seriesId, reviewRequest.rating(), reviewRequest.comment());
-      return ResponseEntity.status(HttpStatus.CREATED).body(mapToResponse(review, user.getEmail()));
+          user.email(), seriesId, reviewRequest.rating(), reviewRequest.comment());
+      return ResponseEntity.status(HttpStatus.CREATED).body(mapToResponse(review, user.email()));
     } catch (IllegalStateException e) {
       return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
     } catch (Exception e) {
       log.error("Unexpected error in submitReview for user {} and series {}",
-          user.getEmail(), seriesId, e);
+          user.email(), seriesId, e);
       throw e;
     }
   }
@@ -86,7 +86,7 @@ public class SeriesController {
       @PathVariable UUID seriesId,
       @Valid @RequestBody SeriesReviewRequest reviewRequest) {
 
-    User user = (User) request.getAttribute("user");
+    AuthenticatedUser user = (AuthenticatedUser) request.getAttribute("user");
     if (user == null) {
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
           .body(Map.of("error", "Authentication required"));
@@ -94,15 +94,15 @@ public class SeriesController {
 
     try {
       SeriesReview review = seriesReviewService.updateReview(
-          user.getEmail(), seriesId, reviewRequest.rating(), reviewRequest.comment());
-      return ResponseEntity.ok(mapToResponse(review, user.getEmail()));
+          user.email(), seriesId, reviewRequest.rating(), reviewRequest.comment());
+      return ResponseEntity.ok(mapToResponse(review, user.email()));
     } catch (ResourceNotFoundException e) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
     } catch (IllegalStateException e) {
       return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
     } catch (Exception e) {
       log.error("Unexpected error in updateReview for user {} and series {}",
-          user.getEmail(), seriesId, e);
+          user.email(), seriesId, e);
       throw e;
     }
   }
@@ -111,8 +111,8 @@ public class SeriesController {
   public ResponseEntity<List<SeriesReviewResponse>> getReviews(
       HttpServletRequest request,
       @PathVariable UUID seriesId) {
-    User user = (User) request.getAttribute("user");
-    String requestingEmail = user != null ? user.getEmail() : null;
+    AuthenticatedUser user = (AuthenticatedUser) request.getAttribute("user");
+    String requestingEmail = user != null ? user.email() : null;
 
     List<SeriesReview> reviews = seriesReviewService.getReviewsForSeries(seriesId);
     List<SeriesReviewResponse> response = reviews.stream()
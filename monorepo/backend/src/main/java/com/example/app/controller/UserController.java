@@ -1,6 +1,8 @@
 package com.example.app.controller;
 
 import com.example.app.service.UserService;
+import java.time.DateTimeException;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,8 +54,22 @@ public class UserController {
       return ResponseEntity.badRequest().body("At least one interest is required");
     }
 
+    // Optional: the browser's IANA zone, used to send the daily reminder at local 9:00
+    ZoneId timeZone = null;
+    Object timeZoneObj = payload.get("timeZone");
+    if (timeZoneObj != null) {
+      try {
+        timeZone = ZoneId.of(String.valueOf(timeZoneObj));
+      } catch (DateTimeException e) {
+        return ResponseEntity.badRequest().body("Invalid time zone");
+      }
+    }
+
     try {
       userService.updateInterests(email, new java.util.HashSet<>(interestsList));
+      if (timeZone != null) {
+        userService.updateTimeZone(email, timeZone);
+      }
       return ResponseEntity.ok().body("Interests updated successfully");
     } catch (IllegalArgumentException e) {
       return ResponseEntity.badRequest().body(e.getMessage());
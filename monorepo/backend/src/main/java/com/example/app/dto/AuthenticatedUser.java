@@ -0,0 +1,18 @@
+package com.example.app.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Principal placed on the request by {@code AuthInterceptor} under the {@code "user"} attribute.
+ *
+ * <p>Resolved with a projection query instead of loading the {@code User} entity and its interest
+ * collections. {@code sessionExpiresAt} is null when the session has no recorded expiry.
+ */
+public record AuthenticatedUser(
+    UUID id, String email, boolean hasInterests, LocalDateTime sessionExpiresAt) {
+
+  public AuthenticatedUser(UUID id, String email, boolean hasInterests) {
+    this(id, email, hasInterests, null);
+  }
+}
@@ -0,0 +1,4 @@
+package com.example.app.dto;
+
+/** A rendered email: subject, plain text body and optional HTML alternative. */
+public record EmailContent(String subject, String text, String html) {}
@@ -0,0 +1,24 @@
+package com.example.app.dto;
+
+import com.example.app.model.Episode;
+import com.example.app.model.Series;
+
+/**
+ * What the daily reminder for one user points at: either the episode they are in the middle of
+ * ({@code resume}), or the first episode of a recommended series.
+ */
+public record ReminderCandidate(
+    ContinueWatchingResponse resume, Series series, Episode firstEpisode) {
+
+  public static ReminderCandidate resume(ContinueWatchingResponse progress) {
+    return new ReminderCandidate(progress, null, null);
+  }
+
+  public static ReminderCandidate recommendation(Series series, Episode firstEpisode) {
+    return new ReminderCandidate(null, series, firstEpisode);
+  }
+
+  public boolean isResume() {
+    return resume != null;
+  }
+}
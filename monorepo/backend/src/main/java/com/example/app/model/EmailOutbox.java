@@ -0,0 +1,146 @@
+package com.example.app.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * An email waiting to be delivered, written in the same transaction as the change that caused it
+ * and sent later by {@code EmailDispatcher}. While an email is being sent its {@code nextAttemptAt}
+ * is pushed out by a lease, so it is retried if the sending node dies.
+ */
+@Entity
+@Table(
+    name = "email_outbox",
+    indexes =
+        @Index(
+            name = "idx_email_outbox_status_next_attempt",
+            columnList = "status, next_attempt_at"))
+public class EmailOutbox {
+
+  public enum Status {
+    PENDING,
+    SENT,
+    FAILED
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+  @SequenceGenerator(
+      name = "email_outbox_seq",
+      sequenceName = "email_outbox_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Column(name = "to_email", nullable = false)
+  private String toEmail;
+
+  @Column(nullable = false)
+  private String subject;
+
+  @Column(nullable = false, length = 10000)
+  private String body;
+
+  /** HTML alternative to {@code body}, or null for a plain text email. */
+  @Column(name = "html_body", length = 20000)
+  private String htmlBody;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private Status status;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  private LocalDateTime sentAt;
+
+  @Column(length = 1000)
+  private String lastError;
+
+  public EmailOutbox() {}
+
+  public EmailOutbox(String toEmail, String subject, String body) {
+    this(toEmail, subject, body, null);
+  }
+
+  public EmailOutbox(String toEmail, String subject, String body, String htmlBody) {
+    this.toEmail = toEmail;
+    this.subject = subject;
+    this.body = body;
+    this.htmlBody = htmlBody;
+    this.status = Status.PENDING;
+    this.createdAt = LocalDateTime.now();
+    this.nextAttemptAt = this.createdAt;
+  }
+
+  /** Records a delivery attempt and hides the email from other dispatchers until {@code until}. */
+  public void claim(LocalDateTime until) {
+    this.attempts++;
+    this.nextAttemptAt = until;
+  }
+
+  public void markSent(LocalDateTime sentAt) {
+    this.status = Status.SENT;
+    this.sentAt = sentAt;
+    this.lastError = null;
+  }
+
+  /** Schedules another attempt at {@code retryAt}, or gives up if it is null. */
+  public void markFailed(String error, LocalDateTime retryAt) {
+    this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    if (retryAt == null) {
+      this.status = Status.FAILED;
+    } else {
+      this.nextAttemptAt = retryAt;
+    }
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getToEmail() {
+    return toEmail;
+  }
+
+  public String getSubject() {
+    return subject;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  public String getHtmlBody() {
+    return htmlBody;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public LocalDateTime getNextAttemptAt() {
+    return nextAttemptAt;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public LocalDateTime getSentAt() {
+    return sentAt;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+}
@@ -1,11 +1,14 @@
 package com.example.app.model;
 
+import com.example.app.util.Sha256;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "otps")
+@Table(
+    name = "otps",
+    indexes = @Index(name = "idx_otps_email_expiry_time", columnList = "email, expiry_time"))
 public class Otp {
 
   @Id
@@ -18,7 +21,7 @@ public class Otp {
   @Column(nullable = false)
   private String otpCodeHash;
 
-  @Column(nullable = false)
+  @Column(name = "expiry_time", nullable = false)
   private LocalDateTime expiryTime;
 
   public Otp() {}
@@ -38,36 +41,17 @@ public class Otp {
   }
 
   public boolean verifyOtp(String candidate) {
-    try {
-      String[] parts = this.otpCodeHash.split(":");
-      if (parts.length != 2) return false;
-      String salt = parts[0];
-      String storedHash = parts[1];
-
-      java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-256");
-      String content = salt + candidate;
-      byte[] computedHash =
-          digest.digest(content.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-
-      byte[] storedHashBytes = java.util.Base64.getDecoder().decode(storedHash);
+    int separator = this.otpCodeHash.indexOf(':');
+    if (separator < 0 || separator != this.otpCodeHash.lastIndexOf(':')) return false;
+    String salt = this.otpCodeHash.substring(0, separator);
+    String storedHash = this.otpCodeHash.substring(separator + 1);
 
-      return java.security.MessageDigest.isEqual(storedHashBytes, computedHash);
-    } catch (java.security.NoSuchAlgorithmException e) {
-      throw new RuntimeException("Error verifying OTP", e);
-    }
+    return Sha256.matches(salt, candidate, storedHash);
   }
 
   public static String hash(String otp) {
-    try {
-      String salt = UUID.randomUUID().toString();
-      java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-256");
-      String content = salt + otp;
-      byte[] hash = digest.digest(content.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-      String encodedHash = java.util.Base64.getEncoder().encodeToString(hash);
-      return salt + ":" + encodedHash;
-    } catch (java.security.NoSuchAlgorithmException e) {
-      throw new RuntimeException("SHA-256 not supported", e);
-    }
+    String salt = UUID.randomUUID().toString();
+    return salt + ":" + Sha256.base64(salt, otp);
   }
 
   public LocalDateTime getExpiryTime() {
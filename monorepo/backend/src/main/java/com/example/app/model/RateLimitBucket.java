@@ -0,0 +1,49 @@
+package com.example.app.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Shared rate-limit bucket state for {@code app.rate-limit.store=postgres}. Mapped so that the
+ * table is created with the rest of the schema; rows are read and written with compare-and-swap
+ * statements on {@code version} rather than through JPA.
+ */
+@Entity
+@Table(
+    name = "rate_limit_buckets",
+    indexes = @Index(name = "idx_rate_limit_buckets_expires_at", columnList = "expires_at"))
+public class RateLimitBucket {
+
+  @Id
+  @Column(name = "bucket_key", length = 512)
+  private String bucketKey;
+
+  /** Serialized Bucket4j bucket state. */
+  @Column(nullable = false)
+  private byte[] state;
+
+  @Column(nullable = false)
+  private long version;
+
+  /** When the bucket will have refilled completely; after that the row can be dropped. */
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  public RateLimitBucket() {}
+
+  public String getBucketKey() {
+    return bucketKey;
+  }
+
+  public byte[] getState() {
+    return state;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public LocalDateTime getExpiresAt() {
+    return expiresAt;
+  }
+}
@@ -0,0 +1,113 @@
+package com.example.app.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One slice of the user id space for one reminder window. A node leases the shard while it sends
+ * its reminders and records the last processed user after every page, so that another node can
+ * resume the shard from there once the lease has run out.
+ */
+@Entity
+@Table(
+    name = "reminder_shards",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_reminder_shards_window_start_shard_index",
+            columnNames = {"window_start", "shard_index"}))
+public class ReminderShard {
+
+  public enum Status {
+    PENDING,
+    DONE
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reminder_shards_seq")
+  @SequenceGenerator(
+      name = "reminder_shards_seq",
+      sequenceName = "reminder_shards_seq",
+      allocationSize = 50)
+  private Long id;
+
+  /** Start of the reminder window, in UTC. */
+  @Column(name = "window_start", nullable = false)
+  private LocalDateTime windowStart;
+
+  @Column(name = "shard_index", nullable = false)
+  private int shardIndex;
+
+  /** First user id of the shard, inclusive. */
+  @Column(name = "from_user_id", nullable = false)
+  private UUID fromUserId;
+
+  /** Last user id of the shard, inclusive. */
+  @Column(name = "to_user_id", nullable = false)
+  private UUID toUserId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private Status status;
+
+  @Column(name = "lease_owner")
+  private String leaseOwner;
+
+  @Column(name = "lease_until")
+  private LocalDateTime leaseUntil;
+
+  /** Checkpoint: the last user whose reminder was queued, or null if none yet. */
+  @Column(name = "last_user_id")
+  private UUID lastUserId;
+
+  public ReminderShard() {}
+
+  public ReminderShard(LocalDateTime windowStart, int shardIndex, UUID fromUserId, UUID toUserId) {
+    this.windowStart = windowStart;
+    this.shardIndex = shardIndex;
+    this.fromUserId = fromUserId;
+    this.toUserId = toUserId;
+    this.status = Status.PENDING;
+  }
+
+  public void lease(String owner, LocalDateTime until) {
+    this.leaseOwner = owner;
+    this.leaseUntil = until;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public LocalDateTime getWindowStart() {
+    return windowStart;
+  }
+
+  public int getShardIndex() {
+    return shardIndex;
+  }
+
+  public UUID getFromUserId() {
+    return fromUserId;
+  }
+
+  public UUID getToUserId() {
+    return toUserId;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public String getLeaseOwner() {
+    return leaseOwner;
+  }
+
+  public LocalDateTime getLeaseUntil() {
+    return leaseUntil;
+  }
+
+  public UUID getLastUserId() {
+    return lastUserId;
+  }
+}
@@ -1,6 +1,7 @@
 package com.example.app.model;
 
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
@@ -22,6 +23,10 @@ public class Series {
 
   private String thumbnailUrl;
 
+  // Null for series created before the column existed
+  @Column(updatable = false)
+  private LocalDateTime createdAt = LocalDateTime.now();
+
   public Series() {}
 
   public Series(String title, String description, String category, String thumbnailUrl) {
@@ -70,4 +75,12 @@ public class Series {
   public void setThumbnailUrl(String thumbnailUrl) {
     this.thumbnailUrl = thumbnailUrl;
   }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
 }
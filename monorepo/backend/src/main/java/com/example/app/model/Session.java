@@ -1,10 +1,13 @@
 package com.example.app.model;
 
+import com.example.app.util.Sha256;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sessions")
+@Table(
+    name = "sessions",
+    indexes = @Index(name = "idx_sessions_expires_at", columnList = "expires_at"))
 public class Session {
 
   @Id
@@ -21,12 +24,21 @@ public class Session {
   @Column(nullable = false)
   private LocalDateTime createdAt;
 
+  /** Null only for sessions created before expiry was tracked; those are reaped by age. */
+  @Column(name = "expires_at")
+  private LocalDateTime expiresAt;
+
+  private LocalDateTime lastSeenAt;
+
+  private LocalDateTime revokedAt;
+
   public Session() {}
 
-  public Session(User user, String tokenHash) {
+  public Session(User user, String tokenHash, LocalDateTime expiresAt) {
     this.user = user;
     this.tokenHash = tokenHash;
     this.createdAt = LocalDateTime.now();
+    this.expiresAt = expiresAt;
   }
 
   public Long getId() {
@@ -42,16 +54,22 @@ public class Session {
   }
 
   public static String hashToken(String rawToken) {
-    try {
-      java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-256");
-      byte[] hash = digest.digest(rawToken.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-      return java.util.Base64.getEncoder().encodeToString(hash);
-    } catch (java.security.NoSuchAlgorithmException e) {
-      throw new RuntimeException("SHA-256 not supported", e);
-    }
+    return Sha256.base64(rawToken);
   }
 
   public LocalDateTime getCreatedAt() {
     return createdAt;
   }
+
+  public LocalDateTime getExpiresAt() {
+    return expiresAt;
+  }
+
+  public LocalDateTime getLastSeenAt() {
+    return lastSeenAt;
+  }
+
+  public LocalDateTime getRevokedAt() {
+    return revokedAt;
+  }
 }
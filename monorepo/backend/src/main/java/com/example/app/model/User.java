@@ -5,7 +5,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_time_zone", columnList = "time_zone"))
 public class User {
 
   @Id
@@ -18,17 +18,21 @@ public class User {
   @Column(nullable = false, updatable = false)
   private LocalDateTime createdAt = LocalDateTime.now();
 
-  @ElementCollection(fetch = FetchType.EAGER)
+  @ElementCollection(fetch = FetchType.LAZY)
   @CollectionTable(name = "user_interests", joinColumns = @JoinColumn(name = "user_id"))
   @Column(name = "interest")
   private java.util.Set<String> interests = new java.util.HashSet<>();
 
-  @ElementCollection(fetch = FetchType.EAGER)
+  @ElementCollection(fetch = FetchType.LAZY)
   @CollectionTable(name = "user_interest_weights", joinColumns = @JoinColumn(name = "user_id"))
   @MapKeyColumn(name = "category")
   @Column(name = "weight")
   private java.util.Map<String, Integer> interestWeights = new java.util.HashMap<>();
 
+  /** IANA zone id, e.g. "Europe/Berlin", or null if the user has not set one. */
+  @Column(name = "time_zone", length = 64)
+  private String timeZone;
+
   public User() {}
 
   public User(String email) {
@@ -66,4 +70,12 @@ public class User {
   public void setInterestWeights(java.util.Map<String, Integer> interestWeights) {
     this.interestWeights = interestWeights;
   }
+
+  public String getTimeZone() {
+    return timeZone;
+  }
+
+  public void setTimeZone(String timeZone) {
+    this.timeZone = timeZone;
+  }
 }
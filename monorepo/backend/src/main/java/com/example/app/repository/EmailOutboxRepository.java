@@ -0,0 +1,36 @@
+package com.example.app.repository;
+
+import com.example.app.model.EmailOutbox;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+  /**
+   * Locks up to {@code limit} pending emails that are due, skipping rows locked by another
+   * dispatcher. Must run inside a transaction.
+   */
+  @Query(
+      value =
+          "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now"
+              + " ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+      nativeQuery = true)
+  List<EmailOutbox> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+  /** Deletes at most {@code limit} sent emails older than {@code sentBefore}. */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "DELETE FROM email_outbox WHERE id IN (SELECT id FROM email_outbox"
+              + " WHERE status = 'SENT' AND sent_at < :sentBefore LIMIT :limit)",
+      nativeQuery = true)
+  int deleteSentBatch(@Param("sentBefore") LocalDateTime sentBefore, @Param("limit") int limit);
+}
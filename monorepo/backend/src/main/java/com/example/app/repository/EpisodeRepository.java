@@ -1,12 +1,21 @@
 package com.example.app.repository;
 
 import com.example.app.model.Episode;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface EpisodeRepository extends JpaRepository<Episode, UUID> {
   List<Episode> findBySeriesIdOrderBySequenceNumberAsc(UUID seriesId);
+
+  @Query("SELECT e FROM Episode e JOIN FETCH e.series")
+  List<Episode> findAllWithSeries();
+
+  @Query("SELECT e FROM Episode e JOIN FETCH e.series WHERE e.id IN :ids")
+  List<Episode> findWithSeriesByIdIn(@Param("ids") Collection<UUID> ids);
 }
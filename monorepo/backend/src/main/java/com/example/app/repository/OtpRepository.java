@@ -1,12 +1,27 @@
 package com.example.app.repository;
 
 import com.example.app.model.Otp;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface OtpRepository extends JpaRepository<Otp, UUID> {
   Optional<Otp> findTopByEmailOrderByExpiryTimeDesc(String email);
 
   void deleteByEmail(String email);
+
+  /** Deletes at most {@code limit} OTP and magic-link rows that expired before {@code now}. */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "DELETE FROM otps WHERE id IN (SELECT id FROM otps WHERE expiry_time < :now LIMIT"
+              + " :limit)",
+      nativeQuery = true)
+  int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
 }
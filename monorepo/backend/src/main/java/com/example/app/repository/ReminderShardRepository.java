@@ -0,0 +1,60 @@
+package com.example.app.repository;
+
+import com.example.app.model.ReminderShard;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ReminderShardRepository extends JpaRepository<ReminderShard, Long> {
+
+  boolean existsByWindowStart(LocalDateTime windowStart);
+
+  @Query("SELECT MAX(s.windowStart) FROM ReminderShard s")
+  Optional<LocalDateTime> findLatestWindowStart();
+
+  /**
+   * Locks the first pending shard of a window starting at or after {@code since} that is not
+   * leased, oldest window first, skipping shards locked by another node. Must run inside a
+   * transaction.
+   */
+  @Query(
+      value =
+          "SELECT * FROM reminder_shards WHERE window_start >= :since AND status = 'PENDING'"
+              + " AND (lease_until IS NULL OR lease_until < :now)"
+              + " ORDER BY window_start, shard_index LIMIT 1 FOR UPDATE SKIP LOCKED",
+      nativeQuery = true)
+  Optional<ReminderShard> lockClaimable(
+      @Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+  /** Records progress and extends the lease, unless another node has taken the shard over. */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE ReminderShard s SET s.lastUserId = :lastUserId, s.leaseUntil = :leaseUntil"
+          + " WHERE s.id = :id AND s.leaseOwner = :owner"
+          + " AND s.status = PENDING")
+  int checkpoint(
+      @Param("id") Long id,
+      @Param("owner") String owner,
+      @Param("lastUserId") UUID lastUserId,
+      @Param("leaseUntil") LocalDateTime leaseUntil);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE ReminderShard s SET s.status = DONE,"
+          + " s.leaseUntil = NULL WHERE s.id = :id AND s.leaseOwner = :owner")
+  int complete(@Param("id") Long id, @Param("owner") String owner);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM ReminderShard s WHERE s.windowStart < :before")
+  int deleteByWindowStartBefore(@Param("before") LocalDateTime before);
+}
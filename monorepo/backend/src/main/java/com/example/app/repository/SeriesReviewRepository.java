@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -14,4 +15,18 @@ public interface SeriesReviewRepository extends JpaRepository<SeriesReview, UUID
   Optional<SeriesReview> findByUserEmailAndSeriesId(String userEmail, UUID seriesId);
 
   boolean existsByUserEmailAndSeriesId(String userEmail, UUID seriesId);
+
+  /** Rating count and sum per series, leaving out flagged reviews. */
+  @Query(
+      "SELECT r.seriesId AS seriesId, COUNT(r) AS reviews, SUM(r.rating) AS ratingSum"
+          + " FROM SeriesReview r WHERE r.flagged = false GROUP BY r.seriesId")
+  List<RatingSummary> summarizeRatingsPerSeries();
+
+  interface RatingSummary {
+    UUID getSeriesId();
+
+    long getReviews();
+
+    long getRatingSum();
+  }
 }
@@ -1,17 +1,68 @@
 package com.example.app.repository;
 
+import com.example.app.dto.AuthenticatedUser;
 import com.example.app.model.Session;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface SessionRepository extends JpaRepository<Session, Long> {
 
-  @Query("SELECT s FROM Session s JOIN FETCH s.user WHERE s.tokenHash = :tokenHash")
-  Optional<Session> findByTokenHash(@Param("tokenHash") String tokenHash);
+  @Query(
+      "SELECT new com.example.app.dto.AuthenticatedUser(u.id, u.email,"
+          + " CASE WHEN size(u.interests) > 0 THEN true ELSE false END, s.expiresAt)"
+          + " FROM Session s JOIN s.user u WHERE s.tokenHash = :tokenHash"
+          + " AND (s.expiresAt IS NULL OR s.expiresAt > :now)")
+  Optional<AuthenticatedUser> findPrincipalByTokenHash(
+      @Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
 
   void deleteByTokenHash(String tokenHash);
+
+  @Modifying
+  @Query("UPDATE Session s SET s.revokedAt = :revokedAt WHERE s.tokenHash = :tokenHash")
+  int revokeByTokenHash(
+      @Param("tokenHash") String tokenHash, @Param("revokedAt") LocalDateTime revokedAt);
+
+  @Query(
+      "SELECT s.tokenHash FROM Session s WHERE s.revokedAt IS NOT NULL AND s.createdAt >"
+          + " :createdAfter")
+  List<String> findRevokedTokenHashesCreatedAfter(
+      @Param("createdAfter") LocalDateTime createdAfter);
+
+  /** Extends the sessions seen since the last flush; revoked sessions are left to expire. */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE Session s SET s.lastSeenAt = :seenAt, s.expiresAt = :expiresAt"
+          + " WHERE s.tokenHash IN :tokenHashes AND s.revokedAt IS NULL")
+  int renew(
+      @Param("tokenHashes") Collection<String> tokenHashes,
+      @Param("seenAt") LocalDateTime seenAt,
+      @Param("expiresAt") LocalDateTime expiresAt);
+
+  /**
+   * Deletes at most {@code limit} expired sessions in its own transaction. Sessions without an
+   * expiry are treated as expired once they were created before {@code legacyCreatedBefore}.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "DELETE FROM sessions WHERE id IN (SELECT id FROM sessions"
+              + " WHERE expires_at < :now"
+              + " OR (expires_at IS NULL AND created_at < :legacyCreatedBefore)"
+              + " LIMIT :limit)",
+      nativeQuery = true)
+  int deleteExpiredBatch(
+      @Param("now") LocalDateTime now,
+      @Param("legacyCreatedBefore") LocalDateTime legacyCreatedBefore,
+      @Param("limit") int limit);
 }
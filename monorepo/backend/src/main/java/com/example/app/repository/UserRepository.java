@@ -1,10 +1,75 @@
 package com.example.app.repository;
 
 import com.example.app.model.User;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
   Optional<User> findByEmail(String email);
+
+  /** Loads the user together with the lazily mapped interests and interest weights. */
+  @EntityGraph(attributePaths = {"interests", "interestWeights"})
+  Optional<User> findWithInterestsByEmail(String email);
+
+  @EntityGraph(attributePaths = {"interests", "interestWeights"})
+  List<User> findWithInterestsByEmailIn(Collection<String> emails);
+
+  /** Whether the user has picked interests; empty if there is no such user. */
+  @Query(
+      "SELECT CASE WHEN size(u.interests) > 0 THEN true ELSE false END FROM User u"
+          + " WHERE u.id = :id")
+  Optional<Boolean> findHasInterestsById(@Param("id") UUID id);
+
+  /** Zone ids users have set; contains null if some users have not set one. */
+  @Query("SELECT DISTINCT u.timeZone FROM User u")
+  List<String> findDistinctTimeZones();
+
+  /**
+   * Returns up to {@code limit} users with ids in {@code [fromId, toId]} whose time zone is one of
+   * {@code zones}, counting users without one as in {@code defaultZone}, ordered by id, starting
+   * after {@code lastSeenId} or at {@code fromId} when it is null. Each call is an index range scan
+   * on the primary key whatever the position, and {@link Slice#hasNext()} is answered by fetching
+   * one extra row instead of counting.
+   */
+  default Slice<User> findUsersInRange(
+      UUID fromId,
+      UUID toId,
+      UUID lastSeenId,
+      Collection<String> zones,
+      String defaultZone,
+      int limit) {
+    Pageable firstPage = PageRequest.of(0, limit);
+    return lastSeenId == null
+        ? findFirstInRangeAndZones(fromId, toId, zones, defaultZone, firstPage)
+        : findNextInRangeAndZones(lastSeenId, toId, zones, defaultZone, firstPage);
+  }
+
+  @Query(
+      "SELECT u FROM User u WHERE u.id >= :fromId AND u.id <= :toId"
+          + " AND COALESCE(u.timeZone, :defaultZone) IN :zones ORDER BY u.id")
+  Slice<User> findFirstInRangeAndZones(
+      @Param("fromId") UUID fromId,
+      @Param("toId") UUID toId,
+      @Param("zones") Collection<String> zones,
+      @Param("defaultZone") String defaultZone,
+      Pageable pageable);
+
+  @Query(
+      "SELECT u FROM User u WHERE u.id > :lastSeenId AND u.id <= :toId"
+          + " AND COALESCE(u.timeZone, :defaultZone) IN :zones ORDER BY u.id")
+  Slice<User> findNextInRangeAndZones(
+      @Param("lastSeenId") UUID lastSeenId,
+      @Param("toId") UUID toId,
+      @Param("zones") Collection<String> zones,
+      @Param("defaultZone") String defaultZone,
+      Pageable pageable);
 }
@@ -1,10 +1,17 @@
 package com.example.app.repository;
 
 import com.example.app.model.WatchHistory;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -19,4 +26,60 @@ public interface WatchHistoryRepository extends JpaRepository<WatchHistory, UUID
   Optional<WatchHistory> findByUserEmailAndEpisodeId(String userEmail, UUID episodeId);
 
   List<WatchHistory> findByUserEmailAndSeriesId(String userEmail, UUID seriesId);
+
+  /**
+   * The most recently watched incomplete episode of each of the users, i.e. {@link
+   * #findTop1ByUserEmailAndIsCompletedFalseOrderByLastWatchedAtDesc(String)} for all of them in one
+   * query.
+   */
+  @Query(
+      value =
+          "SELECT wh.* FROM watch_history wh WHERE wh.id IN (SELECT latest.id FROM (SELECT w.id,"
+              + " ROW_NUMBER() OVER (PARTITION BY w.user_email ORDER BY w.last_watched_at DESC)"
+              + " AS rn FROM watch_history w"
+              + " WHERE w.user_email IN (:emails) AND w.is_completed = false) latest"
+              + " WHERE latest.rn = 1)",
+      nativeQuery = true)
+  List<WatchHistory> findLatestIncompleteByUserEmailIn(@Param("emails") Collection<String> emails);
+
+  /** Number of completed episodes per user and series. */
+  @Query(
+      "SELECT w.userEmail AS userEmail, w.seriesId AS seriesId, COUNT(w) AS completed"
+          + " FROM WatchHistory w WHERE w.userEmail IN :emails AND w.isCompleted = true"
+          + " GROUP BY w.userEmail, w.seriesId")
+  List<CompletedCount> countCompletedByUserEmailIn(@Param("emails") Collection<String> emails);
+
+  /**
+   * Number of completed episodes per user and series for every user, ordered by user. Rows are
+   * fetched as the stream is read, which must happen inside a transaction.
+   */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "SELECT w.userEmail AS userEmail, w.seriesId AS seriesId, COUNT(w) AS completed"
+          + " FROM WatchHistory w WHERE w.isCompleted = true"
+          + " GROUP BY w.userEmail, w.seriesId ORDER BY w.userEmail")
+  Stream<CompletedCount> streamCompletedCounts();
+
+  /** Number of users who watched any episode, per series. */
+  @Query(
+      "SELECT w.seriesId AS seriesId, COUNT(DISTINCT w.userEmail) AS viewers"
+          + " FROM WatchHistory w GROUP BY w.seriesId")
+  List<ViewerCount> countViewersPerSeries();
+
+  interface ViewerCount {
+    UUID getSeriesId();
+
+    long getViewers();
+  }
+
+  interface CompletedCount {
+    String getUserEmail();
+
+    UUID getSeriesId();
+
+    long getCompleted();
+  }
 }
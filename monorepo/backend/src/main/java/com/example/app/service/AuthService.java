@@ -1,13 +1,21 @@
 package com.example.app.service;
 
+import com.example.app.dto.AuthenticatedUser;
 import com.example.app.model.Otp;
 import com.example.app.model.User;
 import com.example.app.repository.OtpRepository;
 import com.example.app.repository.UserRepository;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +30,16 @@ public class AuthService {
 
   @Autowired private EmailService emailService;
 
+  @Autowired private SessionCache sessionCache;
+
+  @Autowired private SignedTokenService signedTokenService;
+
+  @Autowired private SessionActivityTracker sessionActivityTracker;
+
+  @Value("${app.auth.session-ttl-hours:168}")
+  private long sessionTtlHours = 168;
+
+  @Transactional
   public void generateAndSendOtp(String email) {
     // Generate 6-digit OTP
     String otpCode = String.format("%06d", new Random().nextInt(999999));
@@ -31,7 +49,7 @@ public class AuthService {
     Otp otp = new Otp(email, Otp.hash(otpCode), expiry);
     otpRepository.save(otp);
 
-    // Send Email
+    // Queue Email (committed together with the OTP)
     emailService.sendOtpEmail(email, otpCode);
   }
 
@@ -51,8 +69,9 @@ public class AuthService {
       return Optional.empty();
     }
 
-    // 3. OTP Valid -> Create User if doesn't exist
-    User user = userRepository.findByEmail(email).orElse(null);
+    // 3. OTP Valid -> Create User if doesn't exist; interests are loaded for the caller, which
+    // reads them after the transaction
+    User user = userRepository.findWithInterestsByEmail(email).orElse(null);
     if (user == null) {
       user = new User(email);
       user = userRepository.save(user);
@@ -65,10 +84,14 @@ public class AuthService {
   }
 
   public String createSession(User user) {
+    if (signedTokenService.isEnabled()) {
+      return createSignedSession(user);
+    }
     String rawToken = java.util.UUID.randomUUID().toString();
     String tokenHash = com.example.app.model.Session.hashToken(rawToken);
 
-    com.example.app.model.Session session = new com.example.app.model.Session(user, tokenHash);
+    com.example.app.model.Session session =
+        new com.example.app.model.Session(user, tokenHash, sessionExpiry());
     // Explicitly use the instance variable here (though locally defined in previous
     // code, assume instance var)
     // The previous code had a local variable shadowing the field:
@@ -79,10 +102,35 @@ public class AuthService {
     return rawToken;
   }
 
+  private String createSignedSession(User user) {
+    // The session row is only needed to record revocation for other nodes
+    java.util.UUID sessionId = java.util.UUID.randomUUID();
+    String tokenHash = com.example.app.model.Session.hashToken(sessionId.toString());
+    sessionRepository.save(new com.example.app.model.Session(user, tokenHash, sessionExpiry()));
+    return signedTokenService.issue(sessionId, user.getId(), user.getEmail());
+  }
+
+  private LocalDateTime sessionExpiry() {
+    return LocalDateTime.now().plusHours(sessionTtlHours);
+  }
+
   @Transactional
   public void logout(String token) {
+    if (signedTokenService.isEnabled()) {
+      signedTokenService
+          .verifySignature(token)
+          .ifPresent(
+              claims -> {
+                String tokenHash = claims.tokenHash();
+                sessionRepository.revokeByTokenHash(tokenHash, LocalDateTime.now());
+                signedTokenService.revoke(tokenHash);
+                sessionCache.evict(tokenHash);
+              });
+      return;
+    }
     String tokenHash = com.example.app.model.Session.hashToken(token);
     sessionRepository.deleteByTokenHash(tokenHash);
+    sessionCache.evict(tokenHash);
   }
 
   @Transactional
@@ -98,7 +146,36 @@ public class AuthService {
     otp = otpRepository.save(otp);
 
     // 3. Return combined token: Base64(id + ":" + rawToken)
-    String combined = otp.getId() + ":" + rawToken;
+    return magicLinkToken(otp.getId(), rawToken);
+  }
+
+  /**
+   * Issues a magic link token for each of the emails, like {@link #generateMagicLinkToken(String)}.
+   * The rows are inserted in JDBC batches of {@code
+   * spring.jpa.properties.hibernate.jdbc.batch_size} when the transaction commits.
+   *
+   * @return token by email
+   */
+  @Transactional
+  public Map<String, String> generateMagicLinkTokens(Collection<String> emails) {
+    LocalDateTime expiry = LocalDateTime.now().plusHours(1);
+    Map<String, String> rawTokens = new HashMap<>();
+    List<Otp> otps = new ArrayList<>(emails.size());
+    for (String email : emails) {
+      String rawToken = java.util.UUID.randomUUID().toString();
+      rawTokens.put(email, rawToken);
+      otps.add(new Otp(email, Otp.hash(rawToken), expiry));
+    }
+
+    Map<String, String> tokens = new HashMap<>();
+    for (Otp otp : otpRepository.saveAll(otps)) {
+      tokens.put(otp.getEmail(), magicLinkToken(otp.getId(), rawTokens.get(otp.getEmail())));
+    }
+    return tokens;
+  }
+
+  private static String magicLinkToken(java.util.UUID otpId, String rawToken) {
+    String combined = otpId + ":" + rawToken;
     return java.util.Base64.getEncoder()
         .encodeToString(combined.getBytes(java.nio.charset.StandardCharsets.UTF_8));
   }
@@ -144,9 +221,32 @@ public class AuthService {
     }
   }
 
-  @Transactional(readOnly = true)
-  public Optional<com.example.app.model.Session> getSession(String token) {
+  /**
+   * Resolves the principal behind a bearer token. Signed tokens are verified without touching the
+   * database; only whether the user has interests is looked up, and kept in the session cache,
+   * which {@link UserService#updateInterests} evicts. Opaque tokens go through the session cache
+   * and count as activity for sliding renewal.
+   */
+  public Optional<AuthenticatedUser> authenticate(String token) {
+    if (signedTokenService.isEnabled()) {
+      return signedTokenService
+          .verify(token)
+          .flatMap(claims -> sessionCache.get(claims.tokenHash(), key -> signedPrincipal(claims)));
+    }
     String tokenHash = com.example.app.model.Session.hashToken(token);
-    return sessionRepository.findByTokenHash(tokenHash);
+    Optional<AuthenticatedUser> principal =
+        sessionCache.get(
+            tokenHash, key -> sessionRepository.findPrincipalByTokenHash(key, LocalDateTime.now()));
+    principal.ifPresent(p -> sessionActivityTracker.touch(tokenHash));
+    return principal;
+  }
+
+  private Optional<AuthenticatedUser> signedPrincipal(SignedTokenService.SessionClaims claims) {
+    LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.expiresAt(), ZoneId.systemDefault());
+    return userRepository
+        .findHasInterestsById(claims.userId())
+        .map(
+            hasInterests ->
+                new AuthenticatedUser(claims.userId(), claims.email(), hasInterests, expiresAt));
   }
 }
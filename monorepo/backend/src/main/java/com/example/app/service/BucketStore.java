@@ -0,0 +1,15 @@
+package com.example.app.service;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import java.util.function.Supplier;
+
+/**
+ * Where {@link RateLimitingService} keeps its buckets, selected with {@code app.rate-limit.store}:
+ * {@code local} (default, per node) or {@code postgres} (shared by all nodes).
+ */
+public interface BucketStore {
+
+  /** Returns the bucket for {@code key}, creating it with {@code configuration} if needed. */
+  Bucket bucket(String key, Supplier<BucketConfiguration> configuration);
+}
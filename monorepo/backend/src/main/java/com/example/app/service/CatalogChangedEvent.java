@@ -0,0 +1,7 @@
+package com.example.app.service;
+
+/**
+ * Published inside a transaction that changed series or episodes; {@link CatalogService} reloads
+ * its snapshot once the transaction commits.
+ */
+public record CatalogChangedEvent() {}
@@ -0,0 +1,132 @@
+package com.example.app.service;
+
+import com.example.app.model.Episode;
+import com.example.app.model.Series;
+import com.example.app.repository.EpisodeRepository;
+import com.example.app.repository.SeriesRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Holds the current {@link CatalogSnapshot} so that catalog reads do not hit the database.
+ *
+ * <p>The snapshot is loaded on first use and replaced after every commit that publishes a {@link
+ * CatalogChangedEvent}. Changes made on other nodes are picked up by a periodic reload every {@code
+ * app.catalog.refresh-ms}. Lookups of a series or episode that is not in the snapshot yet fall back
+ * to the repositories.
+ */
+@Service
+public class CatalogService {
+
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(CatalogService.class);
+
+  private final SeriesRepository seriesRepository;
+  private final EpisodeRepository episodeRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final Timer refreshTimer;
+
+  private volatile CatalogSnapshot snapshot;
+
+  public CatalogService(
+      SeriesRepository seriesRepository,
+      EpisodeRepository episodeRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry) {
+    this.seriesRepository = seriesRepository;
+    this.episodeRepository = episodeRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    // A transaction of its own, so the load neither joins the caller's nor sees its session
+    this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.refreshTimer = meterRegistry.timer("catalog.refresh.duration");
+    meterRegistry.gauge("catalog.series", this, service -> service.snapshot().seriesCount());
+    meterRegistry.gauge("catalog.episodes", this, service -> service.snapshot().episodeCount());
+  }
+
+  public CatalogSnapshot snapshot() {
+    CatalogSnapshot current = snapshot;
+    if (current != null) {
+      return current;
+    }
+    synchronized (this) {
+      if (snapshot == null) {
+        refresh();
+      }
+      return snapshot;
+    }
+  }
+
+  /**
+   * Reloads the snapshot from the database and swaps it in. The current snapshot is kept if nothing
+   * changed, so that state derived from it (e.g. {@link RecommendationCache}) stays valid.
+   */
+  public synchronized void refresh() {
+    CatalogSnapshot loaded =
+        refreshTimer.record(
+            () ->
+                readOnlyTransaction.execute(
+                    status ->
+                        new CatalogSnapshot(
+                            seriesRepository.findAll(), episodeRepository.findAllWithSeries())));
+    if (snapshot != null && snapshot.sameContentAs(loaded)) {
+      return;
+    }
+    snapshot = loaded;
+    logger.debug(
+        "Catalog loaded: {} series, {} episodes", loaded.seriesCount(), loaded.episodeCount());
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onCatalogChanged(CatalogChangedEvent event) {
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      // The committed change is picked up by the next periodic refresh
+      logger.error("Failed to reload the catalog after a change", e);
+    }
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.catalog.refresh-ms:60000}",
+      fixedDelayString = "${app.catalog.refresh-ms:60000}")
+  public void refreshPeriodically() {
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      logger.error("Failed to reload the catalog", e);
+    }
+  }
+
+  public Optional<Series> findSeries(UUID id) {
+    Optional<Series> series = snapshot().findSeries(id);
+    return series.isPresent() ? series : seriesRepository.findById(id);
+  }
+
+  public Optional<Episode> findEpisode(UUID id) {
+    Optional<Episode> episode = snapshot().findEpisode(id);
+    if (episode.isPresent()) {
+      return episode;
+    }
+    return episodeRepository.findWithSeriesByIdIn(List.of(id)).stream().findFirst();
+  }
+
+  /** Episodes of the series ordered by sequence number. */
+  public List<Episode> episodesOf(UUID seriesId) {
+    CatalogSnapshot current = snapshot();
+    if (current.findSeries(seriesId).isPresent()) {
+      return current.episodesOf(seriesId);
+    }
+    return episodeRepository.findBySeriesIdOrderBySequenceNumberAsc(seriesId);
+  }
+}
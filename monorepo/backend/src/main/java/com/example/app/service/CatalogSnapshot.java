@@ -0,0 +1,174 @@
+package com.example.app.service;
+
+import com.example.app.model.Episode;
+import com.example.app.model.Series;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * All series and episodes at one point in time, indexed for the read paths of {@link SeriesService}
+ * and {@link WatchProgressService}. The snapshot is never changed after it is built; {@link
+ * CatalogService} replaces it as a whole.
+ *
+ * <p>The series and episodes are detached copies that every reader shares, so they must not be
+ * modified. The series of each episode is the snapshot's copy of it.
+ *
+ * <p>Category filters go through a {@link CategoryIndex} over the series.
+ */
+public final class CatalogSnapshot {
+
+  public static final CatalogSnapshot EMPTY = new CatalogSnapshot(List.of(), List.of());
+
+  private static final Comparator<Episode> BY_SEQUENCE =
+      Comparator.comparing(
+          Episode::getSequenceNumber, Comparator.nullsLast(Comparator.naturalOrder()));
+
+  private final List<Series> series;
+  private final Map<UUID, Series> seriesById;
+  private final Map<String, List<Series>> seriesByCategory;
+  private final Map<UUID, Episode> episodesById;
+  private final Map<UUID, List<Episode>> episodesBySeriesId;
+  private final CategoryIndex categoryIndex;
+
+  /** Copies the entities; episodes whose series is not among {@code series} are left out. */
+  public CatalogSnapshot(Collection<Series> series, Collection<Episode> episodes) {
+    Map<UUID, Series> seriesById = new LinkedHashMap<>();
+    Map<String, List<Series>> seriesByCategory = new HashMap<>();
+    for (Series original : series) {
+      Series copy = copy(original);
+      seriesById.put(copy.getId(), copy);
+      seriesByCategory.computeIfAbsent(copy.getCategory(), category -> new ArrayList<>()).add(copy);
+    }
+
+    Map<UUID, Episode> episodesById = new HashMap<>();
+    Map<UUID, List<Episode>> episodesBySeriesId = new HashMap<>();
+    for (Episode original : episodes) {
+      Series owner = seriesById.get(original.getSeries().getId());
+      if (owner == null) {
+        continue;
+      }
+      Episode copy = copy(original, owner);
+      episodesById.put(copy.getId(), copy);
+      episodesBySeriesId.computeIfAbsent(owner.getId(), id -> new ArrayList<>()).add(copy);
+    }
+    episodesBySeriesId.replaceAll((id, list) -> list.stream().sorted(BY_SEQUENCE).toList());
+    seriesByCategory.replaceAll((category, list) -> List.copyOf(list));
+
+    this.series = List.copyOf(seriesById.values());
+    this.seriesById = Collections.unmodifiableMap(seriesById);
+    this.seriesByCategory = Collections.unmodifiableMap(seriesByCategory);
+    this.episodesById = Collections.unmodifiableMap(episodesById);
+    this.episodesBySeriesId = Collections.unmodifiableMap(episodesBySeriesId);
+    this.categoryIndex = new CategoryIndex(this.series);
+  }
+
+  public List<Series> allSeries() {
+    return series;
+  }
+
+  public Optional<Series> findSeries(UUID id) {
+    return Optional.ofNullable(seriesById.get(id));
+  }
+
+  /** Series in any of the categories, in catalog order. */
+  public List<Series> seriesInCategories(Collection<String> categories) {
+    return categoryIndex.seriesOf(categoryIndex.inCategories(categories));
+  }
+
+  /** Series in none of the categories, in catalog order. */
+  public List<Series> seriesNotInCategories(Collection<String> categories) {
+    return categoryIndex.seriesOf(categoryIndex.notInCategories(categories));
+  }
+
+  public List<Series> seriesInCategory(String category) {
+    return seriesByCategory.getOrDefault(category, List.of());
+  }
+
+  public CategoryIndex categoryIndex() {
+    return categoryIndex;
+  }
+
+  public Optional<Episode> findEpisode(UUID id) {
+    return Optional.ofNullable(episodesById.get(id));
+  }
+
+  /** Episodes of the series ordered by sequence number; empty for an unknown series. */
+  public List<Episode> episodesOf(UUID seriesId) {
+    return episodesBySeriesId.getOrDefault(seriesId, List.of());
+  }
+
+  public int episodeCount(UUID seriesId) {
+    return episodesOf(seriesId).size();
+  }
+
+  public int seriesCount() {
+    return series.size();
+  }
+
+  public int episodeCount() {
+    return episodesById.size();
+  }
+
+  /** Whether both snapshots hold the same series and episodes with the same fields. */
+  boolean sameContentAs(CatalogSnapshot other) {
+    if (series.size() != other.series.size() || episodesById.size() != other.episodesById.size()) {
+      return false;
+    }
+    for (Series s : series) {
+      Series o = other.seriesById.get(s.getId());
+      if (o == null
+          || !Objects.equals(s.getTitle(), o.getTitle())
+          || !Objects.equals(s.getDescription(), o.getDescription())
+          || !Objects.equals(s.getCategory(), o.getCategory())
+          || !Objects.equals(s.getThumbnailUrl(), o.getThumbnailUrl())
+          || !Objects.equals(s.getCreatedAt(), o.getCreatedAt())) {
+        return false;
+      }
+    }
+    for (Episode e : episodesById.values()) {
+      Episode o = other.episodesById.get(e.getId());
+      if (o == null
+          || !Objects.equals(e.getSeries().getId(), o.getSeries().getId())
+          || !Objects.equals(e.getTitle(), o.getTitle())
+          || !Objects.equals(e.getVideoUrl(), o.getVideoUrl())
+          || !Objects.equals(e.getDurationSeconds(), o.getDurationSeconds())
+          || !Objects.equals(e.getSequenceNumber(), o.getSequenceNumber())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Series copy(Series original) {
+    Series copy =
+        new Series(
+            original.getTitle(),
+            original.getDescription(),
+            original.getCategory(),
+            original.getThumbnailUrl());
+    copy.setId(original.getId());
+    copy.setCreatedAt(original.getCreatedAt());
+    return copy;
+  }
+
+  private static Episode copy(Episode original, Series series) {
+    Episode copy =
+        new Episode(
+            series,
+            original.getTitle(),
+            original.getVideoUrl(),
+            original.getDurationSeconds(),
+            original.getSequenceNumber());
+    copy.setId(original.getId());
+    return copy;
+  }
+}
@@ -0,0 +1,92 @@
+package com.example.app.service;
+
+import com.example.app.model.Series;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Numbers the series of a {@link CatalogSnapshot} 0..n-1 in catalog order and keeps a {@link
+ * BitSet} of the series in each category, so that filters over the whole catalog are bitwise {@code
+ * or}/{@code and}/{@code andNot} on sets of these dense ids, 64 series per word.
+ *
+ * <p>The index is never changed after it is built. Every {@link BitSet} it returns is a new one
+ * that the caller may modify.
+ */
+public final class CategoryIndex {
+
+  private final List<Series> series;
+  private final Map<UUID, Integer> denseIds;
+  private final Map<String, BitSet> byCategory;
+
+  CategoryIndex(List<Series> series) {
+    Map<UUID, Integer> denseIds = new HashMap<>();
+    Map<String, BitSet> byCategory = new HashMap<>();
+    for (int id = 0; id < series.size(); id++) {
+      Series s = series.get(id);
+      denseIds.put(s.getId(), id);
+      byCategory.computeIfAbsent(s.getCategory(), category -> new BitSet()).set(id);
+    }
+    this.series = series;
+    this.denseIds = Collections.unmodifiableMap(denseIds);
+    this.byCategory = Collections.unmodifiableMap(byCategory);
+  }
+
+  public int size() {
+    return series.size();
+  }
+
+  /** The dense id of the series, or -1 if it is not in the catalog. */
+  public int denseId(UUID seriesId) {
+    return denseIds.getOrDefault(seriesId, -1);
+  }
+
+  public BitSet all() {
+    BitSet all = new BitSet(series.size());
+    all.set(0, series.size());
+    return all;
+  }
+
+  public BitSet inCategories(Collection<String> categories) {
+    BitSet in = new BitSet(series.size());
+    for (String category : categories) {
+      BitSet members = byCategory.get(category);
+      if (members != null) {
+        in.or(members);
+      }
+    }
+    return in;
+  }
+
+  public BitSet notInCategories(Collection<String> categories) {
+    BitSet notIn = all();
+    notIn.andNot(inCategories(categories));
+    return notIn;
+  }
+
+  /** The dense ids of the series; ids not in the catalog are ignored. */
+  public BitSet ofSeries(Collection<UUID> seriesIds) {
+    BitSet ids = new BitSet(series.size());
+    for (UUID seriesId : seriesIds) {
+      int id = denseId(seriesId);
+      if (id >= 0) {
+        ids.set(id);
+      }
+    }
+    return ids;
+  }
+
+  /** The series with the dense ids, in catalog order. */
+  public List<Series> seriesOf(BitSet ids) {
+    List<Series> result = new ArrayList<>(ids.cardinality());
+    for (int id = ids.nextSetBit(0); id >= 0 && id < series.size(); id = ids.nextSetBit(id + 1)) {
+      result.add(series.get(id));
+    }
+    return Collections.unmodifiableList(result);
+  }
+}
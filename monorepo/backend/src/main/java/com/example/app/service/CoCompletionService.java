@@ -0,0 +1,144 @@
+package com.example.app.service;
+
+import com.example.app.repository.WatchHistoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Holds the current {@link CoCompletions}. They are rebuilt in a batch every {@code
+ * app.recommendations.co-completion.refresh-ms} by streaming every user's completed episodes, and
+ * are empty until the first build.
+ *
+ * <p>A user has finished a series when they completed as many episodes as it has in the catalog.
+ * Users who finished more than {@code max-series-per-user} series are left out, since the pairs
+ * grow with the square of that number. Build duration is published as {@code
+ * recommendations.co-completion.build.duration}.
+ */
+@Service
+public class CoCompletionService {
+
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(CoCompletionService.class);
+
+  private final WatchHistoryRepository watchHistoryRepository;
+  private final CatalogService catalogService;
+  private final TransactionTemplate readOnlyTransaction;
+  private final Timer buildTimer;
+  private final int topN;
+  private final int minUsers;
+  private final int maxSeriesPerUser;
+
+  // Sized from the previous build to avoid rehashing the pair counts while they grow
+  private int expectedPairs = 1 << 16;
+
+  private volatile CoCompletions coCompletions = CoCompletions.EMPTY;
+
+  public CoCompletionService(
+      WatchHistoryRepository watchHistoryRepository,
+      CatalogService catalogService,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.recommendations.co-completion.top-n:10}") int topN,
+      @Value("${app.recommendations.co-completion.min-users:3}") int minUsers,
+      @Value("${app.recommendations.co-completion.max-series-per-user:500}") int maxSeriesPerUser) {
+    if (topN < 1) {
+      throw new IllegalArgumentException(
+          "app.recommendations.co-completion.top-n must be at least 1");
+    }
+    this.watchHistoryRepository = watchHistoryRepository;
+    this.catalogService = catalogService;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.buildTimer =
+        Timer.builder("recommendations.co-completion.build.duration")
+            .description("Duration of a co-completion rebuild")
+            .register(meterRegistry);
+    this.topN = topN;
+    this.minUsers = minUsers;
+    this.maxSeriesPerUser = maxSeriesPerUser;
+  }
+
+  /** The neighbours from the last build; empty until the first one has run. */
+  public CoCompletions coCompletions() {
+    return coCompletions;
+  }
+
+  public synchronized CoCompletions rebuild() {
+    CatalogSnapshot catalog = catalogService.snapshot();
+    CoCompletions.Builder builder = new CoCompletions.Builder(catalog, expectedPairs);
+    CoCompletions built =
+        buildTimer.record(
+            () -> {
+              readOnlyTransaction.executeWithoutResult(
+                  status -> {
+                    try (Stream<WatchHistoryRepository.CompletedCount> rows =
+                        watchHistoryRepository.streamCompletedCounts()) {
+                      addUsers(catalog, rows.iterator(), builder);
+                    }
+                  });
+              return builder.build(topN, minUsers);
+            });
+    coCompletions = built;
+    expectedPairs = Math.max(expectedPairs, builder.pairs());
+    logger.info(
+        "Co-completions built from {} users: {} series pairs in {} KB, {} series with neighbours",
+        builder.users(),
+        builder.pairs(),
+        builder.memoryBytes() / 1024,
+        built.seriesWithNeighbours());
+    return built;
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.recommendations.co-completion.initial-delay-ms:300000}",
+      fixedDelayString = "${app.recommendations.co-completion.refresh-ms:21600000}")
+  public void rebuildPeriodically() {
+    try {
+      rebuild();
+    } catch (RuntimeException e) {
+      logger.error("Failed to rebuild co-completions", e);
+    }
+  }
+
+  /** Rows come ordered by user, so each user's finished series are collected in one buffer. */
+  private void addUsers(
+      CatalogSnapshot catalog,
+      Iterator<WatchHistoryRepository.CompletedCount> rows,
+      CoCompletions.Builder builder) {
+    CategoryIndex index = catalog.categoryIndex();
+    int[] finished = new int[maxSeriesPerUser];
+    int count = 0;
+    String user = null;
+    while (rows.hasNext()) {
+      WatchHistoryRepository.CompletedCount row = rows.next();
+      if (!row.getUserEmail().equals(user)) {
+        addUser(builder, finished, count);
+        user = row.getUserEmail();
+        count = 0;
+      }
+      int id = index.denseId(row.getSeriesId());
+      int episodes = catalog.episodeCount(row.getSeriesId());
+      if (id < 0 || episodes == 0 || row.getCompleted() < episodes) {
+        continue;
+      }
+      if (count < finished.length) {
+        finished[count] = id;
+      }
+      count++;
+    }
+    addUser(builder, finished, count);
+  }
+
+  private static void addUser(CoCompletions.Builder builder, int[] finished, int count) {
+    if (count > 0 && count <= finished.length) {
+      builder.addUser(finished, count);
+    }
+  }
+}
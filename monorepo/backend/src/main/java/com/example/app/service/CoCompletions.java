@@ -0,0 +1,194 @@
+package com.example.app.service;
+
+import com.example.app.util.LongIntHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * For each series, the series most often finished by the same users: "people who finished X also
+ * finished Y". Built by {@link CoCompletionService} from every user's finished series and never
+ * changed afterwards.
+ *
+ * <p>Neighbours are ranked by cosine similarity {@code c(x, y) / sqrt(n(x) * n(y))}, where {@code
+ * c} counts the users who finished both series and {@code n} those who finished one, so that a
+ * series everybody finishes does not top every list. Series are numbered by their dense id in the
+ * {@link CategoryIndex} of the catalog the neighbours were built from.
+ */
+public final class CoCompletions {
+
+  public static final CoCompletions EMPTY =
+      new CoCompletions(CatalogSnapshot.EMPTY, new int[0][], new float[0][]);
+
+  private final CatalogSnapshot catalog;
+  // By dense id, best first; null for a series without neighbours
+  private final int[][] neighbours;
+  private final float[][] similarities;
+
+  private CoCompletions(CatalogSnapshot catalog, int[][] neighbours, float[][] similarities) {
+    this.catalog = catalog;
+    this.neighbours = neighbours;
+    this.similarities = similarities;
+  }
+
+  /** Neighbours of the series, best first; empty for a series without any. */
+  public List<UUID> neighboursOf(UUID seriesId) {
+    int id = catalog.categoryIndex().denseId(seriesId);
+    if (id < 0 || neighbours[id] == null) {
+      return List.of();
+    }
+    List<UUID> result = new ArrayList<>(neighbours[id].length);
+    for (int neighbour : neighbours[id]) {
+      result.add(seriesId(neighbour));
+    }
+    return result;
+  }
+
+  /**
+   * Every neighbour of the finished series with its highest similarity to any of them. The finished
+   * series themselves are left out.
+   */
+  public Map<UUID, Double> affinity(Collection<UUID> finishedSeriesIds) {
+    Map<UUID, Double> affinity = new HashMap<>();
+    for (UUID finished : finishedSeriesIds) {
+      int id = catalog.categoryIndex().denseId(finished);
+      if (id < 0 || neighbours[id] == null) {
+        continue;
+      }
+      for (int k = 0; k < neighbours[id].length; k++) {
+        affinity.merge(seriesId(neighbours[id][k]), (double) similarities[id][k], Math::max);
+      }
+    }
+    affinity.keySet().removeAll(finishedSeriesIds);
+    return affinity;
+  }
+
+  /** Number of series that have at least one neighbour. */
+  public int seriesWithNeighbours() {
+    return (int) Arrays.stream(neighbours).filter(n -> n != null).count();
+  }
+
+  private UUID seriesId(int denseId) {
+    return catalog.allSeries().get(denseId).getId();
+  }
+
+  /**
+   * Counts finished series per user into a series-by-series matrix of pair counts, kept sparse in a
+   * {@link LongIntHashMap} keyed by both dense ids. Memory grows with the number of distinct pairs,
+   * not with the number of users.
+   */
+  public static final class Builder {
+
+    private final CatalogSnapshot catalog;
+    private final int[] finishers;
+    private final LongIntHashMap pairs;
+    private int users;
+
+    public Builder(CatalogSnapshot catalog, int expectedPairs) {
+      this.catalog = catalog;
+      this.finishers = new int[catalog.seriesCount()];
+      this.pairs = new LongIntHashMap(expectedPairs);
+    }
+
+    /** Adds one user's finished series: the first {@code count} of {@code seriesIds}, distinct. */
+    public void addUser(int[] seriesIds, int count) {
+      users++;
+      for (int i = 0; i < count; i++) {
+        finishers[seriesIds[i]]++;
+        for (int j = i + 1; j < count; j++) {
+          pairs.addTo(pairKey(seriesIds[i], seriesIds[j]), 1);
+        }
+      }
+    }
+
+    public int users() {
+      return users;
+    }
+
+    public int pairs() {
+      return pairs.size();
+    }
+
+    /** Bytes held by the pair counts and the per-series finisher counts. */
+    public long memoryBytes() {
+      return pairs.memoryBytes() + (long) finishers.length * Integer.BYTES;
+    }
+
+    /**
+     * Keeps the {@code topN} most similar neighbours of each series among pairs finished by at
+     * least {@code minUsers} users. Equal similarities rank in catalog order.
+     */
+    public CoCompletions build(int topN, int minUsers) {
+      if (topN < 1) {
+        throw new IllegalArgumentException("topN must be at least 1");
+      }
+      int seriesCount = finishers.length;
+      int[][] neighbours = new int[seriesCount][];
+      float[][] similarities = new float[seriesCount][];
+      int[] sizes = new int[seriesCount];
+      pairs.forEach(
+          (key, finishedBoth) -> {
+            if (finishedBoth < minUsers) {
+              return;
+            }
+            int a = (int) (key >>> 32);
+            int b = (int) key;
+            float similarity =
+                (float) (finishedBoth / Math.sqrt((double) finishers[a] * finishers[b]));
+            offer(neighbours, similarities, sizes, topN, a, b, similarity);
+            offer(neighbours, similarities, sizes, topN, b, a, similarity);
+          });
+      for (int id = 0; id < seriesCount; id++) {
+        if (neighbours[id] != null && sizes[id] < topN) {
+          neighbours[id] = Arrays.copyOf(neighbours[id], sizes[id]);
+          similarities[id] = Arrays.copyOf(similarities[id], sizes[id]);
+        }
+      }
+      return new CoCompletions(catalog, neighbours, similarities);
+    }
+
+    private static long pairKey(int a, int b) {
+      return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+
+    /** Inserts {@code to} into the sorted top-N of {@code from} if it ranks high enough. */
+    private static void offer(
+        int[][] neighbours,
+        float[][] similarities,
+        int[] sizes,
+        int topN,
+        int from,
+        int to,
+        float similarity) {
+      if (neighbours[from] == null) {
+        neighbours[from] = new int[topN];
+        similarities[from] = new float[topN];
+      }
+      int[] ids = neighbours[from];
+      float[] scores = similarities[from];
+      int size = sizes[from];
+      if (size == topN && !ranksBefore(similarity, to, scores[size - 1], ids[size - 1])) {
+        return;
+      }
+      int pos = size == topN ? size - 1 : size;
+      while (pos > 0 && ranksBefore(similarity, to, scores[pos - 1], ids[pos - 1])) {
+        ids[pos] = ids[pos - 1];
+        scores[pos] = scores[pos - 1];
+        pos--;
+      }
+      ids[pos] = to;
+      scores[pos] = similarity;
+      if (size < topN) {
+        sizes[from]++;
+      }
+    }
+
+    private static boolean ranksBefore(float similarity, int id, float otherSimilarity, int other) {
+      return similarity > otherSimilarity || (similarity == otherSimilarity && id < other);
+    }
+  }
+}
@@ -1,111 +1,411 @@
 package com.example.app.service;
 
+import com.example.app.config.ReminderExecutorConfig;
 import com.example.app.dto.ContinueWatchingResponse;
-import com.example.app.dto.RecommendationResponse;
+import com.example.app.dto.ReminderCandidate;
 import com.example.app.model.Episode;
+import com.example.app.model.ReminderShard;
 import com.example.app.model.Series;
 import com.example.app.model.User;
 import com.example.app.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Slice;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+/**
+ * Sends the daily reminder emails at 9:00 in each user's time zone. The job wakes at the start of
+ * every window of {@code app.reminders.window-minutes} (which must divide an hour) and processes
+ * only the users whose local 9:00 falls in that window, so the load on SMTP and the database is
+ * spread over the day instead of arriving all at once. Users without a time zone are treated as
+ * being in Asia/Kolkata, where the job used to run for everyone.
+ *
+ * <p>What each user is reminded of is worked out for a whole page of users at once by {@link
+ * ReminderCandidateService}, and their magic link tokens are issued in one batch; the emails are
+ * then rendered from the precompiled {@link EmailTemplates} and queued in parallel on the reminder
+ * executor, at most {@code app.reminders.concurrency} at a time; a failure for one user is logged
+ * and does not affect the others. The time per window is recorded in {@code
+ * reminders.job.duration}, the time per user in {@code reminders.user.duration}, tagged with {@code
+ * outcome=success|failure}, the users queued per window in {@code reminders.window.users}, how long
+ * after its start a window's shards are picked up in {@code reminders.window.delay}, and the users
+ * currently queued in {@code reminders.queue.in-flight}.
+ *
+ * <p>The cron fires on every node. The users of a window are split into shards by {@link
+ * ReminderShardService} and each shard is processed by whichever node leases it, so every user is
+ * emailed once per day however many nodes there are. A shard's progress is checkpointed after every
+ * page; if its node dies, another node resumes it from the checkpoint once the lease runs out, as
+ * long as the window started less than 12 hours ago. Users of the page that was in progress may
+ * then get their reminder twice.
+ *
+ * <p>When a window takes longer than {@code window-minutes}, the cron skips the next fire; the
+ * following fire also creates the shards of the windows it skipped, so their users are reminded
+ * late rather than not at all.
+ */
 @Service
 public class DailyReminderJob {
 
   private final UserRepository userRepository;
-  private final WatchProgressService watchProgressService;
-  private final SeriesService seriesService;
+  private final ReminderCandidateService reminderCandidateService;
+  private final ReminderShardService reminderShardService;
   private final EmailService emailService;
+  private final EmailTemplates emailTemplates;
   private final AuthService authService;
+  private final Executor reminderExecutor;
+  private final MeterRegistry meterRegistry;
+  private final int concurrency;
+  private final Duration window;
+  private final Timer jobTimer;
+  private final Timer windowDelay;
+  private final DistributionSummary windowUsers;
+  private final AtomicInteger queuedUsers = new AtomicInteger();
+  private volatile Instant lastWindowStart;
 
   @Value("${app.frontend.url:http://localhost:5173}")
   private String frontendUrl;
 
+  static final ZoneId DEFAULT_ZONE = ZoneId.of("Asia/Kolkata");
+  static final LocalTime REMINDER_TIME = LocalTime.of(9, 0);
+  private static final Duration SHARD_RETENTION = Duration.ofDays(7);
+  private static final Duration RESUME_HORIZON = Duration.ofHours(12);
+
   private static final org.slf4j.Logger logger =
       org.slf4j.LoggerFactory.getLogger(DailyReminderJob.class);
 
   @Autowired
   public DailyReminderJob(
       UserRepository userRepository,
-      WatchProgressService watchProgressService,
-      SeriesService seriesService,
+      ReminderCandidateService reminderCandidateService,
+      ReminderShardService reminderShardService,
       EmailService emailService,
-      AuthService authService) {
+      EmailTemplates emailTemplates,
+      AuthService authService,
+      @Qualifier(ReminderExecutorConfig.REMINDER_EXECUTOR) Executor reminderExecutor,
+      MeterRegistry meterRegistry,
+      @Value("${app.reminders.concurrency:4}") int concurrency,
+      @Value("${app.reminders.window-minutes:15}") int windowMinutes) {
     this.userRepository = userRepository;
-    this.watchProgressService = watchProgressService;
-    this.seriesService = seriesService;
+    this.reminderCandidateService = reminderCandidateService;
+    this.reminderShardService = reminderShardService;
     this.emailService = emailService;
+    this.emailTemplates = emailTemplates;
     this.authService = authService;
+    this.reminderExecutor = reminderExecutor;
+    this.meterRegistry = meterRegistry;
+    this.concurrency = concurrency;
+    this.window = Duration.ofMinutes(windowMinutes);
+    this.jobTimer = meterRegistry.timer("reminders.job.duration");
+    this.windowDelay = meterRegistry.timer("reminders.window.delay");
+    this.windowUsers =
+        DistributionSummary.builder("reminders.window.users")
+            .description("Users queued for a reminder per window by this node")
+            .register(meterRegistry);
+    meterRegistry.gauge("reminders.queue.in-flight", queuedUsers);
   }
 
-  @Scheduled(cron = "0 0 9 * * *", zone = "Asia/Kolkata")
+  @Scheduled(cron = "0 */${app.reminders.window-minutes:15} * * * *")
   public void sendDailyReminders() {
-    logger.info("Starting daily reminder job...");
-    int page = 0;
-    int size = 100;
-    org.springframework.data.domain.Page<User> userPage;
-
-    do {
-      org.springframework.data.domain.Pageable pageable =
-          org.springframework.data.domain.PageRequest.of(page, size);
-      userPage = userRepository.findAll(pageable);
+    long windowSeconds = window.getSeconds();
+    runWindow(
+        Instant.ofEpochSecond(Instant.now().getEpochSecond() / windowSeconds * windowSeconds));
+  }
 
-      for (User user : userPage.getContent()) {
+  void runWindow(Instant windowStart) {
+    Timer.Sample jobSample = Timer.start(meterRegistry);
+    try {
+      List<Instant> windows = windowsThrough(windowStart);
+      if (windows.size() > 1) {
+        logger.warn(
+            "Catching up {} reminder windows since {} UTC",
+            windows.size() - 1,
+            LocalDateTime.ofInstant(windows.get(0), ZoneOffset.UTC));
+      }
+      Collection<String> userZones = userRepository.findDistinctTimeZones();
+      Map<LocalDateTime, Set<String>> zonesByWindow = new HashMap<>();
+      for (Instant due : windows) {
+        Set<String> zones = zonesDueIn(due, window, userZones);
+        if (zones.isEmpty()) {
+          continue;
+        }
+        LocalDateTime start = LocalDateTime.ofInstant(due, ZoneOffset.UTC);
+        logger.info("Starting daily reminders for window {} UTC in zones {}...", start, zones);
         try {
-          processUserReminder(user);
-        } catch (Exception e) {
-          logger.error("Failed to process daily reminder for user: {}", user.getEmail(), e);
+          reminderShardService.createShards(start);
+        } catch (DataIntegrityViolationException e) {
+          logger.info("Reminder shards for window {} were created by another node", start);
         }
+        zonesByWindow.put(start, zones);
       }
-      page++;
-    } while (userPage.hasNext());
+      // Every window up to here has its shards, so the next fire starts after it
+      lastWindowStart = windowStart;
+      if (zonesByWindow.isEmpty()) {
+        return;
+      }
+      reminderShardService.deleteWindowsBefore(
+          LocalDateTime.ofInstant(windowStart, ZoneOffset.UTC).minus(SHARD_RETENTION));
+      processShards(Collections.min(zonesByWindow.keySet()), zonesByWindow);
+    } catch (Exception e) {
+      logger.error("Daily reminder job failed", e);
+    } finally {
+      jobSample.stop(jobTimer);
+    }
+  }
 
-    logger.info("Daily reminder job completed.");
+  /**
+   * Returns the windows from the one after the last window run through {@code windowStart}, oldest
+   * first. The cron schedules each fire from the end of the previous one, so a window that runs
+   * longer than {@code window-minutes} makes the next fire skip a window; its users are reminded on
+   * the following fire instead. After a restart the last window is taken from the newest shards.
+   * Windows that started more than 12 hours ago are not caught up.
+   */
+  private List<Instant> windowsThrough(Instant windowStart) {
+    Instant last = lastWindowStart;
+    if (last == null) {
+      last =
+          reminderShardService
+              .latestWindowStart()
+              .map(start -> start.toInstant(ZoneOffset.UTC))
+              .orElse(windowStart.minus(window));
+    }
+    Instant next = last.plus(window);
+    Instant horizon = windowStart.minus(RESUME_HORIZON);
+    if (next.isBefore(horizon)) {
+      next = horizon;
+    }
+    List<Instant> windows = new ArrayList<>();
+    for (; !next.isAfter(windowStart); next = next.plus(window)) {
+      windows.add(next);
+    }
+    return windows;
   }
 
-  public void processUserReminder(User user) {
-    String email = user.getEmail();
+  /**
+   * Picks up shards of recent windows whose lease ran out, e.g. because the node processing them
+   * crashed, and resumes them from their last checkpoint.
+   */
+  @Scheduled(fixedDelayString = "${app.reminders.shards.poll-ms:60000}")
+  public void resumeAbandonedShards() {
+    try {
+      processShards(LocalDateTime.now(ZoneOffset.UTC).minus(RESUME_HORIZON), new HashMap<>());
+    } catch (Exception e) {
+      logger.error("Failed to resume reminder shards", e);
+    }
+  }
+
+  /**
+   * Returns the zones, out of those users have set, whose local 9:00 falls in the window starting
+   * at {@code windowStart}. A null zone stands for {@link #DEFAULT_ZONE}; unknown zone ids are
+   * skipped.
+   */
+  static Set<String> zonesDueIn(Instant windowStart, Duration window, Collection<String> zones) {
+    Instant windowEnd = windowStart.plus(window);
+    Set<String> due = new HashSet<>();
+    for (String zone : zones) {
+      String id = zone == null ? DEFAULT_ZONE.getId() : zone;
+      ZoneId zoneId;
+      try {
+        zoneId = ZoneId.of(id);
+      } catch (DateTimeException e) {
+        logger.warn("Skipping daily reminders for unknown time zone {}", id);
+        continue;
+      }
+      LocalDate localDate = LocalDate.ofInstant(windowStart, zoneId);
+      for (LocalDate date : List.of(localDate.minusDays(1), localDate, localDate.plusDays(1))) {
+        Instant reminderAt = ZonedDateTime.of(date, REMINDER_TIME, zoneId).toInstant();
+        if (!reminderAt.isBefore(windowStart) && reminderAt.isBefore(windowEnd)) {
+          due.add(id);
+          break;
+        }
+      }
+    }
+    return due;
+  }
 
-    // 1. Check for Continue Watching (Resume)
-    Optional<ContinueWatchingResponse> continueWatching =
-        watchProgressService.getContinueWatching(email);
+  private void processShards(LocalDateTime since, Map<LocalDateTime, Set<String>> zonesByWindow) {
+    // Bounds the users in flight, so at most one page is fetched ahead of the workers
+    Semaphore inFlight = new Semaphore(concurrency);
+    AtomicInteger processed = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+    Map<LocalDateTime, Integer> queuedByWindow = new HashMap<>();
+    int shards = 0;
 
-    if (continueWatching.isPresent()) {
-      sendResumeEmail(email, continueWatching.get());
+    try {
+      Optional<ReminderShard> claimed;
+      while ((claimed = reminderShardService.claim(since)).isPresent()) {
+        ReminderShard shard = claimed.get();
+        LocalDateTime start = shard.getWindowStart();
+        windowDelay.record(Duration.between(start.toInstant(ZoneOffset.UTC), Instant.now()));
+        Set<String> zones =
+            zonesByWindow.computeIfAbsent(
+                start,
+                windowStart ->
+                    zonesDueIn(
+                        windowStart.toInstant(ZoneOffset.UTC),
+                        window,
+                        userRepository.findDistinctTimeZones()));
+        shards++;
+        int queued = processShard(shard, zones, inFlight, processed, failed);
+        queuedByWindow.merge(start, queued, Integer::sum);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("Daily reminder job interrupted after {} users", processed.get());
       return;
+    } finally {
+      queuedByWindow.values().forEach(windowUsers::record);
     }
 
-    // 2. Check for Recommendations
-    RecommendationResponse recommendations = seriesService.getRecommendations(email);
-    // getRecommendations returns non-null RecommendationResponse, but
-    // getRecommended() might be empty
-    if (recommendations != null
-        && recommendations.getRecommended() != null
-        && !recommendations.getRecommended().isEmpty()) {
-      sendRecommendationEmail(email, recommendations.getRecommended().get(0));
-      return;
+    if (shards > 0) {
+      logger.info(
+          "Daily reminder job completed {} shards: {} users processed, {} failed.",
+          shards,
+          processed.get(),
+          failed.get());
     }
+  }
 
-    // Fallback to generic recommendations when user-specific recommendations are
-    // empty
-    if (recommendations != null
-        && recommendations.getOthers() != null
-        && !recommendations.getOthers().isEmpty()) {
-      sendRecommendationEmail(email, recommendations.getOthers().get(0));
-      return;
+  /** Returns the number of users whose reminder was queued. */
+  private int processShard(
+      ReminderShard shard,
+      Set<String> zones,
+      Semaphore inFlight,
+      AtomicInteger processed,
+      AtomicInteger failed)
+      throws InterruptedException {
+    int size = 100;
+    int queued = 0;
+    UUID lastSeenId = shard.getLastUserId();
+    Slice<User> userPage;
+
+    if (zones.isEmpty()) {
+      // No longer due, e.g. the last user in the zone of a resumed window moved away
+      reminderShardService.complete(shard);
+      return 0;
     }
+    do {
+      userPage =
+          userRepository.findUsersInRange(
+              shard.getFromUserId(),
+              shard.getToUserId(),
+              lastSeenId,
+              zones,
+              DEFAULT_ZONE.getId(),
+              size);
+      List<User> users = userPage.getContent();
+      if (users.isEmpty()) {
+        break;
+      }
 
-    logger.info("No active series or recommendations found for user: {}", email);
+      Map<String, ReminderCandidate> candidates;
+      Map<String, String> tokens;
+      try {
+        candidates =
+            reminderCandidateService.findCandidates(users.stream().map(User::getEmail).toList());
+        tokens = authService.generateMagicLinkTokens(candidates.keySet());
+      } catch (Exception e) {
+        // Skip the checkpoint: once the lease runs out the shard resumes from the last one, so
+        // the users of this page are retried rather than skipped
+        failed.addAndGet(users.size());
+        logger.error(
+            "Failed to compute daily reminders for {} users of reminder shard {}",
+            users.size(),
+            shard.getShardIndex(),
+            e);
+        return queued;
+      }
+
+      for (User user : users) {
+        ReminderCandidate candidate = candidates.get(user.getEmail());
+        String token = tokens.get(user.getEmail());
+        inFlight.acquire();
+        queuedUsers.incrementAndGet();
+        try {
+          reminderExecutor.execute(
+              () -> {
+                try {
+                  processUserReminderTimed(user, candidate, token, failed);
+                } finally {
+                  queuedUsers.decrementAndGet();
+                  inFlight.release();
+                }
+              });
+        } catch (RuntimeException e) {
+          queuedUsers.decrementAndGet();
+          inFlight.release();
+          throw e;
+        }
+        processed.incrementAndGet();
+        queued++;
+      }
+
+      // Checkpoint once every reminder of the page has been sent
+      inFlight.acquire(concurrency);
+      inFlight.release(concurrency);
+      lastSeenId = users.get(users.size() - 1).getId();
+      if (!reminderShardService.checkpoint(shard, lastSeenId)) {
+        logger.warn("Lost the lease on reminder shard {}, leaving it", shard.getShardIndex());
+        return queued;
+      }
+    } while (userPage.hasNext());
+
+    reminderShardService.complete(shard);
+    return queued;
+  }
+
+  private void processUserReminderTimed(
+      User user, ReminderCandidate candidate, String token, AtomicInteger failed) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "success";
+    try {
+      processUserReminder(user, candidate, token);
+    } catch (Exception e) {
+      outcome = "failure";
+      failed.incrementAndGet();
+      logger.error("Failed to process daily reminder for user: {}", user.getEmail(), e);
+    } finally {
+      sample.stop(meterRegistry.timer("reminders.user.duration", "outcome", outcome));
+    }
   }
 
-  private void sendResumeEmail(String email, ContinueWatchingResponse progress) {
-    String subject = "Resume your learning: " + progress.getSeriesTitle();
-    String token = authService.generateMagicLinkToken(email);
+  void processUserReminder(User user, ReminderCandidate candidate, String token) {
+    String email = user.getEmail();
+    if (candidate == null) {
+      logger.info("No active series or recommendations found for user: {}", email);
+    } else if (candidate.isResume()) {
+      sendResumeEmail(email, candidate.resume(), token);
+    } else {
+      sendRecommendationEmail(email, candidate.series(), candidate.firstEpisode(), token);
+    }
+  }
 
+  private void sendResumeEmail(String email, ContinueWatchingResponse progress, String token) {
     String link =
         frontendUrl
             + "/series/"
@@ -114,34 +414,11 @@ public class DailyReminderJob {
             + progress.getEpisodeId()
             + "&token="
             + token;
-    String content =
-        String.format(
-            "Hi there,\n\n"
-                + "Pick up where you left off! Continue watching \"%s\":\n\n"
-                + "Series: %s\n"
-                + "Episode Number: %d - %s\n\n"
-                + "Click here to resume: %s\n\n"
-                + "Happy Learning!",
-            progress.getSeriesTitle(),
-            progress.getSeriesTitle(),
-            progress.getEpisodeSequenceNumber(),
-            progress.getEpisodeTitle(),
-            link);
-
-    emailService.sendDailyReminder(email, subject, content);
+    emailService.sendDailyReminder(email, emailTemplates.resume(progress, link));
   }
 
-  private void sendRecommendationEmail(String email, Series series) {
-    // Determine the first episode of the recommended series
-    List<Episode> episodes = seriesService.getEpisodesForSeries(series.getId());
-    if (episodes.isEmpty()) {
-      return;
-    }
-    Episode firstEpisode = episodes.get(0);
-
-    String subject = "Recommended for you: " + series.getTitle();
-    String token = authService.generateMagicLinkToken(email);
-
+  private void sendRecommendationEmail(
+      String email, Series series, Episode firstEpisode, String token) {
     String link =
         frontendUrl
             + "/series/"
@@ -150,15 +427,6 @@ public class DailyReminderJob {
             + firstEpisode.getId()
             + "&token="
             + token;
-    String content =
-        String.format(
-            "Hi there,\n\n"
-                + "Based on your interests, we think you'll love \"%s\"!\n\n"
-                + "Description: %s\n\n"
-                + "Click here to start watching: %s\n\n"
-                + "Happy Learning!",
-            series.getTitle(), series.getDescription(), link);
-
-    emailService.sendDailyReminder(email, subject, content);
+    emailService.sendDailyReminder(email, emailTemplates.recommendation(series, link));
   }
 }
@@ -0,0 +1,192 @@
+package com.example.app.service;
+
+import com.example.app.config.MailExecutorConfig;
+import com.example.app.model.EmailOutbox;
+import com.example.app.repository.EmailOutboxRepository;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+/**
+ * Drains the email outbox. Each poll claims due emails, bounded by the provider rate cap ({@code
+ * app.mail.outbox.rate-per-minute}), and sends them in batches of {@code batch-size} over one SMTP
+ * connection each, in parallel on the mail executor. Failed emails are retried with exponential
+ * backoff by {@link EmailOutboxService}. Delivery is at-least-once: an email whose sender dies
+ * after sending but before recording it is sent again when its lease runs out.
+ *
+ * <p>Polls run every {@code app.mail.outbox.poll-ms} on a scheduler thread of their own rather than
+ * on Spring's shared one, so OTP emails keep going out while the reminder window, catalog reloads
+ * or reapers hold the shared scheduler.
+ */
+@Service
+public class EmailDispatcher implements SmartLifecycle {
+
+  private final EmailOutboxService emailOutboxService;
+  private final EmailOutboxRepository emailOutboxRepository;
+  private final EmailService emailService;
+  private final Executor mailExecutor;
+  private final int claimSize;
+  private final int batchSize;
+  private final int retentionDays;
+  private final Duration pollInterval;
+  private final Bucket providerRate;
+  private final Counter sentCounter;
+  private final Counter failedCounter;
+  private final Timer batchTimer;
+  private volatile boolean warnedUnconfigured;
+  private volatile ThreadPoolTaskScheduler pollScheduler;
+
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(EmailDispatcher.class);
+
+  public EmailDispatcher(
+      EmailOutboxService emailOutboxService,
+      EmailOutboxRepository emailOutboxRepository,
+      EmailService emailService,
+      @Qualifier(MailExecutorConfig.MAIL_EXECUTOR) Executor mailExecutor,
+      MeterRegistry meterRegistry,
+      @Value("${app.mail.outbox.claim-size:200}") int claimSize,
+      @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+      @Value("${app.mail.outbox.rate-per-minute:600}") long ratePerMinute,
+      @Value("${app.mail.outbox.retention-days:7}") int retentionDays,
+      @Value("${app.mail.outbox.poll-ms:1000}") long pollMs) {
+    this.emailOutboxService = emailOutboxService;
+    this.emailOutboxRepository = emailOutboxRepository;
+    this.emailService = emailService;
+    this.mailExecutor = mailExecutor;
+    this.claimSize = claimSize;
+    this.batchSize = batchSize;
+    this.retentionDays = retentionDays;
+    this.pollInterval = Duration.ofMillis(pollMs);
+    this.providerRate =
+        Bucket.builder()
+            .addLimit(
+                Bandwidth.builder()
+                    .capacity(ratePerMinute)
+                    .refillGreedy(ratePerMinute, Duration.ofMinutes(1))
+                    .build())
+            .build();
+    this.sentCounter = meterRegistry.counter("mail.outbox.sent");
+    this.failedCounter = meterRegistry.counter("mail.outbox.failed");
+    this.batchTimer = meterRegistry.timer("mail.outbox.batch.duration");
+  }
+
+  @Override
+  public void start() {
+    ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+    scheduler.setPoolSize(1);
+    scheduler.setThreadNamePrefix("mail-dispatch-");
+    // Let a poll in progress record its results instead of leaving the emails leased
+    scheduler.setWaitForTasksToCompleteOnShutdown(true);
+    scheduler.setAwaitTerminationSeconds(30);
+    scheduler.initialize();
+    scheduler.scheduleWithFixedDelay(this::dispatch, pollInterval);
+    pollScheduler = scheduler;
+  }
+
+  @Override
+  public void stop() {
+    ThreadPoolTaskScheduler scheduler = pollScheduler;
+    pollScheduler = null;
+    if (scheduler != null) {
+      scheduler.shutdown();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return pollScheduler != null;
+  }
+
+  public int dispatch() {
+    if (!emailService.isConfigured()) {
+      if (!warnedUnconfigured) {
+        logger.warn("Email sending skipped: 'app.mail.from' is not configured.");
+        warnedUnconfigured = true;
+      }
+      return 0;
+    }
+    int dispatched = 0;
+    try {
+      while (true) {
+        int permits = (int) providerRate.tryConsumeAsMuchAsPossible(claimSize);
+        if (permits == 0) {
+          break;
+        }
+        List<EmailOutbox> claimed = emailOutboxService.claimDue(permits);
+        if (claimed.size() < permits) {
+          providerRate.addTokens(permits - claimed.size());
+        }
+        if (claimed.isEmpty()) {
+          break;
+        }
+        sendInBatches(claimed);
+        dispatched += claimed.size();
+        if (claimed.size() < permits) {
+          break;
+        }
+      }
+    } catch (Exception e) {
+      logger.error("Email dispatch failed after {} emails", dispatched, e);
+    }
+    return dispatched;
+  }
+
+  private void sendInBatches(List<EmailOutbox> claimed) {
+    List<CompletableFuture<Void>> batches = new ArrayList<>();
+    for (int from = 0; from < claimed.size(); from += batchSize) {
+      List<EmailOutbox> batch = claimed.subList(from, Math.min(from + batchSize, claimed.size()));
+      batches.add(CompletableFuture.runAsync(() -> send(batch), mailExecutor));
+    }
+    CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).join();
+  }
+
+  private void send(List<EmailOutbox> batch) {
+    Map<Long, String> failures =
+        batchTimer.record(
+            () -> {
+              try {
+                return emailService.deliver(batch);
+              } catch (Exception e) {
+                Map<Long, String> all = new HashMap<>();
+                batch.forEach(email -> all.put(email.getId(), String.valueOf(e.getMessage())));
+                return all;
+              }
+            });
+    emailOutboxService.recordResults(batch, failures);
+    sentCounter.increment(batch.size() - failures.size());
+    failedCounter.increment(failures.size());
+  }
+
+  @Scheduled(fixedDelayString = "${app.mail.outbox.purge-interval-ms:3600000}")
+  public int purgeSent() {
+    LocalDateTime sentBefore = LocalDateTime.now().minusDays(retentionDays);
+    int total = 0;
+    try {
+      int deleted;
+      do {
+        deleted = emailOutboxRepository.deleteSentBatch(sentBefore, 1000);
+        total += deleted;
+      } while (deleted == 1000);
+    } catch (Exception e) {
+      logger.error("Failed to purge sent emails after {} rows", total, e);
+    }
+    return total;
+  }
+}
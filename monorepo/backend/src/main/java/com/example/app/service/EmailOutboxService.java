@@ -0,0 +1,87 @@
+package com.example.app.service;
+
+import com.example.app.dto.EmailContent;
+import com.example.app.model.EmailOutbox;
+import com.example.app.repository.EmailOutboxRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Transactional operations on the email outbox used by {@link EmailDispatcher}. */
+@Service
+public class EmailOutboxService {
+
+  private final EmailOutboxRepository emailOutboxRepository;
+  private final Duration lease;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final int maxAttempts;
+
+  public EmailOutboxService(
+      EmailOutboxRepository emailOutboxRepository,
+      @Value("${app.mail.outbox.lease-seconds:300}") long leaseSeconds,
+      @Value("${app.mail.outbox.initial-backoff-seconds:30}") long initialBackoffSeconds,
+      @Value("${app.mail.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+      @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts) {
+    this.emailOutboxRepository = emailOutboxRepository;
+    this.lease = Duration.ofSeconds(leaseSeconds);
+    this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+    this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+    this.maxAttempts = maxAttempts;
+  }
+
+  /** Adds an email to the outbox, as part of the caller's transaction if there is one. */
+  @Transactional
+  public EmailOutbox enqueue(String toEmail, String subject, String body) {
+    return emailOutboxRepository.save(new EmailOutbox(toEmail, subject, body));
+  }
+
+  /** Adds a rendered email to the outbox, as part of the caller's transaction if there is one. */
+  @Transactional
+  public EmailOutbox enqueue(String toEmail, EmailContent content) {
+    return emailOutboxRepository.save(
+        new EmailOutbox(toEmail, content.subject(), content.text(), content.html()));
+  }
+
+  /**
+   * Claims up to {@code limit} due emails for sending. The claim is committed before returning, so
+   * the emails are not sent again by another node until the lease runs out.
+   */
+  @Transactional
+  public List<EmailOutbox> claimDue(int limit) {
+    LocalDateTime now = LocalDateTime.now();
+    List<EmailOutbox> due = emailOutboxRepository.lockDue(now, limit);
+    LocalDateTime leaseUntil = now.plus(lease);
+    due.forEach(email -> email.claim(leaseUntil));
+    return due;
+  }
+
+  /** Records the outcome of sending {@code sent}; {@code failures} maps ids to the error. */
+  @Transactional
+  public void recordResults(List<EmailOutbox> sent, Map<Long, String> failures) {
+    LocalDateTime now = LocalDateTime.now();
+    for (EmailOutbox email : emailOutboxRepository.findAllById(ids(sent))) {
+      String error = failures.get(email.getId());
+      if (error == null) {
+        email.markSent(now);
+      } else {
+        email.markFailed(error, email.getAttempts() >= maxAttempts ? null : retryAt(email, now));
+      }
+    }
+  }
+
+  private LocalDateTime retryAt(EmailOutbox email, LocalDateTime now) {
+    // 30s, 1m, 2m, 4m, ... capped at the max backoff
+    int doublings = Math.min(email.getAttempts() - 1, 20);
+    Duration backoff = initialBackoff.multipliedBy(1L << Math.max(0, doublings));
+    return now.plus(backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff);
+  }
+
+  private static List<Long> ids(List<EmailOutbox> emails) {
+    return emails.stream().map(EmailOutbox::getId).toList();
+  }
+}
@@ -1,58 +1,99 @@
 package com.example.app.service;
 
+import com.example.app.dto.EmailContent;
+import com.example.app.model.EmailOutbox;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+/**
+ * Emails are not sent directly: the {@code send*} methods add them to the email outbox as part of
+ * the caller's transaction, and {@link EmailDispatcher} delivers them in batches through {@link
+ * #deliver(List)}.
+ */
 @Service
 public class EmailService {
 
   @Autowired private JavaMailSender mailSender;
 
+  @Autowired private EmailOutboxService emailOutboxService;
+
+  @Autowired private EmailTemplates emailTemplates;
+
   @org.springframework.beans.factory.annotation.Value("${app.mail.from}")
   private String fromEmail;
 
   private static final org.slf4j.Logger logger =
       org.slf4j.LoggerFactory.getLogger(EmailService.class);
 
-  @org.springframework.scheduling.annotation.Async
   public void sendOtpEmail(String toEmail, String otp) {
-    if (fromEmail == null || fromEmail.trim().isEmpty()) {
-      logger.warn("Email sending skipped: 'app.mail.from' is not configured.");
-      return;
-    }
-    try {
-      SimpleMailMessage message = new SimpleMailMessage();
-      message.setFrom(fromEmail);
-      message.setTo(toEmail);
-      message.setSubject("Your Login OTP");
-      message.setText("Your OTP for login is: " + otp + "\n\nThis code expires in 5 minutes.");
-
-      mailSender.send(message);
-      logger.info("Email sent successfully to: {}", toEmail);
-    } catch (Exception e) {
-      logger.error("Failed to send email: {}", e.getMessage());
-    }
+    emailOutboxService.enqueue(toEmail, emailTemplates.otp(otp));
   }
 
-  @org.springframework.scheduling.annotation.Async
-  public void sendDailyReminder(String toEmail, String subject, String content) {
-    if (fromEmail == null || fromEmail.trim().isEmpty()) {
-      logger.warn("Email sending skipped: 'app.mail.from' is not configured.");
-      return;
+  public void sendDailyReminder(String toEmail, EmailContent content) {
+    emailOutboxService.enqueue(toEmail, content);
+  }
+
+  public boolean isConfigured() {
+    return fromEmail != null && !fromEmail.trim().isEmpty();
+  }
+
+  /**
+   * Sends the emails over a single SMTP connection.
+   *
+   * @return error messages by outbox id for the emails that could not be sent
+   */
+  public Map<Long, String> deliver(List<EmailOutbox> batch) {
+    Map<MimeMessage, Long> ids = new IdentityHashMap<>();
+    Map<Long, String> failures = new HashMap<>();
+    List<MimeMessage> messages = new ArrayList<>(batch.size());
+    for (EmailOutbox email : batch) {
+      try {
+        MimeMessage message = mailSender.createMimeMessage();
+        boolean html = email.getHtmlBody() != null;
+        MimeMessageHelper helper = new MimeMessageHelper(message, html, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getToEmail());
+        helper.setSubject(email.getSubject());
+        if (html) {
+          helper.setText(email.getBody(), email.getHtmlBody());
+        } else {
+          helper.setText(email.getBody());
+        }
+        messages.add(message);
+        ids.put(message, email.getId());
+      } catch (MessagingException e) {
+        failures.put(email.getId(), e.getMessage());
+      }
     }
+    if (messages.isEmpty()) {
+      return failures;
+    }
+
     try {
-      SimpleMailMessage message = new SimpleMailMessage();
-      message.setFrom(fromEmail);
-      message.setTo(toEmail);
-      message.setSubject(subject);
-      message.setText(content);
-
-      mailSender.send(message);
-      logger.info("Daily reminder email sent successfully to: {}", toEmail);
-    } catch (Exception e) {
-      logger.error("Failed to send daily reminder email: {}", e.getMessage());
+      mailSender.send(messages.toArray(new MimeMessage[0]));
+    } catch (MailSendException e) {
+      if (e.getFailedMessages().isEmpty()) {
+        // Connection or authentication failure: nothing was sent
+        ids.values().forEach(id -> failures.put(id, e.getMessage()));
+      } else {
+        e.getFailedMessages()
+            .forEach((message, cause) -> failures.put(ids.get(message), cause.getMessage()));
+      }
+    } catch (MailException e) {
+      ids.values().forEach(id -> failures.put(id, e.getMessage()));
     }
+    logger.info("Sent {} of {} emails", batch.size() - failures.size(), batch.size());
+    return failures;
   }
 }
@@ -0,0 +1,84 @@
+package com.example.app.service;
+
+import com.example.app.dto.ContinueWatchingResponse;
+import com.example.app.dto.EmailContent;
+import com.example.app.model.Series;
+import com.example.app.util.EmailTemplate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * The emails the app sends, compiled at startup from the text and HTML bodies under {@code
+ * classpath:email/}. A missing file or unknown placeholder fails startup rather than the first
+ * email.
+ */
+@Component
+public class EmailTemplates {
+
+  private final Email otp;
+  private final Email resume;
+  private final Email recommendation;
+
+  public EmailTemplates() {
+    this.otp = load("Your Login OTP", "otp", "otp");
+    this.resume =
+        load(
+            "Resume your learning: {{seriesTitle}}",
+            "reminder-resume",
+            "seriesTitle",
+            "episodeNumber",
+            "episodeTitle",
+            "link");
+    this.recommendation =
+        load(
+            "Recommended for you: {{seriesTitle}}",
+            "reminder-recommendation",
+            "seriesTitle",
+            "description",
+            "link");
+  }
+
+  public EmailContent otp(String code) {
+    return otp.render(code);
+  }
+
+  public EmailContent resume(ContinueWatchingResponse progress, String link) {
+    return resume.render(
+        progress.getSeriesTitle(),
+        Integer.toString(progress.getEpisodeSequenceNumber()),
+        progress.getEpisodeTitle(),
+        link);
+  }
+
+  public EmailContent recommendation(Series series, String link) {
+    return recommendation.render(series.getTitle(), series.getDescription(), link);
+  }
+
+  private static Email load(String subject, String name, String... parameters) {
+    return new Email(
+        EmailTemplate.text(subject, parameters),
+        EmailTemplate.text(read("email/" + name + ".txt"), parameters),
+        EmailTemplate.html(read("email/" + name + ".html"), parameters));
+  }
+
+  private static String read(String path) {
+    try (InputStream in = new ClassPathResource(path).getInputStream()) {
+      String source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      // Files end with a newline that is not part of the body
+      return source.endsWith("\n") ? source.substring(0, source.length() - 1) : source;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read email template " + path, e);
+    }
+  }
+
+  private record Email(EmailTemplate subject, EmailTemplate text, EmailTemplate html) {
+
+    EmailContent render(String... values) {
+      return new EmailContent(subject.render(values), text.render(values), html.render(values));
+    }
+  }
+}
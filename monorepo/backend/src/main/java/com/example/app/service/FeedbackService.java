@@ -10,6 +10,7 @@ import com.example.app.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,14 +20,17 @@ public class FeedbackService {
   private final FeedbackRepository feedbackRepository;
   private final EpisodeRepository episodeRepository;
   private final UserRepository userRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   public FeedbackService(
       FeedbackRepository feedbackRepository,
       EpisodeRepository episodeRepository,
-      UserRepository userRepository) {
+      UserRepository userRepository,
+      ApplicationEventPublisher eventPublisher) {
     this.feedbackRepository = feedbackRepository;
     this.episodeRepository = episodeRepository;
     this.userRepository = userRepository;
+    this.eventPublisher = eventPublisher;
   }
 
   @Transactional
@@ -86,6 +90,8 @@ public class FeedbackService {
     java.util.Map<String, Integer> weights = user.getInterestWeights();
     weights.put(category, weights.getOrDefault(category, 0) + change);
     userRepository.save(user);
+    // Recommendations are ordered by interest weight
+    eventPublisher.publishEvent(new RecommendationInputChangedEvent(user.getEmail()));
   }
 
   public boolean feedbackExists(String userEmail, UUID episodeId) {
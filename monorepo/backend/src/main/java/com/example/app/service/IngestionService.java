@@ -14,6 +14,7 @@ import com.example.app.repository.SeriesRepository;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,14 +24,17 @@ public class IngestionService {
   private final SeriesRepository seriesRepository;
   private final EpisodeRepository episodeRepository;
   private final MCQRepository mcqRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   public IngestionService(
       SeriesRepository seriesRepository,
       EpisodeRepository episodeRepository,
-      MCQRepository mcqRepository) {
+      MCQRepository mcqRepository,
+      ApplicationEventPublisher eventPublisher) {
     this.seriesRepository = seriesRepository;
     this.episodeRepository = episodeRepository;
     this.mcqRepository = mcqRepository;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -67,6 +71,9 @@ public class IngestionService {
         handleEpisode(series, episodeRequest);
       }
     }
+
+    // The catalog snapshot is reloaded once this commits
+    eventPublisher.publishEvent(new CatalogChangedEvent());
   }
 
   private Series createNewSeries(IngestRequest request) {
@@ -0,0 +1,48 @@
+package com.example.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.local.LocalBucketBuilder;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps buckets in memory. Limits are enforced per node, so this is only suitable for a single
+ * instance. Buckets are kept for the longest limit window after their last use, so that idle keys
+ * do not get a fresh daily allowance early.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalBucketStore implements BucketStore {
+
+  private final Cache<String, Bucket> buckets;
+
+  public LocalBucketStore(
+      @Value("${app.rate-limit.local.max-size:100000}") long maxSize,
+      @Value("${app.rate-limit.local.idle-hours:24}") long idleHours) {
+    this.buckets =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterAccess(Duration.ofHours(idleHours))
+            .build();
+  }
+
+  @Override
+  public Bucket bucket(String key, Supplier<BucketConfiguration> configuration) {
+    return buckets.get(key, k -> newBucket(configuration.get()));
+  }
+
+  private static Bucket newBucket(BucketConfiguration configuration) {
+    LocalBucketBuilder builder = Bucket.builder();
+    for (Bandwidth bandwidth : configuration.getBandwidths()) {
+      builder.addLimit(bandwidth);
+    }
+    return builder.build();
+  }
+}
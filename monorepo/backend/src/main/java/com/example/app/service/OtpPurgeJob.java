@@ -0,0 +1,74 @@
+package com.example.app.service;
+
+import com.example.app.repository.OtpRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Periodically deletes expired OTPs and magic-link tokens, which are otherwise only removed when
+ * they are used. Works in chunks of {@code app.otp.purge-batch-size} like {@link SessionReaperJob};
+ * rows purged per run and the run duration are published as {@code otp.purge.rows} and {@code
+ * otp.purge.duration}.
+ */
+@Service
+public class OtpPurgeJob {
+
+  private final OtpRepository otpRepository;
+  private final int batchSize;
+  private final int maxBatches;
+  private final DistributionSummary purgedRows;
+  private final Timer purgeDuration;
+
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(OtpPurgeJob.class);
+
+  public OtpPurgeJob(
+      OtpRepository otpRepository,
+      MeterRegistry meterRegistry,
+      @Value("${app.otp.purge-batch-size:1000}") int batchSize,
+      @Value("${app.otp.purge-max-batches:100}") int maxBatches) {
+    this.otpRepository = otpRepository;
+    this.batchSize = batchSize;
+    this.maxBatches = maxBatches;
+    this.purgedRows =
+        DistributionSummary.builder("otp.purge.rows")
+            .description("Expired OTP and magic-link rows deleted per purge run")
+            .register(meterRegistry);
+    this.purgeDuration =
+        Timer.builder("otp.purge.duration")
+            .description("Duration of an OTP purge run")
+            .register(meterRegistry);
+  }
+
+  @Scheduled(
+      fixedDelayString = "${app.otp.purge-interval-ms:900000}",
+      initialDelayString = "${app.otp.purge-initial-delay-ms:120000}")
+  public int purgeExpiredOtps() {
+    Timer.Sample sample = Timer.start();
+    LocalDateTime now = LocalDateTime.now();
+    int total = 0;
+    try {
+      for (int batch = 0; batch < maxBatches; batch++) {
+        int deleted = otpRepository.deleteExpiredBatch(now, batchSize);
+        total += deleted;
+        if (deleted < batchSize) {
+          break;
+        }
+      }
+    } catch (Exception e) {
+      logger.error("OTP purge failed after deleting {} rows", total, e);
+    } finally {
+      sample.stop(purgeDuration);
+      purgedRows.record(total);
+    }
+    if (total > 0) {
+      logger.info("Deleted {} expired OTP rows", total);
+    }
+    return total;
+  }
+}
@@ -0,0 +1,121 @@
+package com.example.app.service;
+
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AbstractCompareAndSwapBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AsyncCompareAndSwapOperation;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.CompareAndSwapOperation;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+
+/**
+ * Bucket4j proxy manager over the {@code rate_limit_buckets} table. Each change reads the state and
+ * its version, and writes it back only if the version is unchanged; Bucket4j retries on conflict.
+ * Every statement runs in its own auto-committed transaction, so no row lock is held across the
+ * read-modify-write.
+ *
+ * <p>The store is synchronous only: JDBC has no non-blocking API, so {@link
+ * #isAsyncModeSupported()} is false and Bucket4j refuses to build async proxies before reaching the
+ * async operations.
+ */
+class PostgresBucketProxyManager extends AbstractCompareAndSwapBasedProxyManager<String> {
+
+  private static final String SELECT =
+      "SELECT state, version FROM rate_limit_buckets WHERE bucket_key = ?";
+  private static final String INSERT =
+      "INSERT INTO rate_limit_buckets (bucket_key, state, version, expires_at) VALUES (?, ?, 0, ?)"
+          + " ON CONFLICT DO NOTHING";
+  private static final String UPDATE =
+      "UPDATE rate_limit_buckets SET state = ?, version = version + 1, expires_at = ?"
+          + " WHERE bucket_key = ? AND version = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  PostgresBucketProxyManager(JdbcTemplate jdbcTemplate) {
+    super(ClientSideConfig.getDefault());
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  protected CompareAndSwapOperation beginCompareAndSwapOperation(String key) {
+    return new CompareAndSwapOperation() {
+      private long version;
+
+      @Override
+      public Optional<byte[]> getStateData(Optional<Long> timeoutNanos) {
+        List<byte[]> rows =
+            jdbcTemplate.query(
+                statement(SELECT, timeoutNanos, key),
+                (rs, rowNum) -> {
+                  version = rs.getLong("version");
+                  return rs.getBytes("state");
+                });
+        return rows.stream().findFirst();
+      }
+
+      @Override
+      public boolean compareAndSwap(
+          byte[] originalData,
+          byte[] newData,
+          RemoteBucketState newState,
+          Optional<Long> timeoutNanos) {
+        Timestamp expiresAt = expiresAt(newState);
+        if (originalData == null) {
+          return jdbcTemplate.update(statement(INSERT, timeoutNanos, key, newData, expiresAt))
+              == 1;
+        }
+        return jdbcTemplate.update(
+                statement(UPDATE, timeoutNanos, newData, expiresAt, key, version))
+            == 1;
+      }
+    };
+  }
+
+  /** Binds {@code args} to {@code sql}, applying Bucket4j's request timeout when one is set. */
+  private static PreparedStatementCreator statement(
+      String sql, Optional<Long> timeoutNanos, Object... args) {
+    return connection -> {
+      PreparedStatement statement = connection.prepareStatement(sql);
+      if (timeoutNanos.isPresent()) {
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(timeoutNanos.get() + 999_999_999L);
+        statement.setQueryTimeout((int) Math.max(1, seconds));
+      }
+      new ArgumentPreparedStatementSetter(args).setValues(statement);
+      return statement;
+    };
+  }
+
+  private static Timestamp expiresAt(RemoteBucketState state) {
+    long nowMillis = System.currentTimeMillis();
+    long refillNanos = state.calculateFullRefillingTime(nowMillis * 1_000_000L);
+    return Timestamp.from(Instant.ofEpochMilli(nowMillis).plusNanos(refillNanos));
+  }
+
+  @Override
+  protected AsyncCompareAndSwapOperation beginAsyncCompareAndSwapOperation(String key) {
+    throw new UnsupportedOperationException("rate_limit_buckets supports synchronous access only");
+  }
+
+  @Override
+  public void removeProxy(String key) {
+    jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE bucket_key = ?", key);
+  }
+
+  @Override
+  protected CompletableFuture<Void> removeAsync(String key) {
+    throw new UnsupportedOperationException("rate_limit_buckets supports synchronous access only");
+  }
+
+  @Override
+  public boolean isAsyncModeSupported() {
+    return false;
+  }
+}
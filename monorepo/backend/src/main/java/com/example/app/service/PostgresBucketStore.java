@@ -0,0 +1,92 @@
+package com.example.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimization;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps buckets in PostgreSQL so that every node enforces the same limits.
+ *
+ * <p>Bucket proxies are cached locally for {@code app.rate-limit.postgres.local-cache-seconds}, up
+ * to {@code local-cache-max-size} keys, and delay synchronisation with the table until {@code
+ * max-unsynced-tokens} have been consumed or {@code max-unsynced-ms} have passed. Most checks,
+ * including repeated rejections of a flooding client, are therefore answered without a database
+ * round trip, at the cost of letting each node over-consume by at most {@code max-unsynced-tokens}
+ * per bucket.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "postgres")
+public class PostgresBucketStore implements BucketStore {
+
+  private static final String DELETE_EXPIRED_BATCH =
+      "DELETE FROM rate_limit_buckets WHERE bucket_key IN (SELECT bucket_key FROM"
+          + " rate_limit_buckets WHERE expires_at < ? LIMIT ?)";
+
+  private final PostgresBucketProxyManager proxyManager;
+  private final JdbcTemplate jdbcTemplate;
+  private final Cache<String, Bucket> proxies;
+  private final Optimization optimization;
+  private final int purgeBatchSize;
+
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(PostgresBucketStore.class);
+
+  public PostgresBucketStore(
+      JdbcTemplate jdbcTemplate,
+      @Value("${app.rate-limit.postgres.local-cache-seconds:60}") long localCacheSeconds,
+      @Value("${app.rate-limit.postgres.local-cache-max-size:100000}") long localCacheMaxSize,
+      @Value("${app.rate-limit.postgres.max-unsynced-tokens:1}") long maxUnsyncedTokens,
+      @Value("${app.rate-limit.postgres.max-unsynced-ms:1000}") long maxUnsyncedMs,
+      @Value("${app.rate-limit.postgres.purge-batch-size:1000}") int purgeBatchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.proxyManager = new PostgresBucketProxyManager(jdbcTemplate);
+    this.proxies =
+        Caffeine.newBuilder()
+            .maximumSize(localCacheMaxSize)
+            .expireAfterAccess(Duration.ofSeconds(localCacheSeconds))
+            .build();
+    // 0 synchronises every check with the table
+    this.optimization =
+        maxUnsyncedTokens > 0
+            ? Optimizations.delaying(
+                new DelayParameters(maxUnsyncedTokens, Duration.ofMillis(maxUnsyncedMs)))
+            : Optimization.NONE_OPTIMIZED;
+    this.purgeBatchSize = purgeBatchSize;
+  }
+
+  @Override
+  public Bucket bucket(String key, Supplier<BucketConfiguration> configuration) {
+    return proxies.get(
+        key, k -> proxyManager.builder().withOptimization(optimization).build(k, configuration));
+  }
+
+  /** Drops buckets that have refilled completely; a missing bucket is recreated full. */
+  @Scheduled(fixedDelayString = "${app.rate-limit.postgres.purge-interval-ms:3600000}")
+  public int purgeExpiredBuckets() {
+    Timestamp now = Timestamp.from(Instant.now());
+    int total = 0;
+    try {
+      int deleted;
+      do {
+        deleted = jdbcTemplate.update(DELETE_EXPIRED_BATCH, now, purgeBatchSize);
+        total += deleted;
+      } while (deleted == purgeBatchSize);
+    } catch (Exception e) {
+      logger.error("Failed to purge expired rate limit buckets after {} rows", total, e);
+    }
+    return total;
+  }
+}
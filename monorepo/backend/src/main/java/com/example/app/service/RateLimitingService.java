@@ -1,49 +1,56 @@
 package com.example.app.service;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
 import io.github.bucket4j.ConsumptionProbe;
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 public class RateLimitingService {
 
-  private final Cache<String, Bucket> buckets =
-      Caffeine.newBuilder().maximumSize(1000).expireAfterAccess(1, TimeUnit.HOURS).build();
+  private final BucketStore bucketStore;
+  private final BucketConfiguration emailLimits;
+  private final BucketConfiguration ipLimits;
 
-  public ConsumptionProbe resolveBucket(String key) {
-    // In a distributed environment (multiple instances), you should use a
-    // distributed cache like Redis.
-    // For example, with Bucket4j-JCache or Bucket4j-Redis:
-    // ProxyManager<String> proxyManager = ...; // configured with Redis
-    // Bucket bucket = proxyManager.builder().build(key,
-    // this::createNewBucketConfiguration);
+  public RateLimitingService(
+      BucketStore bucketStore,
+      @Value("${app.rate-limit.email.per-minute:5}") long emailPerMinute,
+      @Value("${app.rate-limit.email.per-hour:20}") long emailPerHour,
+      @Value("${app.rate-limit.email.per-day:50}") long emailPerDay,
+      @Value("${app.rate-limit.ip.per-minute:20}") long ipPerMinute,
+      @Value("${app.rate-limit.ip.per-hour:100}") long ipPerHour,
+      @Value("${app.rate-limit.ip.per-day:300}") long ipPerDay) {
+    this.bucketStore = bucketStore;
+    this.emailLimits = limits(emailPerMinute, emailPerHour, emailPerDay);
+    this.ipLimits = limits(ipPerMinute, ipPerHour, ipPerDay);
+  }
+
+  /** Consumes one OTP request from the bucket of the given email. */
+  public ConsumptionProbe resolveBucket(String email) {
+    return bucketStore.bucket("email:" + email, () -> emailLimits).tryConsumeAndReturnRemaining(1);
+  }
 
-    Bucket bucket = buckets.get(key, this::createNewBucket);
-    return bucket.tryConsumeAndReturnRemaining(1);
+  /** Consumes one OTP request from the bucket of the given client address. */
+  public ConsumptionProbe resolveIpBucket(String ip) {
+    return bucketStore.bucket("ip:" + ip, () -> ipLimits).tryConsumeAndReturnRemaining(1);
   }
 
-  private Bucket createNewBucket(String key) {
-    return Bucket.builder()
+  private static BucketConfiguration limits(long perMinute, long perHour, long perDay) {
+    return BucketConfiguration.builder()
         .addLimit(
             Bandwidth.builder()
-                .capacity(5)
-                .refillGreedy(5, Duration.ofSeconds(60))
-                .build()) // 5 per min
+                .capacity(perMinute)
+                .refillGreedy(perMinute, Duration.ofSeconds(60))
+                .build())
         .addLimit(
             Bandwidth.builder()
-                .capacity(20)
-                .refillGreedy(20, Duration.ofHours(1))
-                .build()) // 20 per hour
+                .capacity(perHour)
+                .refillGreedy(perHour, Duration.ofHours(1))
+                .build())
         .addLimit(
-            Bandwidth.builder()
-                .capacity(50)
-                .refillGreedy(50, Duration.ofDays(1))
-                .build()) // 50 per day
+            Bandwidth.builder().capacity(perDay).refillGreedy(perDay, Duration.ofDays(1)).build())
         .build();
   }
 }
@@ -0,0 +1,127 @@
+package com.example.app.service;
+
+import com.example.app.dto.RecommendationResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Node-local recommendation lists keyed by user email, so that {@link
+ * SeriesService#getRecommendations(String)} recomputes a user's list only after one of its inputs
+ * changed.
+ *
+ * <p>Entries are dropped after commit of a {@link RecommendationInputChangedEvent} for the user, or
+ * of a {@link WatchProgressSavedEvent} that moves their continue-watching series. An entry computed
+ * from an older {@link CatalogSnapshot} than the current one is recomputed on read.
+ *
+ * <p>Lists are computed outside the map, so a slow computation blocks neither other users' reads
+ * nor invalidations. Each invalidation bumps a generation counter for the user's stripe; a list is
+ * only cached if its stripe's generation did not change while it was computed, so a list computed
+ * from data read before a commit does not survive it. Concurrent misses for the same user are
+ * coalesced by the caller.
+ *
+ * <p>Events are only seen on the node that published them; the TTL bounds how long another node
+ * serves a list from before a change. Hit/miss statistics are published under the {@code cache.*}
+ * meters with {@code cache=recommendations}.
+ */
+@Component
+public class RecommendationCache {
+
+  static final String CACHE_NAME = "recommendations";
+
+  private static final int STRIPES = 1024;
+
+  private final Cache<String, Entry> recommendations;
+
+  /** Invalidations per stripe of user emails. */
+  private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+  public RecommendationCache(
+      @Value("${app.recommendations.cache.ttl-seconds:600}") long ttlSeconds,
+      @Value("${app.recommendations.cache.max-size:10000}") long maxSize,
+      MeterRegistry meterRegistry) {
+    this.recommendations =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, recommendations, CACHE_NAME);
+  }
+
+  /**
+   * Returns the user's recommendations computed from {@code catalog}, running {@code loader} if
+   * there are none yet. The loader runs on the calling thread without holding any lock. A null from
+   * the loader is returned as is and not cached.
+   */
+  public RecommendationResponse get(
+      String userEmail, CatalogSnapshot catalog, Supplier<Recommendations> loader) {
+    Entry entry = recommendations.getIfPresent(userEmail);
+    if (entry != null && entry.catalog() == catalog) {
+      return entry.recommendations().response();
+    }
+    int stripe = stripe(userEmail);
+    long generation = generations.get(stripe);
+    Recommendations loaded = loader.get();
+    if (loaded == null) {
+      return null;
+    }
+    Entry computed = new Entry(loaded, catalog);
+    recommendations
+        .asMap()
+        .compute(
+            userEmail,
+            (email, current) ->
+                generations.get(stripe) != generation
+                        || (current != null && current.catalog() == catalog)
+                    ? current
+                    : computed);
+    return loaded.response();
+  }
+
+  public void evict(String userEmail) {
+    generations.incrementAndGet(stripe(userEmail));
+    recommendations.invalidate(userEmail);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onInputChanged(RecommendationInputChangedEvent event) {
+    evict(event.userEmail());
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onWatchProgressSaved(WatchProgressSavedEvent event) {
+    // A list being computed may have read the continue-watching series before this commit
+    generations.incrementAndGet(stripe(event.userEmail()));
+    recommendations
+        .asMap()
+        .computeIfPresent(
+            event.userEmail(),
+            (email, entry) ->
+                event.seriesId().equals(entry.recommendations().continueWatchingSeriesId())
+                    ? entry
+                    : null);
+  }
+
+  private static int stripe(String userEmail) {
+    int hash = userEmail.hashCode();
+    return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+  }
+
+  /**
+   * A computed recommendation list and the continue-watching series it leaves out, or null if the
+   * user has none.
+   */
+  public record Recommendations(RecommendationResponse response, UUID continueWatchingSeriesId) {}
+
+  private record Entry(Recommendations recommendations, CatalogSnapshot catalog) {}
+}
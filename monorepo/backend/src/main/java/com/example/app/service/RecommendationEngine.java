@@ -0,0 +1,78 @@
+package com.example.app.service;
+
+import com.example.app.model.Series;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ranks candidate series by the weighted sum of the {@link SeriesScorer} beans and keeps the best
+ * {@code app.recommendations.top-k}.
+ *
+ * <p>Selection uses a min-heap of at most k entries instead of sorting every candidate, so ranking
+ * n candidates takes O(n log k). Series with equal scores keep their order among the candidates.
+ */
+@Component
+public class RecommendationEngine {
+
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(RecommendationEngine.class);
+
+  private final SeriesScorer[] scorers;
+  private final double[] weights;
+  private final int topK;
+
+  public RecommendationEngine(
+      List<SeriesScorer> scorers, @Value("${app.recommendations.top-k:20}") int topK) {
+    if (topK < 1) {
+      throw new IllegalArgumentException("app.recommendations.top-k must be at least 1");
+    }
+    this.scorers = scorers.stream().filter(s -> s.weight() != 0).toArray(SeriesScorer[]::new);
+    this.weights = Arrays.stream(this.scorers).mapToDouble(SeriesScorer::weight).toArray();
+    this.topK = topK;
+    logger.info(
+        "Recommendation scorers: {}",
+        Arrays.stream(this.scorers).map(s -> s.name() + "=" + s.weight()).toList());
+  }
+
+  public double score(Series series, ScoringContext context) {
+    double score = 0;
+    for (int i = 0; i < scorers.length; i++) {
+      score += weights[i] * scorers[i].score(series, context);
+    }
+    return score;
+  }
+
+  /** The best-scoring candidates, highest first. */
+  public List<Series> topK(List<Series> candidates, ScoringContext context) {
+    PriorityQueue<Scored> heap = new PriorityQueue<>(Math.min(topK, candidates.size()) + 1);
+    for (int i = 0; i < candidates.size(); i++) {
+      Series series = candidates.get(i);
+      double score = score(series, context);
+      if (heap.size() < topK) {
+        heap.add(new Scored(series, score, i));
+      } else if (score > heap.peek().score()) {
+        // A later candidate with an equal score ranks lower, so it only replaces on a higher one
+        heap.poll();
+        heap.add(new Scored(series, score, i));
+      }
+    }
+    Series[] ranked = new Series[heap.size()];
+    for (int i = ranked.length - 1; i >= 0; i--) {
+      ranked[i] = heap.poll().series();
+    }
+    return List.of(ranked);
+  }
+
+  /** Ordered from worst to best, so that the head of the heap is the next to drop. */
+  private record Scored(Series series, double score, int index) implements Comparable<Scored> {
+
+    @Override
+    public int compareTo(Scored other) {
+      int byScore = Double.compare(score, other.score);
+      return byScore != 0 ? byScore : Integer.compare(other.index, index);
+    }
+  }
+}
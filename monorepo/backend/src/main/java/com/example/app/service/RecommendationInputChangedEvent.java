@@ -0,0 +1,8 @@
+package com.example.app.service;
+
+/**
+ * Published when something a user's recommendations are computed from has changed: their interests
+ * or interest weights, or the episodes they completed. {@link RecommendationCache} drops the user's
+ * entry after commit.
+ */
+public record RecommendationInputChangedEvent(String userEmail) {}
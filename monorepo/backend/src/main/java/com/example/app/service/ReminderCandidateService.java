@@ -0,0 +1,120 @@
+package com.example.app.service;
+
+import com.example.app.dto.RecommendationResponse;
+import com.example.app.dto.ReminderCandidate;
+import com.example.app.model.Episode;
+import com.example.app.model.Series;
+import com.example.app.model.User;
+import com.example.app.model.WatchHistory;
+import com.example.app.repository.UserRepository;
+import com.example.app.repository.WatchHistoryRepository;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Picks what the daily reminder of each user in a page should point at, with a fixed number of
+ * queries per page instead of per user.
+ *
+ * <p>The choice is the same as {@link WatchProgressService#getContinueWatching(String)} followed by
+ * the first entry of {@link SeriesService#getRecommendations(String)}: the latest incomplete
+ * episode if there is one, otherwise the first series {@link SeriesService#rank} puts on the home
+ * page, and then that series' first episode. Series and episodes come from the catalog snapshot.
+ */
+@Service
+public class ReminderCandidateService {
+
+  private final WatchHistoryRepository watchHistoryRepository;
+  private final UserRepository userRepository;
+  private final CatalogService catalogService;
+  private final SeriesService seriesService;
+
+  public ReminderCandidateService(
+      WatchHistoryRepository watchHistoryRepository,
+      UserRepository userRepository,
+      CatalogService catalogService,
+      SeriesService seriesService) {
+    this.watchHistoryRepository = watchHistoryRepository;
+    this.userRepository = userRepository;
+    this.catalogService = catalogService;
+    this.seriesService = seriesService;
+  }
+
+  /** Returns the reminder by email; users with nothing to recommend are left out. */
+  @Transactional(readOnly = true)
+  public Map<String, ReminderCandidate> findCandidates(Collection<String> emails) {
+    Map<String, ReminderCandidate> candidates = new HashMap<>();
+    if (emails.isEmpty()) {
+      return candidates;
+    }
+
+    CatalogSnapshot catalog = catalogService.snapshot();
+
+    // 1. Continue watching
+    // Series of a watch entry whose episode is gone are still excluded from recommendations
+    Map<String, UUID> excludedSeriesIds = new HashMap<>();
+    for (WatchHistory watchHistory :
+        watchHistoryRepository.findLatestIncompleteByUserEmailIn(emails)) {
+      Optional<Episode> episode = catalog.findEpisode(watchHistory.getEpisodeId());
+      if (episode.isPresent()) {
+        candidates.put(
+            watchHistory.getUserEmail(),
+            ReminderCandidate.resume(
+                WatchProgressService.toContinueWatching(watchHistory, episode.get())));
+      } else {
+        excludedSeriesIds.put(watchHistory.getUserEmail(), watchHistory.getSeriesId());
+      }
+    }
+
+    Set<String> remaining = new HashSet<>(emails);
+    remaining.removeAll(candidates.keySet());
+    if (remaining.isEmpty()) {
+      return candidates;
+    }
+
+    // 2. Recommendations for everyone else, ranked like the home page over the catalog snapshot
+    List<User> users = userRepository.findWithInterestsByEmailIn(remaining);
+    Map<String, Map<UUID, Long>> completedCounts = new HashMap<>();
+    for (WatchHistoryRepository.CompletedCount count :
+        watchHistoryRepository.countCompletedByUserEmailIn(remaining)) {
+      completedCounts
+          .computeIfAbsent(count.getUserEmail(), email -> new HashMap<>())
+          .put(count.getSeriesId(), count.getCompleted());
+    }
+
+    // 3. First episode of the first recommended series
+    for (User user : users) {
+      RecommendationResponse ranked =
+          seriesService.rank(
+              user,
+              completedCounts.getOrDefault(user.getEmail(), Map.of()),
+              excludedSeriesIds.get(user.getEmail()),
+              catalog);
+      Series series = first(ranked);
+      if (series == null) {
+        continue;
+      }
+      List<Episode> seriesEpisodes = catalog.episodesOf(series.getId());
+      if (!seriesEpisodes.isEmpty()) {
+        candidates.put(
+            user.getEmail(), ReminderCandidate.recommendation(series, seriesEpisodes.get(0)));
+      }
+    }
+    return candidates;
+  }
+
+  /** The first series the home page shows: the best recommendation, otherwise any other series. */
+  private static Series first(RecommendationResponse ranked) {
+    if (!ranked.getRecommended().isEmpty()) {
+      return ranked.getRecommended().get(0);
+    }
+    return ranked.getOthers().isEmpty() ? null : ranked.getOthers().get(0);
+  }
+}
@@ -0,0 +1,112 @@
+package com.example.app.service;
+
+import com.example.app.model.ReminderShard;
+import com.example.app.repository.ReminderShardRepository;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Splits the user id space of a reminder window into {@code app.reminders.shards.count} shards and
+ * hands them out to nodes under a lease of {@code app.reminders.shards.lease-seconds}.
+ *
+ * <p>Shard bounds follow the database's ordering of UUIDs (unsigned, most significant byte first),
+ * by dividing the first 64 bits evenly.
+ */
+@Service
+public class ReminderShardService {
+
+  private final ReminderShardRepository reminderShardRepository;
+  private final int shardCount;
+  private final Duration lease;
+  private final String nodeId;
+
+  public ReminderShardService(
+      ReminderShardRepository reminderShardRepository,
+      @Value("${app.reminders.shards.count:16}") int shardCount,
+      @Value("${app.reminders.shards.lease-seconds:300}") long leaseSeconds,
+      @Value("${app.reminders.node-id:}") String nodeId) {
+    this.reminderShardRepository = reminderShardRepository;
+    this.shardCount = shardCount;
+    this.lease = Duration.ofSeconds(leaseSeconds);
+    this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+  }
+
+  /**
+   * Creates the shards of the window unless they exist. When two nodes race, the unique constraint
+   * on (window_start, shard_index) makes one of them fail; its caller can go on and claim shards.
+   */
+  @Transactional
+  public void createShards(LocalDateTime windowStart) {
+    if (reminderShardRepository.existsByWindowStart(windowStart)) {
+      return;
+    }
+    List<ReminderShard> shards = new ArrayList<>(shardCount);
+    for (int i = 0; i < shardCount; i++) {
+      shards.add(
+          new ReminderShard(windowStart, i, lowerBound(i, shardCount), upperBound(i, shardCount)));
+    }
+    reminderShardRepository.saveAll(shards);
+  }
+
+  /**
+   * Leases the next shard of a window starting at or after {@code since} that is pending and not
+   * leased by a live node, including shards abandoned by a node whose lease ran out. The lease is
+   * committed before returning.
+   */
+  @Transactional
+  public Optional<ReminderShard> claim(LocalDateTime since) {
+    LocalDateTime now = LocalDateTime.now();
+    Optional<ReminderShard> shard = reminderShardRepository.lockClaimable(since, now);
+    shard.ifPresent(claimed -> claimed.lease(nodeId, now.plus(lease)));
+    return shard;
+  }
+
+  /**
+   * Records that every user up to {@code lastUserId} has been processed and extends the lease.
+   *
+   * @return false if the lease was lost to another node, which then owns the rest of the shard
+   */
+  public boolean checkpoint(ReminderShard shard, UUID lastUserId) {
+    return reminderShardRepository.checkpoint(
+            shard.getId(), nodeId, lastUserId, LocalDateTime.now().plus(lease))
+        > 0;
+  }
+
+  public void complete(ReminderShard shard) {
+    reminderShardRepository.complete(shard.getId(), nodeId);
+  }
+
+  /** Returns the start of the newest window that has shards, if any. */
+  public Optional<LocalDateTime> latestWindowStart() {
+    return reminderShardRepository.findLatestWindowStart();
+  }
+
+  public int deleteWindowsBefore(LocalDateTime windowStart) {
+    return reminderShardRepository.deleteByWindowStartBefore(windowStart);
+  }
+
+  static UUID lowerBound(int index, int count) {
+    return new UUID(startOf(index, count), 0L);
+  }
+
+  static UUID upperBound(int index, int count) {
+    return index == count - 1 ? new UUID(-1L, -1L) : new UUID(startOf(index + 1, count) - 1, -1L);
+  }
+
+  /** {@code index * 2^64 / count} as an unsigned 64-bit value. */
+  private static long startOf(int index, int count) {
+    return BigInteger.ONE
+        .shiftLeft(64)
+        .multiply(BigInteger.valueOf(index))
+        .divide(BigInteger.valueOf(count))
+        .longValue();
+  }
+}
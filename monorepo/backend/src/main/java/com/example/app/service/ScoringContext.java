@@ -0,0 +1,18 @@
+package com.example.app.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * What a {@link SeriesScorer} may look at besides the series: the user's interest weights,
+ * completed episodes per series and {@link CoCompletions#affinity affinity} through co-completions,
+ * the catalog and the series signals, all as of {@code now}.
+ */
+public record ScoringContext(
+    Map<String, Integer> interestWeights,
+    Map<UUID, Long> completedCounts,
+    Map<UUID, Double> coCompletionAffinity,
+    CatalogSnapshot catalog,
+    SeriesSignals signals,
+    LocalDateTime now) {}
@@ -0,0 +1,38 @@
+package com.example.app.service;
+
+import com.example.app.model.Series;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * One signal of the recommendation score. {@link RecommendationEngine} ranks series by the sum of
+ * every scorer bean's score times its weight; a scorer with weight 0 is skipped.
+ */
+public interface SeriesScorer {
+
+  String name();
+
+  double weight();
+
+  /** Score of the series for the user, between -1 and 1; 0 is neutral. */
+  double score(Series series, ScoringContext context);
+
+  static SeriesScorer of(
+      String name, double weight, ToDoubleBiFunction<Series, ScoringContext> score) {
+    return new SeriesScorer() {
+      @Override
+      public String name() {
+        return name;
+      }
+
+      @Override
+      public double weight() {
+        return weight;
+      }
+
+      @Override
+      public double score(Series series, ScoringContext context) {
+        return score.applyAsDouble(series, context);
+      }
+    };
+  }
+}
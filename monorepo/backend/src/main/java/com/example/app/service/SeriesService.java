@@ -1,16 +1,19 @@
 package com.example.app.service;
 
+import com.example.app.config.SingleFlightConfig;
 import com.example.app.dto.RecommendationResponse;
+import com.example.app.model.Episode;
 import com.example.app.model.Series;
 import com.example.app.model.User;
 import com.example.app.model.WatchHistory;
-import com.example.app.repository.EpisodeRepository;
-import com.example.app.repository.SeriesRepository;
 import com.example.app.repository.UserRepository;
 import com.example.app.repository.WatchHistoryRepository;
+import com.example.app.util.SingleFlight;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -18,103 +21,154 @@ public class SeriesService {
 
   @Autowired private UserRepository userRepository;
 
-  @Autowired private SeriesRepository seriesRepository;
+  @Autowired private CatalogService catalogService;
 
   @Autowired private WatchHistoryRepository watchHistoryRepository;
 
-  @Autowired private EpisodeRepository episodeRepository;
+  @Autowired private RecommendationCache recommendationCache;
+
+  @Autowired private RecommendationEngine recommendationEngine;
+
+  @Autowired private SeriesSignalsService seriesSignalsService;
+
+  @Autowired private CoCompletionService coCompletionService;
+
+  @Autowired
+  @Qualifier(SingleFlightConfig.RECOMMENDATIONS)
+  private SingleFlight<String, RecommendationResponse> recommendationsFlight;
+
+  @Autowired
+  @Qualifier(SingleFlightConfig.EPISODES)
+  private SingleFlight<UUID, List<Episode>> episodesFlight;
 
   public RecommendationResponse getRecommendations(String email) {
-    Optional<User> userOpt = userRepository.findByEmail(email);
+    return recommendationsFlight.execute(
+        email,
+        () -> {
+          CatalogSnapshot catalog = catalogService.snapshot();
+          RecommendationResponse cached =
+              recommendationCache.get(email, catalog, () -> computeRecommendations(email, catalog));
+          return cached != null ? cached : new RecommendationResponse(List.of(), List.of());
+        });
+  }
+
+  /** Returns null for an unknown user, so that nothing is cached until they sign up. */
+  private RecommendationCache.Recommendations computeRecommendations(
+      String email, CatalogSnapshot catalog) {
+    Optional<User> userOpt = userRepository.findWithInterestsByEmail(email);
     if (userOpt.isEmpty()) {
-      return new RecommendationResponse(List.of(), List.of());
+      return null;
     }
 
     User user = userOpt.get();
     Set<String> interests = user.getInterests();
 
     // Get the series ID from Continue Watching to exclude it from recommendations
-    UUID continueWatchingSeriesId = null;
-    Optional<WatchHistory> continueWatching =
-        watchHistoryRepository.findTop1ByUserEmailAndIsCompletedFalseOrderByLastWatchedAtDesc(
-            email);
-    if (continueWatching.isPresent()) {
-      continueWatchingSeriesId = continueWatching.get().getSeriesId();
-    }
-    final UUID excludeSeriesId = continueWatchingSeriesId;
+    UUID excludeSeriesId =
+        watchHistoryRepository
+            .findTop1ByUserEmailAndIsCompletedFalseOrderByLastWatchedAtDesc(email)
+            .map(WatchHistory::getSeriesId)
+            .orElse(null);
 
-    if (interests == null || interests.isEmpty()) {
-      List<Series> all = seriesRepository.findAll();
-      // Exclude continue watching series
-      if (excludeSeriesId != null) {
-        all =
-            all.stream()
-                .filter(series -> !series.getId().equals(excludeSeriesId))
-                .collect(Collectors.toList());
-      }
-      return new RecommendationResponse(List.of(), all);
-    }
+    // Completed episodes per series in one grouped query; only ranking reads them
+    Map<UUID, Long> completedCounts =
+        interests == null || interests.isEmpty()
+            ? Map.of()
+            : watchHistoryRepository.countCompletedByUserEmailIn(List.of(email)).stream()
+                .collect(
+                    Collectors.toMap(
+                        WatchHistoryRepository.CompletedCount::getSeriesId,
+                        WatchHistoryRepository.CompletedCount::getCompleted));
+
+    return new RecommendationCache.Recommendations(
+        rank(user, completedCounts, excludeSeriesId, catalog), excludeSeriesId);
+  }
 
-    // 1. Fetch matching series
-    List<Series> matchingSeries = seriesRepository.findByCategoryIn(interests);
+  /**
+   * Ranks the catalog for a user: the best-scoring series in their interests or finished by users
+   * who finished the same ones, then the rest in catalog order, including matches beyond the top
+   * k, leaving out the series they completed and {@code excludeSeriesId}. {@link
+   * ReminderCandidateService} ranks with this too, so that the daily reminder points at the first
+   * series on the home page.
+   *
+   * @param user with interests and interest weights loaded
+   * @param completedCounts completed episodes per series of the user
+   * @param excludeSeriesId the series the user is watching, or null
+   */
+  public RecommendationResponse rank(
+      User user, Map<UUID, Long> completedCounts, UUID excludeSeriesId, CatalogSnapshot catalog) {
+    Set<String> interests = user.getInterests();
 
-    // 2. Filter out 100% completed series
-    // Optimization: Fetch all watch history for user once
-    List<WatchHistory> userHistory =
-        watchHistoryRepository.findByUserEmailAndIsCompletedTrue(email);
+    // Filters are bitwise operations on the catalog's dense series ids, in catalog order
+    CategoryIndex index = catalog.categoryIndex();
+    BitSet continueWatchingIds =
+        excludeSeriesId != null ? index.ofSeries(List.of(excludeSeriesId)) : new BitSet();
 
-    // Map seriesId -> count of completed episodes
-    Map<UUID, Long> completedCounts =
-        userHistory.stream()
-            .collect(Collectors.groupingBy(WatchHistory::getSeriesId, Collectors.counting()));
+    if (interests == null || interests.isEmpty()) {
+      // Exclude continue watching series
+      BitSet all = index.all();
+      all.andNot(continueWatchingIds);
+      return new RecommendationResponse(List.of(), index.seriesOf(all));
+    }
 
+    // 1. Completed series, with episode counts from the catalog snapshot
+    List<UUID> completedSeriesIds =
+        completedCounts.entrySet().stream()
+            .filter(entry -> isSeriesCompleted(catalog, entry.getKey(), entry.getValue()))
+            .map(Map.Entry::getKey)
+            .toList();
+
+    // Series finished by users who finished the same ones, also from outside the interests
+    Map<UUID, Double> coCompletionAffinity =
+        coCompletionService.coCompletions().affinity(completedSeriesIds);
+
+    // 2. Matching and co-completed series, minus 100% completed ones and the series from
+    // Continue Watching
+    BitSet candidateIds = index.inCategories(interests);
+    candidateIds.or(index.ofSeries(coCompletionAffinity.keySet()));
+    candidateIds.andNot(index.ofSeries(completedSeriesIds));
+    candidateIds.andNot(continueWatchingIds);
+
+    // Best-scoring candidates first (interest weight, rating, popularity, recency, completion,
+    // co-completion)
     List<Series> filteredRecommended =
-        matchingSeries.stream()
-            .sorted(
-                (s1, s2) -> {
-                  int w1 = user.getInterestWeights().getOrDefault(s1.getCategory(), 0);
-                  int w2 = user.getInterestWeights().getOrDefault(s2.getCategory(), 0);
-                  return Integer.compare(w2, w1); // Descending order
-                })
-            .filter(
-                series ->
-                    !isSeriesCompleted(series, completedCounts.getOrDefault(series.getId(), 0L)))
-            // Exclude the series from Continue Watching
-            .filter(series -> excludeSeriesId == null || !series.getId().equals(excludeSeriesId))
-            .collect(Collectors.toList());
-
-    // 3. Fetch "others" (not in interests)
-    List<Series> otherSeries = seriesRepository.findByCategoryNotIn(interests);
-    // Also exclude continue watching series from "others"
-    if (excludeSeriesId != null) {
-      otherSeries =
-          otherSeries.stream()
-              .filter(series -> !series.getId().equals(excludeSeriesId))
-              .collect(Collectors.toList());
-    }
+        recommendationEngine.topK(
+            index.seriesOf(candidateIds),
+            new ScoringContext(
+                Map.copyOf(user.getInterestWeights()),
+                completedCounts,
+                coCompletionAffinity,
+                catalog,
+                seriesSignalsService.signals(),
+                LocalDateTime.now()));
+
+    // 3. "Others" (not in interests) and the candidates that missed the top k, also without the
+    // continue watching series and the co-completed series that were recommended
+    BitSet otherIds = index.notInCategories(interests);
+    otherIds.or(candidateIds);
+    otherIds.andNot(continueWatchingIds);
+    otherIds.andNot(index.ofSeries(filteredRecommended.stream().map(Series::getId).toList()));
+    List<Series> otherSeries = index.seriesOf(otherIds);
 
     return new RecommendationResponse(filteredRecommended, otherSeries);
   }
 
-  public List<com.example.app.model.Episode> getEpisodesForSeries(UUID seriesId) {
-    return episodeRepository.findBySeriesIdOrderBySequenceNumberAsc(seriesId);
+  public List<Episode> getEpisodesForSeries(UUID seriesId) {
+    return episodesFlight.execute(seriesId, () -> catalogService.episodesOf(seriesId));
   }
 
-  private boolean isSeriesCompleted(Series series, long userCompletedCount) {
+  private boolean isSeriesCompleted(
+      CatalogSnapshot catalog, UUID seriesId, long userCompletedCount) {
     if (userCompletedCount == 0) return false;
 
-    // This is N+1, but assuming small number of recommended series, it's acceptable
-    // for now.
-    // Better: Pre-fetch episode counts for all candidate series.
-    long totalEpisodes =
-        episodeRepository.findBySeriesIdOrderBySequenceNumberAsc(series.getId()).size();
+    long totalEpisodes = catalog.episodeCount(seriesId);
 
     return totalEpisodes > 0 && userCompletedCount >= totalEpisodes;
   }
 
   public Series getSeriesById(UUID id) {
-    return seriesRepository
-        .findById(id)
+    return catalogService
+        .findSeries(id)
         .orElseThrow(() -> new RuntimeException("Series not found"));
   }
 }
@@ -0,0 +1,39 @@
+package com.example.app.service;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * How series are received across all users at one point in time: their reviews and how many users
+ * watched them. Built by {@link SeriesSignalsService} and read by the recommendation scorers.
+ */
+public final class SeriesSignals {
+
+  public static final SeriesSignals EMPTY = new SeriesSignals(Map.of());
+
+  /** Signals of a series nobody reviewed or watched. */
+  public static final Stats NONE = new Stats(0, Double.NaN, 0);
+
+  private final Map<UUID, Stats> stats;
+  private final long maxViewers;
+
+  public SeriesSignals(Map<UUID, Stats> stats) {
+    this.stats = Map.copyOf(stats);
+    this.maxViewers = stats.values().stream().mapToLong(Stats::viewers).max().orElse(0);
+  }
+
+  /** Signals of the series, in one lookup; {@link #NONE} for a series without any. */
+  public Stats of(UUID seriesId) {
+    return stats.getOrDefault(seriesId, NONE);
+  }
+
+  /** Viewers of the most watched series. */
+  public long maxViewers() {
+    return maxViewers;
+  }
+
+  /**
+   * @param averageRating average over {@code reviews}, NaN if there are none
+   */
+  public record Stats(long reviews, double averageRating, long viewers) {}
+}
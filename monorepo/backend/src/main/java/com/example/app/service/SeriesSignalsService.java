@@ -0,0 +1,76 @@
+package com.example.app.service;
+
+import com.example.app.repository.SeriesReviewRepository;
+import com.example.app.repository.WatchHistoryRepository;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Holds the current {@link SeriesSignals}. They are aggregated over every review and watch, so they
+ * are loaded on first use and then reloaded every {@code app.recommendations.signals.refresh-ms}
+ * rather than kept up to date with each change.
+ */
+@Service
+public class SeriesSignalsService {
+
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(SeriesSignalsService.class);
+
+  private final SeriesReviewRepository seriesReviewRepository;
+  private final WatchHistoryRepository watchHistoryRepository;
+
+  private volatile SeriesSignals signals;
+
+  public SeriesSignalsService(
+      SeriesReviewRepository seriesReviewRepository,
+      WatchHistoryRepository watchHistoryRepository) {
+    this.seriesReviewRepository = seriesReviewRepository;
+    this.watchHistoryRepository = watchHistoryRepository;
+  }
+
+  public SeriesSignals signals() {
+    SeriesSignals current = signals;
+    if (current != null) {
+      return current;
+    }
+    synchronized (this) {
+      if (signals == null) {
+        refresh();
+      }
+      return signals;
+    }
+  }
+
+  public synchronized void refresh() {
+    Map<UUID, SeriesSignals.Stats> stats = new HashMap<>();
+    for (SeriesReviewRepository.RatingSummary summary :
+        seriesReviewRepository.summarizeRatingsPerSeries()) {
+      double averageRating = (double) summary.getRatingSum() / summary.getReviews();
+      stats.put(
+          summary.getSeriesId(), new SeriesSignals.Stats(summary.getReviews(), averageRating, 0));
+    }
+    for (WatchHistoryRepository.ViewerCount count :
+        watchHistoryRepository.countViewersPerSeries()) {
+      SeriesSignals.Stats reviewed = stats.getOrDefault(count.getSeriesId(), SeriesSignals.NONE);
+      stats.put(
+          count.getSeriesId(),
+          new SeriesSignals.Stats(
+              reviewed.reviews(), reviewed.averageRating(), count.getViewers()));
+    }
+    signals = new SeriesSignals(stats);
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.recommendations.signals.refresh-ms:600000}",
+      fixedDelayString = "${app.recommendations.signals.refresh-ms:600000}")
+  public void refreshPeriodically() {
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      logger.error("Failed to reload series signals", e);
+    }
+  }
+}
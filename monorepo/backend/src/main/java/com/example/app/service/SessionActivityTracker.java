@@ -0,0 +1,88 @@
+package com.example.app.service;
+
+import com.example.app.repository.SessionRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sliding renewal for opaque sessions ({@code app.auth.session.sliding-renewal=true}).
+ *
+ * <p>Authenticated requests only record the token hash in memory; a scheduled flush then extends
+ * every session seen since the previous flush with a few bulk updates. A session used by many
+ * requests is therefore written at most once per flush interval, and requests never wait on the
+ * write. Activity that has not been flushed when the node stops is lost, which at worst lets the
+ * session expire one flush interval early.
+ */
+@Component
+public class SessionActivityTracker {
+
+  static final int FLUSH_BATCH_SIZE = 500;
+
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(SessionActivityTracker.class);
+
+  private final boolean enabled;
+  private final long sessionTtlHours;
+  private final SessionRepository sessionRepository;
+  private final Set<String> seenTokenHashes = ConcurrentHashMap.newKeySet();
+
+  public SessionActivityTracker(
+      @Value("${app.auth.session.sliding-renewal:false}") boolean enabled,
+      @Value("${app.auth.session-ttl-hours:168}") long sessionTtlHours,
+      SessionRepository sessionRepository) {
+    this.enabled = enabled;
+    this.sessionTtlHours = sessionTtlHours;
+    this.sessionRepository = sessionRepository;
+  }
+
+  public void touch(String tokenHash) {
+    if (enabled) {
+      seenTokenHashes.add(tokenHash);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.auth.session.activity-flush-ms:60000}")
+  public void flush() {
+    if (seenTokenHashes.isEmpty()) {
+      return;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime expiresAt = now.plusHours(sessionTtlHours);
+    List<String> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+    int renewed = 0;
+    // Removing while draining lets requests keep adding hashes for the next flush
+    for (Iterator<String> it = seenTokenHashes.iterator(); it.hasNext(); ) {
+      batch.add(it.next());
+      it.remove();
+      if (batch.size() == FLUSH_BATCH_SIZE) {
+        renewed += renew(batch, now, expiresAt);
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) {
+      renewed += renew(batch, now, expiresAt);
+    }
+    logger.debug("Renewed {} active sessions", renewed);
+  }
+
+  private int renew(List<String> tokenHashes, LocalDateTime now, LocalDateTime expiresAt) {
+    try {
+      return sessionRepository.renew(tokenHashes, now, expiresAt);
+    } catch (Exception e) {
+      // Dropped renewals only shorten sessions; the next request records them again
+      logger.error("Failed to renew {} sessions", tokenHashes.size(), e);
+      return 0;
+    }
+  }
+
+  int pendingCount() {
+    return seenTokenHashes.size();
+  }
+}
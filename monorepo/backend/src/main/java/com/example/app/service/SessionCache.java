@@ -0,0 +1,123 @@
+package com.example.app.service;
+
+import com.example.app.dto.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Node-local cache of session principals keyed by token hash, so that {@link
+ * AuthService#authenticate(String)} does not hit the database on every API request.
+ *
+ * <p>Only sessions that exist are cached; unknown tokens always fall through to the repository. An
+ * entry never outlives the session it was loaded from, so expiry is enforced without a lookup.
+ * Hit/miss statistics are published under the {@code cache.*} meters with {@code cache=sessions}.
+ */
+@Component
+public class SessionCache {
+
+  static final String CACHE_NAME = "sessions";
+
+  private final Cache<String, AuthenticatedUser> sessions;
+
+  public SessionCache(
+      @Value("${app.auth.session-cache.ttl-seconds:300}") long ttlSeconds,
+      @Value("${app.auth.session-cache.max-size:10000}") long maxSize,
+      MeterRegistry meterRegistry) {
+    this.sessions =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new SessionExpiry(Duration.ofSeconds(ttlSeconds).toNanos()))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, sessions, CACHE_NAME);
+  }
+
+  /**
+   * Returns the cached principal for the token hash, loading it with {@code loader} on a miss.
+   * Concurrent misses for the same hash share a single load.
+   */
+  public Optional<AuthenticatedUser> get(
+      String tokenHash, Function<String, Optional<AuthenticatedUser>> loader) {
+    return Optional.ofNullable(sessions.get(tokenHash, key -> loader.apply(key).orElse(null)));
+  }
+
+  /**
+   * Removes the session from the cache. When called inside a transaction the entry is evicted again
+   * after completion, so a load that raced with the uncommitted delete cannot leave the revoked
+   * session behind.
+   */
+  public void evict(String tokenHash) {
+    evictNowAndAfterCompletion(() -> sessions.invalidate(tokenHash));
+  }
+
+  /** Drops every cached session of the user, e.g. after their profile changed. */
+  public void evictUser(UUID userId) {
+    if (userId == null) {
+      return;
+    }
+    evictNowAndAfterCompletion(
+        () -> sessions.asMap().values().removeIf(principal -> userId.equals(principal.id())));
+  }
+
+  private void evictNowAndAfterCompletion(Runnable eviction) {
+    eviction.run();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              eviction.run();
+            }
+          });
+    }
+  }
+
+  long size() {
+    sessions.cleanUp();
+    return sessions.estimatedSize();
+  }
+
+  /** Expires entries after the cache TTL or when the session itself expires, whichever is first. */
+  private static final class SessionExpiry implements Expiry<String, AuthenticatedUser> {
+
+    private final long ttlNanos;
+
+    SessionExpiry(long ttlNanos) {
+      this.ttlNanos = ttlNanos;
+    }
+
+    @Override
+    public long expireAfterCreate(String tokenHash, AuthenticatedUser principal, long currentTime) {
+      LocalDateTime sessionExpiresAt = principal.sessionExpiresAt();
+      if (sessionExpiresAt == null) {
+        return ttlNanos;
+      }
+      long untilSessionExpiry = Duration.between(LocalDateTime.now(), sessionExpiresAt).toNanos();
+      return Math.max(0, Math.min(ttlNanos, untilSessionExpiry));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String tokenHash, AuthenticatedUser principal, long currentTime, long currentDuration) {
+      return expireAfterCreate(tokenHash, principal, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String tokenHash, AuthenticatedUser principal, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
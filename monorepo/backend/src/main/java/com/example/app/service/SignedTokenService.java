@@ -0,0 +1,199 @@
+package com.example.app.service;
+
+import com.example.app.model.Session;
+import com.example.app.repository.SessionRepository;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Issues and verifies HMAC-signed session tokens for {@code app.auth.token-mode=signed}.
+ *
+ * <p>A token is {@code base64url(payload) + "." + base64url(HMAC-SHA256(payload))}, where the
+ * payload carries the session id, user id, issue and expiry time, and the email. Verification needs
+ * no database access; revoked sessions are tracked in memory and refreshed periodically from the
+ * {@code sessions} table so that a logout on another node is honoured within one refresh interval.
+ * Whether the user has picked interests is not in the token, since it changes during a session.
+ */
+@Service
+public class SignedTokenService {
+
+  static final String MODE_SIGNED = "signed";
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+  private static final int MIN_SECRET_BYTES = 32;
+
+  /** Session id, user id, issued-at and expires-at; the email follows. */
+  private static final int HEADER_BYTES = 16 + 16 + 8 + 8;
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(SignedTokenService.class);
+
+  private final boolean enabled;
+  private final long sessionTtlHours;
+  private final SessionRepository sessionRepository;
+  private final ThreadLocal<Mac> macs;
+
+  /** Token hash of revoked session -> time it was first seen revoked on this node. */
+  private final Map<String, Instant> revokedTokenHashes = new ConcurrentHashMap<>();
+
+  public SignedTokenService(
+      @Value("${app.auth.token-mode:opaque}") String tokenMode,
+      @Value("${app.auth.signed-token.secret:}") String secret,
+      @Value("${app.auth.session-ttl-hours:168}") long sessionTtlHours,
+      SessionRepository sessionRepository) {
+    this.enabled = MODE_SIGNED.equalsIgnoreCase(tokenMode);
+    this.sessionTtlHours = sessionTtlHours;
+    this.sessionRepository = sessionRepository;
+
+    byte[] key = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+    if (enabled && key.length < MIN_SECRET_BYTES) {
+      throw new IllegalStateException(
+          "app.auth.signed-token.secret must be at least "
+              + MIN_SECRET_BYTES
+              + " bytes when app.auth.token-mode=signed");
+    }
+    SecretKeySpec keySpec = enabled ? new SecretKeySpec(key, HMAC_ALGORITHM) : null;
+    this.macs =
+        ThreadLocal.withInitial(
+            () -> {
+              try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(keySpec);
+                return mac;
+              } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 not supported", e);
+              }
+            });
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public String issue(UUID sessionId, UUID userId, String email) {
+    return issue(sessionId, userId, email, Instant.now());
+  }
+
+  String issue(UUID sessionId, UUID userId, String email, Instant issuedAt) {
+    byte[] emailBytes = email.getBytes(StandardCharsets.UTF_8);
+    Instant expiresAt = issuedAt.plus(sessionTtlHours, ChronoUnit.HOURS);
+    ByteBuffer payload = ByteBuffer.allocate(HEADER_BYTES + emailBytes.length);
+    payload.putLong(sessionId.getMostSignificantBits());
+    payload.putLong(sessionId.getLeastSignificantBits());
+    payload.putLong(userId.getMostSignificantBits());
+    payload.putLong(userId.getLeastSignificantBits());
+    payload.putLong(issuedAt.getEpochSecond());
+    payload.putLong(expiresAt.getEpochSecond());
+    payload.put(emailBytes);
+
+    String encodedPayload = ENCODER.encodeToString(payload.array());
+    return encodedPayload + "." + ENCODER.encodeToString(sign(encodedPayload));
+  }
+
+  /**
+   * Returns the claims of a token whose signature is valid, that has not expired and whose session
+   * has not been revoked.
+   */
+  public Optional<SessionClaims> verify(String token) {
+    return verifySignature(token)
+        .filter(claims -> claims.expiresAt().isAfter(Instant.now()))
+        .filter(claims -> !revokedTokenHashes.containsKey(claims.tokenHash()));
+  }
+
+  /** Checks only the signature, so that logout also works for already expired tokens. */
+  public Optional<SessionClaims> verifySignature(String token) {
+    if (!enabled || token == null) {
+      return Optional.empty();
+    }
+    int dot = token.indexOf('.');
+    if (dot <= 0 || dot != token.lastIndexOf('.')) {
+      return Optional.empty();
+    }
+    try {
+      String encodedPayload = token.substring(0, dot);
+      byte[] signature = DECODER.decode(token.substring(dot + 1));
+      if (!MessageDigest.isEqual(signature, sign(encodedPayload))) {
+        return Optional.empty();
+      }
+
+      ByteBuffer payload = ByteBuffer.wrap(DECODER.decode(encodedPayload));
+      if (payload.remaining() <= HEADER_BYTES) {
+        return Optional.empty();
+      }
+      UUID sessionId = new UUID(payload.getLong(), payload.getLong());
+      UUID userId = new UUID(payload.getLong(), payload.getLong());
+      Instant issuedAt = Instant.ofEpochSecond(payload.getLong());
+      Instant expiresAt = Instant.ofEpochSecond(payload.getLong());
+      String email =
+          new String(
+              payload.array(), payload.position(), payload.remaining(), StandardCharsets.UTF_8);
+      return Optional.of(new SessionClaims(sessionId, userId, email, issuedAt, expiresAt));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  /** Marks the session revoked on this node; other nodes learn about it on their next refresh. */
+  public void revoke(String tokenHash) {
+    revokedTokenHashes.put(tokenHash, Instant.now());
+  }
+
+  @Scheduled(fixedDelayString = "${app.auth.signed-token.revocation-refresh-ms:30000}")
+  public void refreshRevocations() {
+    if (!enabled) {
+      return;
+    }
+    Instant now = Instant.now();
+    Instant oldestLiveToken = now.minus(sessionTtlHours, ChronoUnit.HOURS);
+    try {
+      // Tokens issued before the TTL window are rejected as expired anyway
+      for (String tokenHash :
+          sessionRepository.findRevokedTokenHashesCreatedAfter(
+              LocalDateTime.now().minusHours(sessionTtlHours))) {
+        revokedTokenHashes.putIfAbsent(tokenHash, now);
+      }
+      revokedTokenHashes.values().removeIf(revokedAt -> revokedAt.isBefore(oldestLiveToken));
+    } catch (Exception e) {
+      logger.error("Failed to refresh revoked session tokens", e);
+    }
+  }
+
+  int revokedCount() {
+    return revokedTokenHashes.size();
+  }
+
+  private byte[] sign(String encodedPayload) {
+    return macs.get().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /** Claims carried by a signed session token. */
+  public record SessionClaims(
+      UUID sessionId,
+      UUID userId,
+      String email,
+      Instant issuedAt,
+      Instant expiresAt) {
+
+    /** Hash under which the session row is stored, see {@link Session#hashToken(String)}. */
+    public String tokenHash() {
+      return Session.hashToken(sessionId.toString());
+    }
+  }
+}
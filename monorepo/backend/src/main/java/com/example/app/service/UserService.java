@@ -2,10 +2,12 @@ package com.example.app.service;
 
 import com.example.app.model.User;
 import com.example.app.repository.UserRepository;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +16,10 @@ public class UserService {
 
   @Autowired private UserRepository userRepository;
 
+  @Autowired private SessionCache sessionCache;
+
+  @Autowired private ApplicationEventPublisher eventPublisher;
+
   // Hardcoded list of interests for now. In a real app, this might come from a DB
   // table.
   private static final List<String> AVAILABLE_INTERESTS =
@@ -39,8 +45,22 @@ public class UserService {
       // Validate interests against available list if needed, or just save
       user.setInterests(interests);
       userRepository.save(user); // JPA ElementCollection will update automatically
+      // Cached sessions carry the user's interests (e.g. for /api/auth/me)
+      sessionCache.evictUser(user.getId());
+      eventPublisher.publishEvent(new RecommendationInputChangedEvent(email));
     } else {
       throw new IllegalArgumentException("User not found with email: " + email);
     }
   }
+
+  /** Sets the zone the user's daily reminder is sent in, at 9:00 local time. */
+  @Transactional
+  public void updateTimeZone(String email, ZoneId timeZone) {
+    User user =
+        userRepository
+            .findByEmail(email)
+            .orElseThrow(() -> new IllegalArgumentException("User not found with email: " + email));
+    user.setTimeZone(timeZone.getId());
+    userRepository.save(user);
+  }
 }
@@ -0,0 +1,10 @@
+package com.example.app.service;
+
+import java.util.UUID;
+
+/**
+ * Published when a user's progress in an episode of {@code seriesId} was saved, which makes that
+ * series their continue-watching entry unless the episode is already completed. {@link
+ * RecommendationCache} drops the user's entry after commit if it excluded another series.
+ */
+public record WatchProgressSavedEvent(String userEmail, UUID seriesId) {}
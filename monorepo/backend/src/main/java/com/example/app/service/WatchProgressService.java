@@ -1,34 +1,51 @@
 package com.example.app.service;
 
+import com.example.app.config.SingleFlightConfig;
 import com.example.app.dto.ContinueWatchingResponse;
 import com.example.app.exception.ResourceNotFoundException;
 import com.example.app.model.Episode;
 import com.example.app.model.Series;
 import com.example.app.model.WatchHistory;
-import com.example.app.repository.EpisodeRepository;
 import com.example.app.repository.WatchHistoryRepository;
+import com.example.app.util.SingleFlight;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
 public class WatchProgressService {
 
   private final WatchHistoryRepository watchHistoryRepository;
-  private final EpisodeRepository episodeRepository;
+  private final CatalogService catalogService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final SingleFlight<String, Optional<ContinueWatchingResponse>> continueWatchingFlight;
 
   public WatchProgressService(
-      WatchHistoryRepository watchHistoryRepository, EpisodeRepository episodeRepository) {
+      WatchHistoryRepository watchHistoryRepository,
+      CatalogService catalogService,
+      ApplicationEventPublisher eventPublisher,
+      @Qualifier(SingleFlightConfig.CONTINUE_WATCHING)
+          SingleFlight<String, Optional<ContinueWatchingResponse>> continueWatchingFlight) {
     this.watchHistoryRepository = watchHistoryRepository;
-    this.episodeRepository = episodeRepository;
+    this.catalogService = catalogService;
+    this.eventPublisher = eventPublisher;
+    this.continueWatchingFlight = continueWatchingFlight;
   }
 
-  @org.springframework.transaction.annotation.Transactional(readOnly = true)
+  // Not transactional: callers coalesced into a call in flight would each hold a transaction
+  // while they wait. The episode comes from the catalog snapshot or a query that fetches its
+  // series.
   public Optional<ContinueWatchingResponse> getContinueWatching(String userEmail) {
-    Optional<WatchHistory> incompleteWatch = watchHistoryRepository
-        .findTop1ByUserEmailAndIsCompletedFalseOrderByLastWatchedAtDesc(
+    return continueWatchingFlight.execute(userEmail, () -> findContinueWatching(userEmail));
+  }
+
+  private Optional<ContinueWatchingResponse> findContinueWatching(String userEmail) {
+    Optional<WatchHistory> incompleteWatch =
+        watchHistoryRepository.findTop1ByUserEmailAndIsCompletedFalseOrderByLastWatchedAtDesc(
             userEmail);
 
     if (incompleteWatch.isEmpty()) {
@@ -36,16 +53,18 @@ public class WatchProgressService {
     }
 
     WatchHistory watchHistory = incompleteWatch.get();
-    Optional<Episode> episode = episodeRepository.findById(watchHistory.getEpisodeId());
+    Optional<Episode> episode = catalogService.findEpisode(watchHistory.getEpisodeId());
 
     if (episode.isEmpty()) {
       return Optional.empty();
     }
 
-    Episode ep = episode.get();
-    Series series = ep.getSeries();
+    return Optional.of(toContinueWatching(watchHistory, episode.get()));
+  }
 
-    ContinueWatchingResponse response = new ContinueWatchingResponse(
+  static ContinueWatchingResponse toContinueWatching(WatchHistory watchHistory, Episode ep) {
+    Series series = ep.getSeries();
+    return new ContinueWatchingResponse(
         series.getId(),
         series.getTitle(),
         series.getThumbnailUrl(),
@@ -57,8 +76,6 @@ public class WatchProgressService {
         ep.getVideoUrl(),
         watchHistory.getProgressSeconds(),
         watchHistory.getLastWatchedAt());
-
-    return Optional.of(response);
   }
 
   public void saveProgress(String userEmail, UUID episodeId, Integer progressSeconds) {
@@ -66,13 +83,15 @@ public class WatchProgressService {
       progressSeconds = 0;
     }
 
-    Optional<WatchHistory> existing = watchHistoryRepository.findByUserEmailAndEpisodeId(userEmail, episodeId);
+    Optional<WatchHistory> existing =
+        watchHistoryRepository.findByUserEmailAndEpisodeId(userEmail, episodeId);
 
     // Fetch episode to get duration for clamping
-    Episode episode = episodeRepository
-        .findById(episodeId)
-        .orElseThrow(
-            () -> new ResourceNotFoundException("Episode not found with id: " + episodeId));
+    Episode episode =
+        catalogService
+            .findEpisode(episodeId)
+            .orElseThrow(
+                () -> new ResourceNotFoundException("Episode not found with id: " + episodeId));
 
     // Clamp progress to duration
     int duration = episode.getDurationSeconds();
@@ -84,15 +103,19 @@ public class WatchProgressService {
       watchHistory.setLastWatchedAt(LocalDateTime.now());
       watchHistoryRepository.save(watchHistory);
     } else {
-      WatchHistory watchHistory = new WatchHistory(
-          userEmail, episode.getSeries().getId(), episodeId, clampedProgress, false);
+      WatchHistory watchHistory =
+          new WatchHistory(
+              userEmail, episode.getSeries().getId(), episodeId, clampedProgress, false);
       watchHistory.setLastWatchedAt(LocalDateTime.now());
       watchHistoryRepository.save(watchHistory);
     }
+    eventPublisher.publishEvent(
+        new WatchProgressSavedEvent(userEmail, episode.getSeries().getId()));
   }
 
   public void markCompleted(String userEmail, UUID episodeId) {
-    Optional<WatchHistory> existing = watchHistoryRepository.findByUserEmailAndEpisodeId(userEmail, episodeId);
+    Optional<WatchHistory> existing =
+        watchHistoryRepository.findByUserEmailAndEpisodeId(userEmail, episodeId);
 
     if (existing.isPresent()) {
       WatchHistory watchHistory = existing.get();
@@ -100,29 +123,35 @@ public class WatchProgressService {
       watchHistory.setLastWatchedAt(LocalDateTime.now());
       watchHistoryRepository.save(watchHistory);
     } else {
-      Episode episode = episodeRepository
-          .findById(episodeId)
-          .orElseThrow(
-              () -> new ResourceNotFoundException("Episode not found with id: " + episodeId));
-
-      WatchHistory watchHistory = new WatchHistory(userEmail, episode.getSeries().getId(), episodeId, null, true);
+      Episode episode =
+          catalogService
+              .findEpisode(episodeId)
+              .orElseThrow(
+                  () -> new ResourceNotFoundException("Episode not found with id: " + episodeId));
+
+      WatchHistory watchHistory =
+          new WatchHistory(userEmail, episode.getSeries().getId(), episodeId, null, true);
       watchHistory.setLastWatchedAt(LocalDateTime.now());
       watchHistoryRepository.save(watchHistory);
     }
+    // Completing an episode can finish a series or end the continue-watching entry
+    eventPublisher.publishEvent(new RecommendationInputChangedEvent(userEmail));
   }
 
   public boolean isEpisodeCompleted(String userEmail, UUID episodeId) {
-    Optional<WatchHistory> history = watchHistoryRepository.findByUserEmailAndEpisodeId(userEmail, episodeId);
+    Optional<WatchHistory> history =
+        watchHistoryRepository.findByUserEmailAndEpisodeId(userEmail, episodeId);
     return history.isPresent() && history.get().isCompleted();
   }
 
   public double calculateSeriesProgress(String userEmail, UUID seriesId) {
-    List<Episode> episodes = episodeRepository.findBySeriesIdOrderBySequenceNumberAsc(seriesId);
+    List<Episode> episodes = catalogService.episodesOf(seriesId);
     if (episodes.isEmpty()) {
       return 0.0;
     }
 
-    List<WatchHistory> history = watchHistoryRepository.findByUserEmailAndSeriesId(userEmail, seriesId);
+    List<WatchHistory> history =
+        watchHistoryRepository.findByUserEmailAndSeriesId(userEmail, seriesId);
 
     long completedCount = history.stream().filter(WatchHistory::isCompleted).count();
 
@@ -130,7 +159,8 @@ public class WatchProgressService {
     double partialProgress = 0.0;
     for (WatchHistory h : history) {
       if (!h.isCompleted() && h.getProgressSeconds() != null) {
-        Optional<Episode> ep = episodes.stream().filter(e -> e.getId().equals(h.getEpisodeId())).findFirst();
+        Optional<Episode> ep =
+            episodes.stream().filter(e -> e.getId().equals(h.getEpisodeId())).findFirst();
         if (ep.isPresent() && ep.get().getDurationSeconds() > 0) {
           partialProgress = (double) h.getProgressSeconds() / ep.get().getDurationSeconds();
           break; // Stop after first relevant incomplete episode
@@ -0,0 +1,171 @@
+package com.example.app.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An email body or subject with {@code {{name}}} placeholders, parsed once into literal segments
+ * and parameter slots so that rendering only appends strings.
+ *
+ * <p>Values are passed in the order of the parameter names given when compiling. In an HTML
+ * template they are escaped; a null value renders as nothing. {@link #render(String...)} builds
+ * into a pooled {@link StringBuilder}, so a call allocates only the resulting String once the
+ * builders have grown to the size of the output.
+ */
+public final class EmailTemplate {
+
+  private static final int POOL_SLOTS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+  private static final int INITIAL_CAPACITY = 1024;
+  // Builders grown past this by an unusually long value are not kept
+  private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+
+  private static final char[] ESCAPED = {'&', '<', '>', '"', '\''};
+
+  private static final AtomicReferenceArray<StringBuilder> POOL =
+      new AtomicReferenceArray<>(POOL_SLOTS);
+
+  private final String[] literals;
+  private final int[] slots;
+  private final int parameterCount;
+  private final boolean html;
+  private final int literalLength;
+
+  private EmailTemplate(String[] literals, int[] slots, int parameterCount, boolean html) {
+    this.literals = literals;
+    this.slots = slots;
+    this.parameterCount = parameterCount;
+    this.html = html;
+    this.literalLength = Arrays.stream(literals).mapToInt(String::length).sum();
+  }
+
+  /** Compiles a plain text template; values are inserted as they are. */
+  public static EmailTemplate text(String source, String... parameters) {
+    return compile(source, false, parameters);
+  }
+
+  /** Compiles an HTML template; values are escaped for element content and quoted attributes. */
+  public static EmailTemplate html(String source, String... parameters) {
+    return compile(source, true, parameters);
+  }
+
+  /**
+   * @throws IllegalArgumentException if the source has an unterminated placeholder or one that is
+   *     not among {@code parameters}
+   */
+  private static EmailTemplate compile(String source, boolean html, String... parameters) {
+    List<String> names = Arrays.asList(parameters);
+    List<String> literals = new ArrayList<>();
+    List<Integer> slots = new ArrayList<>();
+    int position = 0;
+    int open;
+    while ((open = source.indexOf("{{", position)) >= 0) {
+      int close = source.indexOf("}}", open + 2);
+      if (close < 0) {
+        throw new IllegalArgumentException("Unterminated placeholder at index " + open);
+      }
+      String name = source.substring(open + 2, close).trim();
+      int slot = names.indexOf(name);
+      if (slot < 0) {
+        throw new IllegalArgumentException("Unknown placeholder: " + name);
+      }
+      literals.add(source.substring(position, open));
+      slots.add(slot);
+      position = close + 2;
+    }
+    literals.add(source.substring(position));
+    return new EmailTemplate(
+        literals.toArray(new String[0]),
+        slots.stream().mapToInt(Integer::intValue).toArray(),
+        parameters.length,
+        html);
+  }
+
+  public String render(String... values) {
+    StringBuilder out = acquire();
+    try {
+      renderTo(out, values);
+      return out.toString();
+    } finally {
+      release(out);
+    }
+  }
+
+  /** Appends the rendered template to {@code out}. */
+  public void renderTo(StringBuilder out, String... values) {
+    if (values.length != parameterCount) {
+      throw new IllegalArgumentException(
+          "Expected " + parameterCount + " values but got " + values.length);
+    }
+    out.ensureCapacity(out.length() + literalLength + 16 * slots.length);
+    for (int i = 0; i < slots.length; i++) {
+      out.append(literals[i]);
+      String value = values[slots[i]];
+      if (value == null) {
+        continue;
+      }
+      if (html) {
+        escapeHtml(out, value);
+      } else {
+        out.append(value);
+      }
+    }
+    out.append(literals[slots.length]);
+  }
+
+  private static void escapeHtml(StringBuilder out, String value) {
+    int offset = out.length();
+    // Copy the whole value in one go; append(CharSequence, int, int) of the parts between escaped
+    // characters would copy char by char
+    out.append(value);
+    // indexOf is an intrinsic, so skipping to the first character to escape beats a plain loop
+    int first = value.length();
+    for (char c : ESCAPED) {
+      int at = value.indexOf(c);
+      if (at >= 0 && at < first) {
+        first = at;
+      }
+    }
+    for (int i = first, length = value.length(); i < length; i++) {
+      String entity =
+          switch (value.charAt(i)) {
+            case '&' -> "&amp;";
+            case '<' -> "&lt;";
+            case '>' -> "&gt;";
+            case '"' -> "&quot;";
+            case '\'' -> "&#39;";
+            default -> null;
+          };
+      if (entity != null) {
+        out.replace(offset + i, offset + i + 1, entity);
+        offset += entity.length() - 1;
+      }
+    }
+  }
+
+  private static StringBuilder acquire() {
+    int start = (int) (Thread.currentThread().getId() % POOL_SLOTS);
+    for (int i = 0; i < POOL_SLOTS; i++) {
+      StringBuilder builder = POOL.getAndSet((start + i) % POOL_SLOTS, null);
+      if (builder != null) {
+        return builder;
+      }
+    }
+    return new StringBuilder(INITIAL_CAPACITY);
+  }
+
+  private static void release(StringBuilder builder) {
+    if (builder.capacity() > MAX_POOLED_CAPACITY) {
+      return;
+    }
+    builder.setLength(0);
+    int start = (int) (Thread.currentThread().getId() % POOL_SLOTS);
+    for (int i = 0; i < POOL_SLOTS; i++) {
+      if (POOL.compareAndSet((start + i) % POOL_SLOTS, null, builder)) {
+        return;
+      }
+    }
+    // Pool is full; let this one be collected
+  }
+}
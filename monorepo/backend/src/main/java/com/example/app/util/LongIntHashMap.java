@@ -0,0 +1,132 @@
+package com.example.app.util;
+
+/**
+ * A map from {@code long} to {@code int} in two parallel arrays with open addressing and linear
+ * probing, for counting over millions of keys without a boxed {@code Long}, {@code Integer} and
+ * entry object per key. Supports only what counting needs: adding to a value, reading one and
+ * visiting all entries. Not thread-safe.
+ */
+public final class LongIntHashMap {
+
+  /** Receives the entries visited by {@link #forEach(EntryConsumer)}. */
+  @FunctionalInterface
+  public interface EntryConsumer {
+    void accept(long key, int value);
+  }
+
+  private static final int MAX_CAPACITY = 1 << 30;
+  private static final double LOAD_FACTOR = 0.6;
+
+  // Slots whose key is 0 are free; the key 0 itself is kept aside
+  private long[] keys;
+  private int[] values;
+  private int mask;
+  private int size;
+  private int resizeAt;
+  private boolean hasZeroKey;
+  private int zeroValue;
+
+  public LongIntHashMap(int expectedSize) {
+    int capacity = 16;
+    while (capacity < expectedSize / LOAD_FACTOR && capacity < MAX_CAPACITY) {
+      capacity <<= 1;
+    }
+    allocate(capacity);
+  }
+
+  /** Adds {@code delta} to the value of {@code key}, which starts at 0, and returns the sum. */
+  public int addTo(long key, int delta) {
+    if (key == 0) {
+      if (!hasZeroKey) {
+        hasZeroKey = true;
+        size++;
+      }
+      return zeroValue += delta;
+    }
+    int slot = slot(key);
+    while (keys[slot] != 0) {
+      if (keys[slot] == key) {
+        return values[slot] += delta;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = delta;
+    if (++size > resizeAt) {
+      grow();
+    }
+    return delta;
+  }
+
+  /** The value of {@code key}, or 0 if it was never added. */
+  public int get(long key) {
+    if (key == 0) {
+      return zeroValue;
+    }
+    int slot = slot(key);
+    while (keys[slot] != 0) {
+      if (keys[slot] == key) {
+        return values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** Visits the entries in no particular order. */
+  public void forEach(EntryConsumer consumer) {
+    if (hasZeroKey) {
+      consumer.accept(0, zeroValue);
+    }
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != 0) {
+        consumer.accept(keys[slot], values[slot]);
+      }
+    }
+  }
+
+  /** Bytes held by the key and value arrays. */
+  public long memoryBytes() {
+    return (long) keys.length * Long.BYTES + (long) values.length * Integer.BYTES;
+  }
+
+  private int slot(long key) {
+    // Murmur3 finalizer, so that keys differing only in their high bits spread over the table
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    key *= 0xc4ceb9fe1a85ec53L;
+    key ^= key >>> 33;
+    return (int) key & mask;
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+    resizeAt = (int) (capacity * LOAD_FACTOR);
+  }
+
+  private void grow() {
+    if (keys.length == MAX_CAPACITY) {
+      throw new IllegalStateException("LongIntHashMap cannot hold more than " + resizeAt + " keys");
+    }
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(keys.length << 1);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != 0) {
+        int slot = slot(oldKeys[i]);
+        while (keys[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+}
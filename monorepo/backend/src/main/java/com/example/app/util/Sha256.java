@@ -0,0 +1,137 @@
+package com.example.app.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * SHA-256 hashing of short strings (session tokens, OTPs, magic-link secrets) to standard Base64.
+ *
+ * <p>Digests and their scratch buffers are kept in a small lock-free pool instead of being created
+ * per call. A pool rather than a {@code ThreadLocal} keeps the number of instances bounded by
+ * concurrency, not by thread count, so it stays cheap with short-lived or virtual threads. ASCII
+ * input is written straight into the pooled buffer and the digest is Base64-encoded into another,
+ * so a call allocates only the resulting String.
+ */
+public final class Sha256 {
+
+  private static final int DIGEST_BYTES = 32;
+  private static final int ENCODED_BYTES = 44;
+  private static final int INITIAL_INPUT_BYTES = 128;
+  private static final int POOL_SLOTS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+  private static final Base64.Encoder ENCODER = Base64.getEncoder();
+  private static final AtomicReferenceArray<Hasher> POOL = new AtomicReferenceArray<>(POOL_SLOTS);
+
+  private Sha256() {}
+
+  /** Returns {@code Base64(SHA-256(UTF-8(value)))}. */
+  public static String base64(String value) {
+    return base64(null, value);
+  }
+
+  /** Returns {@code Base64(SHA-256(UTF-8(prefix + value)))} without concatenating the inputs. */
+  public static String base64(String prefix, String value) {
+    Hasher hasher = acquire();
+    try {
+      hasher.hash(prefix, value);
+      return new String(hasher.encoded, 0, ENCODED_BYTES, StandardCharsets.ISO_8859_1);
+    } finally {
+      release(hasher);
+    }
+  }
+
+  /**
+   * Compares {@code Base64(SHA-256(UTF-8(prefix + value)))} with {@code expectedBase64} in time
+   * independent of where they differ.
+   */
+  public static boolean matches(String prefix, String value, String expectedBase64) {
+    if (expectedBase64 == null || expectedBase64.length() != ENCODED_BYTES) {
+      return false;
+    }
+    Hasher hasher = acquire();
+    try {
+      hasher.hash(prefix, value);
+      int diff = 0;
+      for (int i = 0; i < ENCODED_BYTES; i++) {
+        diff |= hasher.encoded[i] ^ expectedBase64.charAt(i);
+      }
+      return diff == 0;
+    } finally {
+      release(hasher);
+    }
+  }
+
+  private static Hasher acquire() {
+    int start = (int) (Thread.currentThread().getId() % POOL_SLOTS);
+    for (int i = 0; i < POOL_SLOTS; i++) {
+      Hasher hasher = POOL.getAndSet((start + i) % POOL_SLOTS, null);
+      if (hasher != null) {
+        return hasher;
+      }
+    }
+    return new Hasher();
+  }
+
+  private static void release(Hasher hasher) {
+    int start = (int) (Thread.currentThread().getId() % POOL_SLOTS);
+    for (int i = 0; i < POOL_SLOTS; i++) {
+      if (POOL.compareAndSet((start + i) % POOL_SLOTS, null, hasher)) {
+        return;
+      }
+    }
+    // Pool is full; let this one be collected
+  }
+
+  /** A digest together with the buffers it hashes from and encodes into. Not thread-safe. */
+  private static final class Hasher {
+
+    private final MessageDigest digest;
+    private final byte[] hash = new byte[DIGEST_BYTES];
+    private final byte[] encoded = new byte[ENCODED_BYTES];
+    private byte[] input = new byte[INITIAL_INPUT_BYTES];
+
+    Hasher() {
+      try {
+        this.digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 not supported", e);
+      }
+    }
+
+    void hash(String prefix, String value) {
+      digest.reset();
+      if (prefix != null) {
+        update(prefix);
+      }
+      update(value);
+      try {
+        digest.digest(hash, 0, DIGEST_BYTES);
+      } catch (DigestException e) {
+        throw new IllegalStateException("SHA-256 digest failed", e);
+      }
+      ENCODER.encode(hash, encoded);
+    }
+
+    private void update(String value) {
+      int length = value.length();
+      if (length > input.length) {
+        input = new byte[Math.max(length, input.length * 2)];
+      }
+      for (int i = 0; i < length; i++) {
+        char c = value.charAt(i);
+        if (c >= 0x80) {
+          // Non-ASCII input is rare here; hash the part written so far and encode the rest
+          digest.update(input, 0, i);
+          digest.update(value.substring(i).getBytes(StandardCharsets.UTF_8));
+          return;
+        }
+        input[i] = (byte) c;
+      }
+      digest.update(input, 0, length);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.example.app.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key: the first caller runs the call, and callers
+ * arriving while it is in flight wait for it and get the same result or exception. Nothing is kept
+ * once the call returns, so a later caller runs it again.
+ *
+ * <p>Calls are counted as {@code singleflight.calls} tagged with the flight's {@code name} and
+ * {@code outcome} {@code executed} or {@code coalesced}. The result is shared, so callers must not
+ * modify it. A call must not re-enter the flight with its own key.
+ */
+public final class SingleFlight<K, V> {
+
+  private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final Counter executed;
+  private final Counter coalesced;
+
+  public SingleFlight(String name, MeterRegistry meterRegistry) {
+    this.executed = counter(name, "executed", meterRegistry);
+    this.coalesced = counter(name, "coalesced", meterRegistry);
+  }
+
+  public V execute(K key, Supplier<V> call) {
+    CompletableFuture<V> flight = new CompletableFuture<>();
+    CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+    if (leader != null) {
+      coalesced.increment();
+      return await(leader);
+    }
+    executed.increment();
+    try {
+      V result = call.get();
+      flight.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  /** Number of keys with a call in flight. */
+  public int inFlight() {
+    return inFlight.size();
+  }
+
+  private static <V> V await(CompletableFuture<V> leader) {
+    try {
+      return leader.join();
+    } catch (CompletionException e) {
+      // Rethrow what the leader's call threw, so that coalesced callers see the same exception
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private static Counter counter(String name, String outcome, MeterRegistry meterRegistry) {
+    return Counter.builder("singleflight.calls")
+        .description("Calls through a single flight, run or coalesced into one in flight")
+        .tag("name", name)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+}
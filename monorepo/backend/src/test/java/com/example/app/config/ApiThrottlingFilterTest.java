@@ -0,0 +1,114 @@
+package com.example.app.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.app.dto.AuthenticatedUser;
+import com.example.app.service.AuthService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+class ApiThrottlingFilterTest {
+
+  @Mock private AuthService authService;
+
+  private SimpleMeterRegistry meterRegistry;
+  private ApiThrottlingFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    filter =
+        new ApiThrottlingFilter(
+            authService,
+            new StripedRateLimiter(1024, 0.01, 3),
+            new StripedRateLimiter(1024, 0.01, 2),
+            meterRegistry);
+  }
+
+  @Test
+  void doFilter_IpOverLimit_Returns429WithRetryAfter() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      assertEquals(200, perform(request("10.0.0.1", null)).getStatus());
+    }
+
+    MockHttpServletResponse response = perform(request("10.0.0.1", null));
+
+    assertEquals(429, response.getStatus());
+    assertEquals("100", response.getHeader("Retry-After"));
+    assertTrue(response.getContentAsString().contains("Too many requests"));
+    assertEquals(200, perform(request("10.0.0.2", null)).getStatus());
+    assertEquals(
+        1.0, meterRegistry.get("api.throttle.rejected").tag("scope", "ip").counter().count());
+  }
+
+  @Test
+  void doFilter_UserOverLimit_IsThrottledAcrossAddresses() throws Exception {
+    AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "test@example.com", true);
+    when(authService.authenticate("token")).thenReturn(Optional.of(user));
+
+    assertEquals(200, perform(request("10.0.0.1", "token")).getStatus());
+    assertEquals(200, perform(request("10.0.0.2", "token")).getStatus());
+
+    assertEquals(429, perform(request("10.0.0.3", "token")).getStatus());
+    assertEquals(
+        1.0, meterRegistry.get("api.throttle.rejected").tag("scope", "user").counter().count());
+  }
+
+  @Test
+  void doFilter_ValidToken_StoresPrincipalForInterceptor() throws Exception {
+    AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "test@example.com", true);
+    when(authService.authenticate("token")).thenReturn(Optional.of(user));
+    MockHttpServletRequest request = request("10.0.0.1", "token");
+
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    assertSame(user, request.getAttribute("user"));
+  }
+
+  @Test
+  void doFilter_InvalidToken_OnlyIpLimitApplies() throws Exception {
+    when(authService.authenticate("bad")).thenReturn(Optional.empty());
+    MockHttpServletRequest request = request("10.0.0.1", "bad");
+
+    MockHttpServletResponse response = perform(request);
+
+    assertEquals(200, response.getStatus());
+    assertNull(request.getAttribute("user"));
+  }
+
+  @Test
+  void doFilter_Preflight_IsNotThrottled() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      MockHttpServletRequest request = request("10.0.0.1", null);
+      request.setMethod("OPTIONS");
+      assertEquals(200, perform(request).getStatus());
+    }
+    verifyNoInteractions(authService);
+  }
+
+  private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, new MockFilterChain());
+    return response;
+  }
+
+  private MockHttpServletRequest request(String remoteAddr, String token) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/mcq/validate");
+    request.setRemoteAddr(remoteAddr);
+    if (token != null) {
+      request.addHeader("Authorization", "Bearer " + token);
+    }
+    return request;
+  }
+}
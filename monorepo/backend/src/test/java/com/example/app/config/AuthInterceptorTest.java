@@ -5,11 +5,11 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.example.app.model.Session;
-import com.example.app.model.User;
+import com.example.app.dto.AuthenticatedUser;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.Optional;
+import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -103,10 +103,9 @@ class AuthInterceptorTest {
     when(request.getParameter("email")).thenReturn(null);
     when(request.getHeader("Authorization")).thenReturn("Bearer valid-token");
 
-    User user = new User("test@example.com");
-    Session session = new Session(user, "dummy-hash");
+    AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "test@example.com", true);
 
-    when(authService.getSession("valid-token")).thenReturn(Optional.of(session));
+    when(authService.authenticate("valid-token")).thenReturn(Optional.of(user));
 
     boolean result = authInterceptor.preHandle(request, response, new Object());
 
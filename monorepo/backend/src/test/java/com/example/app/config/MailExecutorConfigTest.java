@@ -0,0 +1,77 @@
+package com.example.app.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class MailExecutorConfigTest {
+
+  private final MailExecutorConfig config = new MailExecutorConfig();
+  private SimpleMeterRegistry meterRegistry;
+  private ThreadPoolTaskExecutor executor;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    executor = config.mailExecutor(meterRegistry, 1, 1, 1);
+    executor.initialize();
+    config.mailExecutorMetrics(executor).bindTo(meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void saturatedExecutor_RunsTaskOnCallerAndCountsRejection() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    executor.execute(
+        () -> {
+          started.countDown();
+          awaitQuietly(release);
+        });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    executor.execute(() -> {}); // fills the queue
+
+    AtomicReference<Thread> ranOn = new AtomicReference<>();
+    executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+    assertSame(Thread.currentThread(), ranOn.get());
+    assertEquals(1.0, meterRegistry.get("mail.executor.rejected").counter().count());
+    assertEquals(1.0, meterRegistry.get("executor.queued").tag("name", "mail").gauge().value());
+    assertEquals(1.0, meterRegistry.get("executor.active").tag("name", "mail").gauge().value());
+    release.countDown();
+  }
+
+  @Test
+  void threads_AreNamedForMail() throws Exception {
+    AtomicReference<String> threadName = new AtomicReference<>();
+    CountDownLatch done = new CountDownLatch(1);
+
+    executor.execute(
+        () -> {
+          threadName.set(Thread.currentThread().getName());
+          done.countDown();
+        });
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertTrue(threadName.get().startsWith("mail-"));
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
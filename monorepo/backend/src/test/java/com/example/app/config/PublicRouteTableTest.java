@@ -0,0 +1,64 @@
+package com.example.app.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class PublicRouteTableTest {
+
+  private final PublicRouteTable routes =
+      PublicRouteTable.compile(AuthInterceptor.DEFAULT_PUBLIC_ROUTES.split(","));
+
+  @Test
+  void isPublic_GlobRoute_MatchesOnlyAllowedMethod() {
+    assertTrue(routes.isPublic("GET", "/api/series"));
+    assertTrue(routes.isPublic("GET", "/api/series/some-uuid/episodes"));
+    assertFalse(routes.isPublic("POST", "/api/series/some-uuid/reviews"));
+    assertFalse(routes.isPublic("GET", "/api/seriesx"));
+  }
+
+  @Test
+  void isPublic_ExactRoute_MatchesAnyMethodButNotChildren() {
+    assertTrue(routes.isPublic("POST", "/api/users/interests"));
+    assertTrue(routes.isPublic("GET", "/api/health"));
+    assertFalse(routes.isPublic("GET", "/api/health/db"));
+    assertFalse(routes.isPublic("GET", "/api/users"));
+    assertFalse(routes.isPublic("GET", "/api/feedback"));
+  }
+
+  @Test
+  void isPublic_SingleSegmentWildcard_DoesNotSpanSegments() {
+    PublicRouteTable table = PublicRouteTable.compile("GET|HEAD:/api/series/*/reviews");
+
+    assertTrue(table.isPublic("GET", "/api/series/abc/reviews"));
+    assertTrue(table.isPublic("HEAD", "/api/series/abc/reviews"));
+    assertFalse(table.isPublic("POST", "/api/series/abc/reviews"));
+    assertFalse(table.isPublic("GET", "/api/series/abc/def/reviews"));
+    assertFalse(table.isPublic("GET", "/api/series//reviews"));
+  }
+
+  @Test
+  void isPublic_OverlappingLiteralAndWildcard_CombinesMethods() {
+    PublicRouteTable table =
+        PublicRouteTable.compile("GET:/api/series/*/episodes", "POST:/api/series/featured/**");
+
+    assertTrue(table.isPublic("GET", "/api/series/featured/episodes"));
+    assertTrue(table.isPublic("POST", "/api/series/featured/episodes"));
+    assertFalse(table.isPublic("POST", "/api/series/other/episodes"));
+  }
+
+  @Test
+  void isPublic_UnknownMethodOrRelativePath_IsNotPublic() {
+    assertFalse(routes.isPublic("BREW", "/api/health"));
+    assertFalse(routes.isPublic("GET", "api/health"));
+    assertFalse(routes.isPublic("GET", ""));
+  }
+
+  @Test
+  void compile_InvalidRules_AreRejected() {
+    assertThrows(IllegalArgumentException.class, () -> PublicRouteTable.compile("/api/health"));
+    assertThrows(IllegalArgumentException.class, () -> PublicRouteTable.compile("FETCH:/api/x"));
+    assertThrows(IllegalArgumentException.class, () -> PublicRouteTable.compile("GET:/api/**/x"));
+    assertThrows(IllegalArgumentException.class, () -> PublicRouteTable.compile("GET:/api/x*"));
+  }
+}
@@ -0,0 +1,121 @@
+package com.example.app.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.app.model.Episode;
+import com.example.app.model.Series;
+import com.example.app.service.CatalogSnapshot;
+import com.example.app.service.ScoringContext;
+import com.example.app.service.SeriesSignals;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class RecommendationScoringConfigTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+  private final RecommendationScoringConfig config = new RecommendationScoringConfig();
+  private final Series series = series();
+  private final Series other = series();
+
+  @Test
+  void interestScorer_FollowsInterestWeight() {
+    double liked = config.interestScorer(1).score(series, context(Map.of("Tech", 10)));
+    double disliked = config.interestScorer(1).score(series, context(Map.of("Tech", -5)));
+
+    assertTrue(liked > 0.7 && liked < 1);
+    assertTrue(disliked < 0);
+    assertEquals(0, config.interestScorer(1).score(series, context(Map.of())));
+  }
+
+  @Test
+  void ratingScorer_SmoothsFewReviewsTowardsTheMiddle() {
+    SeriesSignals signals =
+        new SeriesSignals(
+            Map.of(
+                series.getId(), new SeriesSignals.Stats(1, 5.0, 0),
+                other.getId(), new SeriesSignals.Stats(100, 4.8, 0)));
+    ScoringContext context = context(Map.of(), Map.of(), CatalogSnapshot.EMPTY, signals);
+
+    double oneReview = config.ratingScorer(1).score(series, context);
+    double manyReviews = config.ratingScorer(1).score(other, context);
+
+    assertTrue(oneReview < manyReviews);
+    assertEquals(0, config.ratingScorer(1).score(series(), context));
+  }
+
+  @Test
+  void popularityScorer_IsRelativeToMostWatched() {
+    SeriesSignals signals =
+        new SeriesSignals(
+            Map.of(
+                series.getId(), new SeriesSignals.Stats(0, Double.NaN, 1000),
+                other.getId(), new SeriesSignals.Stats(0, Double.NaN, 10)));
+    ScoringContext context = context(Map.of(), Map.of(), CatalogSnapshot.EMPTY, signals);
+
+    assertEquals(1.0, config.popularityScorer(1).score(series, context));
+    assertEquals(Math.log(11) / Math.log(1001), config.popularityScorer(1).score(other, context));
+  }
+
+  @Test
+  void recencyScorer_HalvesEveryHalfLife() {
+    series.setCreatedAt(NOW.minusDays(30));
+    other.setCreatedAt(null);
+
+    assertEquals(0.5, config.recencyScorer(1, 30).score(series, context(Map.of())), 1e-9);
+    assertEquals(0, config.recencyScorer(1, 30).score(other, context(Map.of())));
+  }
+
+  @Test
+  void completionScorer_IsShareOfEpisodesCompleted() {
+    List<Episode> episodes =
+        List.of(
+            new Episode(series, "E1", "url", 600, 1),
+            new Episode(series, "E2", "url", 600, 2),
+            new Episode(series, "E3", "url", 600, 3),
+            new Episode(series, "E4", "url", 600, 4));
+    episodes.forEach(episode -> episode.setId(UUID.randomUUID()));
+    CatalogSnapshot catalog = new CatalogSnapshot(List.of(series, other), episodes);
+    ScoringContext context =
+        context(Map.of(), Map.of(series.getId(), 1L), catalog, SeriesSignals.EMPTY);
+
+    assertEquals(0.25, config.completionScorer(1).score(series, context));
+    assertEquals(0, config.completionScorer(1).score(other, context));
+  }
+
+  @Test
+  void coCompletionScorer_IsAffinityThroughFinishedSeries() {
+    ScoringContext context =
+        new ScoringContext(
+            Map.of(),
+            Map.of(),
+            Map.of(series.getId(), 0.4),
+            CatalogSnapshot.EMPTY,
+            SeriesSignals.EMPTY,
+            NOW);
+
+    assertEquals(0.4, config.coCompletionScorer(1).score(series, context));
+    assertEquals(0, config.coCompletionScorer(1).score(other, context));
+  }
+
+  private static ScoringContext context(Map<String, Integer> weights) {
+    return context(weights, Map.of(), CatalogSnapshot.EMPTY, SeriesSignals.EMPTY);
+  }
+
+  private static ScoringContext context(
+      Map<String, Integer> weights,
+      Map<UUID, Long> completed,
+      CatalogSnapshot catalog,
+      SeriesSignals signals) {
+    return new ScoringContext(weights, completed, Map.of(), catalog, signals, NOW);
+  }
+
+  private static Series series() {
+    Series series = new Series("Title", "Description", "Tech", "http://thumb.url");
+    series.setId(UUID.randomUUID());
+    return series;
+  }
+}
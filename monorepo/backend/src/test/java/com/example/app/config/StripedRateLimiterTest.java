@@ -0,0 +1,70 @@
+package com.example.app.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class StripedRateLimiterTest {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  @Test
+  void tryAcquire_AllowsBurstThenReportsWait() {
+    StripedRateLimiter limiter = new StripedRateLimiter(16, 2, 3);
+
+    assertEquals(0, limiter.tryAcquire(1, SECOND));
+    assertEquals(0, limiter.tryAcquire(1, SECOND));
+    assertEquals(0, limiter.tryAcquire(1, SECOND));
+
+    assertEquals(SECOND / 2, limiter.tryAcquire(1, SECOND));
+  }
+
+  @Test
+  void tryAcquire_RefillsAtConfiguredRate() {
+    StripedRateLimiter limiter = new StripedRateLimiter(16, 2, 1);
+
+    assertEquals(0, limiter.tryAcquire(1, SECOND));
+    assertTrue(limiter.tryAcquire(1, SECOND + SECOND / 4) > 0);
+    assertEquals(0, limiter.tryAcquire(1, SECOND + SECOND / 2));
+  }
+
+  @Test
+  void tryAcquire_KeysAreIndependent() {
+    StripedRateLimiter limiter = new StripedRateLimiter(1024, 1, 1);
+
+    assertEquals(0, limiter.tryAcquire("10.0.0.1".hashCode(), SECOND));
+    assertTrue(limiter.tryAcquire("10.0.0.1".hashCode(), SECOND) > 0);
+    assertEquals(0, limiter.tryAcquire("10.0.0.2".hashCode(), SECOND));
+  }
+
+  @Test
+  void tryAcquire_ConcurrentCallers_NeverExceedBurst() throws Exception {
+    StripedRateLimiter limiter = new StripedRateLimiter(16, 0.001, 100);
+    AtomicInteger allowed = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    for (int i = 0; i < 8; i++) {
+      executor.submit(
+          () -> {
+            for (int j = 0; j < 1000; j++) {
+              if (limiter.tryAcquire(42) == 0) {
+                allowed.incrementAndGet();
+              }
+            }
+          });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    assertEquals(100, allowed.get());
+  }
+
+  @Test
+  void constructor_RejectsNonPositiveSettings() {
+    assertThrows(IllegalArgumentException.class, () -> new StripedRateLimiter(16, 0, 1));
+    assertThrows(IllegalArgumentException.class, () -> new StripedRateLimiter(16, 1, 0));
+  }
+}
@@ -3,8 +3,11 @@ package com.example.app.controller;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.example.app.model.User;
@@ -48,6 +51,7 @@ class AuthControllerTest {
   void testGenerateOtp_ReturnsOk() throws Exception {
     ConsumptionProbe probe = mock(ConsumptionProbe.class);
     when(probe.isConsumed()).thenReturn(true);
+    when(rateLimitingService.resolveIpBucket(anyString())).thenReturn(probe);
     when(rateLimitingService.resolveBucket(anyString())).thenReturn(probe);
 
     String jsonBody = "{\"email\": \"test@example.com\"}";
@@ -60,6 +64,48 @@ class AuthControllerTest {
         .andExpect(status().isOk());
   }
 
+  @Test
+  void testGenerateOtp_IpLimitExceeded_ReturnsTooManyRequests() throws Exception {
+    ConsumptionProbe probe = mock(ConsumptionProbe.class);
+    when(probe.isConsumed()).thenReturn(false);
+    when(probe.getNanosToWaitForRefill()).thenReturn(30_000_000_000L);
+    when(rateLimitingService.resolveIpBucket(anyString())).thenReturn(probe);
+
+    String jsonBody = "{\"email\": \"test@example.com\"}";
+
+    mockMvc
+        .perform(
+            post("/api/auth/generate-otp")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonBody))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string("Retry-After", "30"));
+
+    verify(rateLimitingService, never()).resolveBucket(anyString());
+    verify(authService, never()).generateAndSendOtp(anyString());
+  }
+
+  @Test
+  void testGenerateOtp_EmailLimitExceeded_ReturnsTooManyRequests() throws Exception {
+    ConsumptionProbe allowed = mock(ConsumptionProbe.class);
+    when(allowed.isConsumed()).thenReturn(true);
+    ConsumptionProbe rejected = mock(ConsumptionProbe.class);
+    when(rejected.isConsumed()).thenReturn(false);
+    when(rateLimitingService.resolveIpBucket(anyString())).thenReturn(allowed);
+    when(rateLimitingService.resolveBucket("test@example.com")).thenReturn(rejected);
+
+    String jsonBody = "{\"email\": \"test@example.com\"}";
+
+    mockMvc
+        .perform(
+            post("/api/auth/generate-otp")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonBody))
+        .andExpect(status().isTooManyRequests());
+
+    verify(authService, never()).generateAndSendOtp(anyString());
+  }
+
   @Test
   void testVerifyOtp_Success_ReturnsOk() throws Exception {
     when(authService.verifyOtpAndLogin(anyString(), anyString()))
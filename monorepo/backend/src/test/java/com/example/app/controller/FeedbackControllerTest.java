@@ -29,12 +29,13 @@ class FeedbackControllerTest {
 
   @Autowired private ObjectMapper objectMapper;
 
-  private com.example.app.model.User testUser;
+  private com.example.app.dto.AuthenticatedUser testUser;
   private UUID testEpisodeId;
 
   @BeforeEach
   void setUp() throws Exception {
-    testUser = new com.example.app.model.User("test@example.com");
+    testUser =
+        new com.example.app.dto.AuthenticatedUser(UUID.randomUUID(), "test@example.com", true);
     testEpisodeId = UUID.randomUUID();
 
     // Mock AuthInterceptor to set user in request
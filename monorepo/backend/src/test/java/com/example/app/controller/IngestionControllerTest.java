@@ -67,11 +67,12 @@ public class IngestionControllerTest {
 
   @Test
   void testIngestContentSuccess() throws Exception {
-    com.example.app.model.User user = new com.example.app.model.User("test@example.com");
-    com.example.app.model.Session session = new com.example.app.model.Session(user, "hash");
+    com.example.app.dto.AuthenticatedUser user =
+        new com.example.app.dto.AuthenticatedUser(
+            java.util.UUID.randomUUID(), "test@example.com", false);
 
     doNothing().when(ingestionService).ingestContent(any(IngestRequest.class));
-    when(authService.getSession("test-token")).thenReturn(java.util.Optional.of(session));
+    when(authService.authenticate("test-token")).thenReturn(java.util.Optional.of(user));
 
     mockMvc
         .perform(
@@ -84,10 +85,11 @@ public class IngestionControllerTest {
 
   @Test
   void testIngestContentBadRequest() throws Exception {
-    com.example.app.model.User user = new com.example.app.model.User("test@example.com");
-    com.example.app.model.Session session = new com.example.app.model.Session(user, "hash");
+    com.example.app.dto.AuthenticatedUser user =
+        new com.example.app.dto.AuthenticatedUser(
+            java.util.UUID.randomUUID(), "test@example.com", false);
 
-    when(authService.getSession("test-token")).thenReturn(java.util.Optional.of(session));
+    when(authService.authenticate("test-token")).thenReturn(java.util.Optional.of(user));
 
     ingestRequest.setSeriesTitle(null); // Invalid request
 
@@ -32,7 +32,7 @@ class MCQControllerTest {
 
   @Autowired private ObjectMapper objectMapper;
 
-  private com.example.app.model.User testUser;
+  private com.example.app.dto.AuthenticatedUser testUser;
   private UUID episodeId;
   private UUID mcqId;
   private UUID option1Id;
@@ -41,7 +41,8 @@ class MCQControllerTest {
 
   @BeforeEach
   void setUp() throws Exception {
-    testUser = new com.example.app.model.User("test@example.com");
+    testUser =
+        new com.example.app.dto.AuthenticatedUser(UUID.randomUUID(), "test@example.com", true);
     episodeId = UUID.randomUUID();
     mcqId = UUID.randomUUID();
     option1Id = UUID.randomUUID();
@@ -3,6 +3,7 @@ package com.example.app.controller;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -11,6 +12,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.example.app.service.UserService;
+import java.time.ZoneId;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -140,4 +142,37 @@ class UserControllerTest {
         .andExpect(status().isBadRequest())
         .andExpect(content().string("Interests must be a list of strings"));
   }
+
+  @Test
+  void testSavePreferences_WithTimeZone_UpdatesTimeZone() throws Exception {
+    String jsonBody =
+        "{\"email\": \"test@example.com\", \"interests\": [\"Tech\"],"
+            + " \"timeZone\": \"Europe/Berlin\"}";
+
+    mockMvc
+        .perform(
+            post("/api/users/preferences")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonBody))
+        .andExpect(status().isOk());
+
+    verify(userService).updateTimeZone("test@example.com", ZoneId.of("Europe/Berlin"));
+  }
+
+  @Test
+  void testSavePreferences_InvalidTimeZone_ReturnsBadRequest() throws Exception {
+    String jsonBody =
+        "{\"email\": \"test@example.com\", \"interests\": [\"Tech\"],"
+            + " \"timeZone\": \"Mars/Olympus\"}";
+
+    mockMvc
+        .perform(
+            post("/api/users/preferences")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonBody))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string("Invalid time zone"));
+
+    verify(userService, never()).updateInterests(any(), any());
+  }
 }
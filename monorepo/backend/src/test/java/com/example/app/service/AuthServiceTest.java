@@ -2,21 +2,35 @@ package com.example.app.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import com.example.app.dto.AuthenticatedUser;
 import com.example.app.model.Otp;
+import com.example.app.model.Session;
 import com.example.app.model.User;
 import com.example.app.repository.OtpRepository;
+import com.example.app.repository.SessionRepository;
 import com.example.app.repository.UserRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
@@ -27,6 +41,14 @@ class AuthServiceTest {
 
   @Mock private EmailService emailService;
 
+  @Mock private SessionRepository sessionRepository;
+
+  @Mock private SessionCache sessionCache;
+
+  @Mock private SignedTokenService signedTokenService;
+
+  @Mock private SessionActivityTracker sessionActivityTracker;
+
   @InjectMocks private AuthService authService;
 
   private String testEmail = "test@example.com";
@@ -44,6 +66,36 @@ class AuthServiceTest {
     verify(otpRepository, times(1)).save(any(Otp.class));
   }
 
+  @Test
+  void testGenerateMagicLinkTokens_SavesAllInOneCall() {
+    // Arrange
+    List<Otp> saved = new ArrayList<>();
+    when(otpRepository.saveAll(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<Otp> otps = invocation.getArgument(0);
+              otps.forEach(otp -> ReflectionTestUtils.setField(otp, "id", UUID.randomUUID()));
+              saved.addAll(otps);
+              return otps;
+            });
+
+    // Act
+    Map<String, String> tokens =
+        authService.generateMagicLinkTokens(List.of(testEmail, "other@example.com"));
+
+    // Assert
+    verify(otpRepository, times(1)).saveAll(anyList());
+    verify(otpRepository, never()).save(any());
+    assertEquals(2, tokens.size());
+    for (Otp otp : saved) {
+      String[] parts =
+          new String(Base64.getDecoder().decode(tokens.get(otp.getEmail())), StandardCharsets.UTF_8)
+              .split(":");
+      assertEquals(otp.getId().toString(), parts[0]);
+      assertTrue(otp.verifyOtp(parts[1]));
+    }
+  }
+
   @Test
   void testVerifyOtpAndLogin_Success_NewUser() {
     // Arrange
@@ -52,7 +104,8 @@ class AuthServiceTest {
 
     when(otpRepository.findTopByEmailOrderByExpiryTimeDesc(testEmail))
         .thenReturn(Optional.of(otpEntity));
-    when(userRepository.findByEmail(testEmail)).thenReturn(Optional.empty()); // New user
+    when(userRepository.findWithInterestsByEmail(testEmail))
+        .thenReturn(Optional.empty()); // New user
     when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
     // Act
@@ -98,4 +151,95 @@ class AuthServiceTest {
     // Assert
     assertTrue(result.isEmpty());
   }
+
+  @Test
+  void testLogout_DeletesSessionAndEvictsCache() {
+    String tokenHash = Session.hashToken("token");
+
+    authService.logout("token");
+
+    verify(sessionRepository, times(1)).deleteByTokenHash(tokenHash);
+    verify(sessionCache, times(1)).evict(tokenHash);
+  }
+
+  @Test
+  void testLogout_SignedMode_RevokesSessionInsteadOfDeleting() {
+    UUID sessionId = UUID.randomUUID();
+    SignedTokenService.SessionClaims claims =
+        new SignedTokenService.SessionClaims(
+            sessionId,
+            UUID.randomUUID(),
+            testEmail,
+            Instant.now(),
+            Instant.now().plusSeconds(60));
+    when(signedTokenService.isEnabled()).thenReturn(true);
+    when(signedTokenService.verifySignature("signed-token")).thenReturn(Optional.of(claims));
+
+    authService.logout("signed-token");
+
+    String tokenHash = Session.hashToken(sessionId.toString());
+    verify(sessionRepository, times(1)).revokeByTokenHash(eq(tokenHash), any());
+    verify(signedTokenService, times(1)).revoke(tokenHash);
+    verify(sessionRepository, never()).deleteByTokenHash(anyString());
+  }
+
+  @Test
+  void testCreateSession_SetsExpiryFromSessionTtl() {
+    User user = new User(testEmail);
+
+    authService.createSession(user);
+
+    ArgumentCaptor<Session> captor = ArgumentCaptor.forClass(Session.class);
+    verify(sessionRepository).save(captor.capture());
+    LocalDateTime expiresAt = captor.getValue().getExpiresAt();
+    assertNotNull(expiresAt);
+    assertTrue(expiresAt.isAfter(LocalDateTime.now().plusHours(167)));
+    assertTrue(expiresAt.isBefore(LocalDateTime.now().plusHours(169)));
+  }
+
+  @Test
+  void testAuthenticate_ValidSession_RecordsActivity() {
+    String tokenHash = Session.hashToken("token");
+    AuthenticatedUser principal = new AuthenticatedUser(UUID.randomUUID(), testEmail, true);
+    when(sessionCache.get(eq(tokenHash), any())).thenReturn(Optional.of(principal));
+
+    Optional<AuthenticatedUser> result = authService.authenticate("token");
+
+    assertEquals(Optional.of(principal), result);
+    verify(sessionActivityTracker, times(1)).touch(tokenHash);
+  }
+
+  @Test
+  void testAuthenticate_UnknownOrExpiredSession_RecordsNoActivity() {
+    when(sessionCache.get(anyString(), any())).thenReturn(Optional.empty());
+
+    assertTrue(authService.authenticate("token").isEmpty());
+
+    verify(sessionActivityTracker, never()).touch(anyString());
+  }
+
+  @Test
+  void testAuthenticate_SignedMode_LooksUpCurrentInterests() {
+    UUID sessionId = UUID.randomUUID();
+    UUID userId = UUID.randomUUID();
+    SignedTokenService.SessionClaims claims =
+        new SignedTokenService.SessionClaims(
+            sessionId, userId, testEmail, Instant.now(), Instant.now().plusSeconds(60));
+    when(signedTokenService.isEnabled()).thenReturn(true);
+    when(signedTokenService.verify("signed-token")).thenReturn(Optional.of(claims));
+    when(sessionCache.get(eq(Session.hashToken(sessionId.toString())), any()))
+        .thenAnswer(
+            invocation ->
+                invocation
+                    .<Function<String, Optional<AuthenticatedUser>>>getArgument(1)
+                    .apply(invocation.getArgument(0)));
+    when(userRepository.findHasInterestsById(userId)).thenReturn(Optional.of(true));
+
+    AuthenticatedUser principal = authService.authenticate("signed-token").orElseThrow();
+
+    assertEquals(userId, principal.id());
+    assertEquals(testEmail, principal.email());
+    assertTrue(principal.hasInterests());
+    verify(sessionActivityTracker, never()).touch(anyString());
+  }
 }
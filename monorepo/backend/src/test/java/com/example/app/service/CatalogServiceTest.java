@@ -0,0 +1,158 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.app.model.Episode;
+import com.example.app.model.Series;
+import com.example.app.repository.EpisodeRepository;
+import com.example.app.repository.SeriesRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogServiceTest {
+
+  @Mock private SeriesRepository seriesRepository;
+  @Mock private EpisodeRepository episodeRepository;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private SimpleMeterRegistry meterRegistry;
+  private CatalogService catalogService;
+
+  private Series tech;
+  private Series art;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    catalogService =
+        new CatalogService(seriesRepository, episodeRepository, transactionManager, meterRegistry);
+    tech = series("Tech Talks", "Tech");
+    art = series("Art Basics", "Art");
+  }
+
+  @Test
+  void snapshot_IsLoadedOnceAndIndexed() {
+    Episode second = episode(tech, 2);
+    Episode first = episode(tech, 1);
+    Episode orphan = episode(series("Removed", "Tech"), 1);
+    when(seriesRepository.findAll()).thenReturn(List.of(tech, art));
+    when(episodeRepository.findAllWithSeries()).thenReturn(List.of(second, first, orphan));
+
+    CatalogSnapshot snapshot = catalogService.snapshot();
+
+    assertSame(snapshot, catalogService.snapshot());
+    verify(seriesRepository, times(1)).findAll();
+    assertEquals(2, snapshot.seriesCount());
+    assertEquals(2, snapshot.episodeCount());
+    assertEquals(
+        List.of(first.getId(), second.getId()),
+        snapshot.episodesOf(tech.getId()).stream().map(Episode::getId).toList());
+    assertEquals(2, snapshot.episodeCount(tech.getId()));
+    assertEquals(0, snapshot.episodeCount(art.getId()));
+    assertEquals(List.of("Tech Talks"), titles(snapshot.seriesInCategory("Tech")));
+    assertEquals(List.of("Art Basics"), titles(snapshot.seriesNotInCategories(List.of("Tech"))));
+    assertTrue(snapshot.findEpisode(orphan.getId()).isEmpty());
+    assertEquals(1, meterRegistry.get("catalog.refresh.duration").timer().count());
+  }
+
+  @Test
+  void snapshot_HoldsCopiesOfTheEntities() {
+    Episode episode = episode(tech, 1);
+    when(seriesRepository.findAll()).thenReturn(List.of(tech));
+    when(episodeRepository.findAllWithSeries()).thenReturn(List.of(episode));
+
+    CatalogSnapshot snapshot = catalogService.snapshot();
+    tech.setTitle("Renamed");
+
+    Episode cached = snapshot.findEpisode(episode.getId()).get();
+    assertNotSame(episode, cached);
+    assertEquals("Tech Talks", cached.getSeries().getTitle());
+    assertSame(snapshot.findSeries(tech.getId()).get(), cached.getSeries());
+  }
+
+  @Test
+  void onCatalogChanged_SwapsInNewSnapshot() {
+    when(seriesRepository.findAll()).thenReturn(List.of(tech), List.of(tech, art));
+    when(episodeRepository.findAllWithSeries()).thenReturn(List.of());
+    CatalogSnapshot before = catalogService.snapshot();
+
+    catalogService.onCatalogChanged(new CatalogChangedEvent());
+
+    assertEquals(1, before.seriesCount());
+    assertEquals(2, catalogService.snapshot().seriesCount());
+  }
+
+  @Test
+  void refresh_UnchangedCatalogKeepsCurrentSnapshot() {
+    Episode episode = episode(tech, 1);
+    when(seriesRepository.findAll()).thenReturn(List.of(tech));
+    when(episodeRepository.findAllWithSeries()).thenReturn(List.of(episode));
+    CatalogSnapshot before = catalogService.snapshot();
+
+    catalogService.refreshPeriodically();
+    assertSame(before, catalogService.snapshot());
+
+    episode.setTitle("Renamed");
+    catalogService.refreshPeriodically();
+    assertNotSame(before, catalogService.snapshot());
+  }
+
+  @Test
+  void onCatalogChanged_FailedReloadKeepsCurrentSnapshot() {
+    when(seriesRepository.findAll())
+        .thenReturn(List.of(tech))
+        .thenThrow(new RuntimeException("database down"));
+    when(episodeRepository.findAllWithSeries()).thenReturn(List.of());
+    CatalogSnapshot before = catalogService.snapshot();
+
+    assertDoesNotThrow(() -> catalogService.onCatalogChanged(new CatalogChangedEvent()));
+
+    assertSame(before, catalogService.snapshot());
+  }
+
+  @Test
+  void lookups_FallBackToRepositoriesOnMiss() {
+    when(seriesRepository.findAll()).thenReturn(List.of(tech));
+    when(episodeRepository.findAllWithSeries()).thenReturn(List.of());
+    Series added = series("New", "Tech");
+    Episode addedEpisode = episode(added, 1);
+    when(seriesRepository.findById(added.getId())).thenReturn(Optional.of(added));
+    when(episodeRepository.findWithSeriesByIdIn(List.of(addedEpisode.getId())))
+        .thenReturn(List.of(addedEpisode));
+    when(episodeRepository.findBySeriesIdOrderBySequenceNumberAsc(added.getId()))
+        .thenReturn(List.of(addedEpisode));
+
+    assertSame(added, catalogService.findSeries(added.getId()).get());
+    assertSame(addedEpisode, catalogService.findEpisode(addedEpisode.getId()).get());
+    assertEquals(List.of(addedEpisode), catalogService.episodesOf(added.getId()));
+    // A known series is answered from the snapshot
+    assertEquals(List.of(), catalogService.episodesOf(tech.getId()));
+    verify(episodeRepository, never()).findBySeriesIdOrderBySequenceNumberAsc(tech.getId());
+  }
+
+  private static Series series(String title, String category) {
+    Series series = new Series(title, "Description", category, "http://thumb.url");
+    series.setId(UUID.randomUUID());
+    return series;
+  }
+
+  private static Episode episode(Series series, int sequenceNumber) {
+    Episode episode = new Episode(series, "Episode " + sequenceNumber, "url", 600, sequenceNumber);
+    episode.setId(UUID.randomUUID());
+    return episode;
+  }
+
+  private static List<String> titles(List<Series> series) {
+    return series.stream().map(Series::getTitle).toList();
+  }
+}
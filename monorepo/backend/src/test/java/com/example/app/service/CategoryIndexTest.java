@@ -0,0 +1,73 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.app.model.Series;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class CategoryIndexTest {
+
+  private final Series tech = series("Tech Talks", "Tech");
+  private final Series art = series("Art Basics", "Art");
+  private final Series code = series("Code Club", "Tech");
+  private final Series cooking = series("Cooking 101", "Food");
+  private final CategoryIndex index = new CategoryIndex(List.of(tech, art, code, cooking));
+
+  @Test
+  void denseIds_FollowCatalogOrder() {
+    assertEquals(4, index.size());
+    assertEquals(0, index.denseId(tech.getId()));
+    assertEquals(3, index.denseId(cooking.getId()));
+    assertEquals(-1, index.denseId(UUID.randomUUID()));
+  }
+
+  @Test
+  void inAndNotInCategories_PartitionTheCatalog() {
+    List<String> interests = List.of("Tech", "Food", "Unknown");
+
+    assertEquals(
+        List.of("Tech Talks", "Code Club", "Cooking 101"),
+        titles(index.seriesOf(index.inCategories(interests))));
+    assertEquals(List.of("Art Basics"), titles(index.seriesOf(index.notInCategories(interests))));
+    assertTrue(index.inCategories(List.of()).isEmpty());
+    assertEquals(index.all(), index.notInCategories(List.of()));
+  }
+
+  @Test
+  void andNot_ExcludesSeriesById() {
+    BitSet candidates = index.inCategories(List.of("Tech"));
+    candidates.andNot(index.ofSeries(List.of(code.getId(), UUID.randomUUID())));
+
+    assertEquals(List.of("Tech Talks"), titles(index.seriesOf(candidates)));
+  }
+
+  @Test
+  void returnedSets_AreCopies() {
+    index.inCategories(List.of("Tech")).clear();
+    index.all().clear();
+
+    assertEquals(2, index.inCategories(List.of("Tech")).cardinality());
+    assertEquals(4, index.all().cardinality());
+  }
+
+  @Test
+  void emptyCatalog_HasNoSeries() {
+    CategoryIndex empty = new CategoryIndex(List.of());
+
+    assertTrue(empty.all().isEmpty());
+    assertTrue(empty.seriesOf(empty.notInCategories(List.of("Tech"))).isEmpty());
+  }
+
+  private static Series series(String title, String category) {
+    Series series = new Series(title, "Description", category, "http://thumb.url");
+    series.setId(UUID.randomUUID());
+    return series;
+  }
+
+  private static List<String> titles(List<Series> series) {
+    return series.stream().map(Series::getTitle).toList();
+  }
+}
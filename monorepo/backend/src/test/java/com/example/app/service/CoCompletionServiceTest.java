@@ -0,0 +1,155 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.app.model.Episode;
+import com.example.app.model.Series;
+import com.example.app.repository.WatchHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class CoCompletionServiceTest {
+
+  @Mock private WatchHistoryRepository watchHistoryRepository;
+  @Mock private CatalogService catalogService;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private SimpleMeterRegistry meterRegistry;
+  private CoCompletionService coCompletionService;
+
+  private Series first;
+  private Series second;
+  private Series third;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    coCompletionService = service(10, 500);
+    first = series("First");
+    second = series("Second");
+    third = series("Third");
+    CatalogSnapshot catalog =
+        new CatalogSnapshot(
+            List.of(first, second, third),
+            List.of(episode(first, 1), episode(first, 2), episode(second, 1), episode(third, 1)));
+    lenient().when(catalogService.snapshot()).thenReturn(catalog);
+  }
+
+  @Test
+  void rebuild_PairsSeriesFinishedBySameUsers() {
+    AtomicBoolean closed = new AtomicBoolean();
+    when(watchHistoryRepository.streamCompletedCounts())
+        .thenReturn(
+            Stream.of(
+                    completed("a@example.com", first, 2),
+                    completed("a@example.com", second, 1),
+                    completed("b@example.com", first, 2),
+                    completed("b@example.com", second, 1),
+                    completed("b@example.com", third, 1),
+                    // Only one of two episodes: not finished
+                    completed("c@example.com", first, 1),
+                    completed("c@example.com", third, 1))
+                .onClose(() -> closed.set(true)));
+
+    assertSame(CoCompletions.EMPTY, coCompletionService.coCompletions());
+    CoCompletions coCompletions = coCompletionService.rebuild();
+
+    assertSame(coCompletions, coCompletionService.coCompletions());
+    assertEquals(List.of(second.getId(), third.getId()), coCompletions.neighboursOf(first.getId()));
+    assertEquals(List.of(first.getId(), third.getId()), coCompletions.neighboursOf(second.getId()));
+    assertTrue(closed.get());
+    verify(transactionManager).commit(any());
+    assertEquals(
+        1, meterRegistry.get("recommendations.co-completion.build.duration").timer().count());
+  }
+
+  @Test
+  void rebuild_SkipsUsersWithTooManyFinishedSeries() {
+    coCompletionService = service(10, 2);
+    when(watchHistoryRepository.streamCompletedCounts())
+        .thenReturn(
+            Stream.of(
+                completed("a@example.com", first, 2),
+                completed("a@example.com", second, 1),
+                completed("a@example.com", third, 1),
+                completed("b@example.com", second, 1),
+                completed("b@example.com", third, 1)));
+
+    CoCompletions coCompletions = coCompletionService.rebuild();
+
+    assertEquals(List.of(), coCompletions.neighboursOf(first.getId()));
+    assertEquals(List.of(third.getId()), coCompletions.neighboursOf(second.getId()));
+  }
+
+  @Test
+  void rebuildPeriodically_KeepsPreviousNeighboursOnFailure() {
+    when(watchHistoryRepository.streamCompletedCounts())
+        .thenReturn(
+            Stream.of(completed("a@example.com", second, 1), completed("a@example.com", third, 1)))
+        .thenThrow(new RuntimeException("database down"));
+    CoCompletions built = coCompletionService.rebuild();
+
+    coCompletionService.rebuildPeriodically();
+
+    assertSame(built, coCompletionService.coCompletions());
+  }
+
+  @Test
+  void constructor_RejectsTopNBelowOne() {
+    assertThrows(IllegalArgumentException.class, () -> service(0, 500));
+  }
+
+  private CoCompletionService service(int topN, int maxSeriesPerUser) {
+    return new CoCompletionService(
+        watchHistoryRepository,
+        catalogService,
+        transactionManager,
+        meterRegistry,
+        topN,
+        1,
+        maxSeriesPerUser);
+  }
+
+  private static WatchHistoryRepository.CompletedCount completed(
+      String email, Series series, long completed) {
+    return new WatchHistoryRepository.CompletedCount() {
+      @Override
+      public String getUserEmail() {
+        return email;
+      }
+
+      @Override
+      public UUID getSeriesId() {
+        return series.getId();
+      }
+
+      @Override
+      public long getCompleted() {
+        return completed;
+      }
+    };
+  }
+
+  private static Series series(String title) {
+    Series series = new Series(title, "Description", "Tech", "http://thumb.url");
+    series.setId(UUID.randomUUID());
+    return series;
+  }
+
+  private static Episode episode(Series series, int sequence) {
+    Episode episode = new Episode(series, "Episode " + sequence, "url", 600, sequence);
+    episode.setId(UUID.randomUUID());
+    return episode;
+  }
+}
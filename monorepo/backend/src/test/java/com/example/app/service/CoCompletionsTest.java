@@ -0,0 +1,92 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.app.model.Series;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class CoCompletionsTest {
+
+  private final Series a = series("A");
+  private final Series b = series("B");
+  private final Series c = series("C");
+  private final Series d = series("D");
+  private final CatalogSnapshot catalog = new CatalogSnapshot(List.of(a, b, c, d), List.of());
+
+  @Test
+  void neighbours_AreRankedByCosineSimilarity() {
+    CoCompletions.Builder builder = new CoCompletions.Builder(catalog, 16);
+    // A and B are finished together by 2 of their 2 finishers; A and C by 2 of C's 4
+    addUser(builder, a, b, c);
+    addUser(builder, a, b, c);
+    addUser(builder, c);
+    addUser(builder, c);
+
+    CoCompletions coCompletions = builder.build(10, 1);
+
+    assertEquals(List.of(b.getId(), c.getId()), coCompletions.neighboursOf(a.getId()));
+    assertEquals(List.of(a.getId(), b.getId()), coCompletions.neighboursOf(c.getId()));
+    assertEquals(List.of(), coCompletions.neighboursOf(d.getId()));
+    assertEquals(4, builder.users());
+    assertEquals(3, builder.pairs());
+  }
+
+  @Test
+  void build_KeepsTopNAndDropsRarePairs() {
+    CoCompletions.Builder builder = new CoCompletions.Builder(catalog, 16);
+    addUser(builder, a, b);
+    addUser(builder, a, b);
+    addUser(builder, a, c);
+    addUser(builder, a, c);
+    addUser(builder, a, d);
+
+    CoCompletions topOne = builder.build(1, 1);
+    CoCompletions atLeastTwo = builder.build(10, 2);
+
+    // B and C tie on similarity with A, so catalog order decides
+    assertEquals(List.of(b.getId()), topOne.neighboursOf(a.getId()));
+    assertEquals(List.of(b.getId(), c.getId()), atLeastTwo.neighboursOf(a.getId()));
+    assertEquals(List.of(), atLeastTwo.neighboursOf(d.getId()));
+    assertThrows(IllegalArgumentException.class, () -> builder.build(0, 1));
+  }
+
+  @Test
+  void affinity_IsBestSimilarityToAnyFinishedSeries() {
+    CoCompletions.Builder builder = new CoCompletions.Builder(catalog, 16);
+    addUser(builder, a, b);
+    addUser(builder, a, c);
+    addUser(builder, c, d);
+
+    Map<UUID, Double> affinity = builder.build(10, 1).affinity(List.of(a.getId(), c.getId()));
+
+    // A and C have 2 finishers, B and D one each; A and C themselves are left out
+    assertEquals(Set.of(b.getId(), d.getId()), affinity.keySet());
+    assertEquals(1 / Math.sqrt(2), affinity.get(b.getId()), 1e-6);
+    assertEquals(1 / Math.sqrt(2), affinity.get(d.getId()), 1e-6);
+  }
+
+  @Test
+  void empty_HasNoNeighbours() {
+    assertEquals(List.of(), CoCompletions.EMPTY.neighboursOf(a.getId()));
+    assertTrue(CoCompletions.EMPTY.affinity(List.of(a.getId())).isEmpty());
+    assertEquals(0, CoCompletions.EMPTY.seriesWithNeighbours());
+  }
+
+  private void addUser(CoCompletions.Builder builder, Series... finished) {
+    int[] ids = new int[finished.length];
+    for (int i = 0; i < finished.length; i++) {
+      ids[i] = catalog.categoryIndex().denseId(finished[i].getId());
+    }
+    builder.addUser(ids, ids.length);
+  }
+
+  private static Series series(String title) {
+    Series series = new Series(title, "Description", "Tech", "http://thumb.url");
+    series.setId(UUID.randomUUID());
+    return series;
+  }
+}
@@ -1,61 +1,100 @@
 package com.example.app.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.example.app.dto.ContinueWatchingResponse;
-import com.example.app.dto.RecommendationResponse;
+import com.example.app.dto.EmailContent;
+import com.example.app.dto.ReminderCandidate;
 import com.example.app.model.Episode;
+import com.example.app.model.ReminderShard;
 import com.example.app.model.Series;
 import com.example.app.model.User;
 import com.example.app.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 public class DailyReminderJobTest {
 
   @Mock private UserRepository userRepository;
-  @Mock private WatchProgressService watchProgressService;
-  @Mock private SeriesService seriesService;
+  @Mock private ReminderCandidateService reminderCandidateService;
   @Mock private EmailService emailService;
   @Mock private AuthService authService;
+  @Mock private ReminderShardService reminderShardService;
 
-  @InjectMocks private DailyReminderJob dailyReminderJob;
+  private SimpleMeterRegistry meterRegistry;
+  private DailyReminderJob dailyReminderJob;
 
   private User testUser;
   private final String TEST_EMAIL = "test@example.com";
   private final String TEST_TOKEN = "magic-token-123";
+  private static final UUID FIRST_ID = new UUID(0L, 0L);
+  private static final UUID LAST_ID = new UUID(-1L, -1L);
+  private static final String KOLKATA = "Asia/Kolkata";
+  private static final Set<String> ZONES = Set.of(KOLKATA);
+  // 9:00 in Kolkata
+  private static final Instant WINDOW = Instant.parse("2024-01-15T03:30:00Z");
+  private ReminderShard shard;
 
   @BeforeEach
   void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    dailyReminderJob = newJob(Runnable::run, 4);
     testUser = new User();
     testUser.setEmail(TEST_EMAIL);
-    ReflectionTestUtils.setField(dailyReminderJob, "frontendUrl", "http://localhost:5173");
+    shard = new ReminderShard(LocalDateTime.of(2024, 1, 15, 3, 30), 0, FIRST_ID, LAST_ID);
+    lenient()
+        .when(userRepository.findDistinctTimeZones())
+        .thenReturn(Collections.singletonList(null));
+    lenient()
+        .when(reminderShardService.claim(any()))
+        .thenReturn(Optional.of(shard), Optional.empty());
+    lenient().when(reminderShardService.checkpoint(eq(shard), any())).thenReturn(true);
   }
 
   @Test
   void shouldSendResumeEmail_WhenContinueWatchingExists() {
     // Arrange
-    org.springframework.data.domain.Page<User> page =
-        new org.springframework.data.domain.PageImpl<>(java.util.List.of(testUser));
-    when(userRepository.findAll(
-            org.mockito.ArgumentMatchers.any(org.springframework.data.domain.Pageable.class)))
+    Slice<User> page = new SliceImpl<>(List.of(testUser));
+    when(userRepository.findUsersInRange(FIRST_ID, LAST_ID, null, ZONES, KOLKATA, 100))
         .thenReturn(page);
 
     ContinueWatchingResponse progress =
@@ -72,109 +111,349 @@ public class DailyReminderJobTest {
             300,
             LocalDateTime.now());
 
-    when(watchProgressService.getContinueWatching(TEST_EMAIL)).thenReturn(Optional.of(progress));
-    when(authService.generateMagicLinkToken(TEST_EMAIL)).thenReturn(TEST_TOKEN);
+    when(reminderCandidateService.findCandidates(List.of(TEST_EMAIL)))
+        .thenReturn(Map.of(TEST_EMAIL, ReminderCandidate.resume(progress)));
+    when(authService.generateMagicLinkTokens(Set.of(TEST_EMAIL)))
+        .thenReturn(Map.of(TEST_EMAIL, TEST_TOKEN));
 
     // Act
-    dailyReminderJob.sendDailyReminders();
+    dailyReminderJob.runWindow(WINDOW);
 
     // Assert
-    verify(emailService, times(1))
-        .sendDailyReminder(
-            eq(TEST_EMAIL),
-            eq("Resume your learning: " + progress.getSeriesTitle()),
-            contains(
-                "/series/"
-                    + progress.getSeriesId()
-                    + "/watch?episodeId="
-                    + progress.getEpisodeId()
-                    + "&token="
-                    + TEST_TOKEN));
-    verify(seriesService, never()).getRecommendations(anyString());
+    ArgumentCaptor<EmailContent> content = ArgumentCaptor.forClass(EmailContent.class);
+    verify(emailService, times(1)).sendDailyReminder(eq(TEST_EMAIL), content.capture());
+    String link =
+        "/series/"
+            + progress.getSeriesId()
+            + "/watch?episodeId="
+            + progress.getEpisodeId()
+            + "&token="
+            + TEST_TOKEN;
+    assertEquals(
+        "Resume your learning: " + progress.getSeriesTitle(), content.getValue().subject());
+    assertTrue(content.getValue().text().contains(link));
+    assertTrue(content.getValue().html().contains(link.replace("&", "&amp;")));
   }
 
   @Test
   void shouldSendRecommendationEmail_WhenNoContinueWatchingExists() {
     // Arrange
-    org.springframework.data.domain.Page<User> page =
-        new org.springframework.data.domain.PageImpl<>(java.util.List.of(testUser));
-    when(userRepository.findAll(
-            org.mockito.ArgumentMatchers.any(org.springframework.data.domain.Pageable.class)))
+    Slice<User> page = new SliceImpl<>(List.of(testUser));
+    when(userRepository.findUsersInRange(FIRST_ID, LAST_ID, null, ZONES, KOLKATA, 100))
         .thenReturn(page);
-    when(watchProgressService.getContinueWatching(TEST_EMAIL)).thenReturn(Optional.empty());
 
     Series recommendedSeries = new Series();
     ReflectionTestUtils.setField(recommendedSeries, "id", UUID.randomUUID());
     recommendedSeries.setTitle("Recommended Series");
     recommendedSeries.setDescription("Great series");
 
-    RecommendationResponse recommendations =
-        new RecommendationResponse(List.of(recommendedSeries), Collections.emptyList());
-    when(seriesService.getRecommendations(TEST_EMAIL)).thenReturn(recommendations);
-    when(authService.generateMagicLinkToken(TEST_EMAIL)).thenReturn(TEST_TOKEN);
-
     Episode firstEpisode = new Episode();
     ReflectionTestUtils.setField(firstEpisode, "id", UUID.randomUUID());
-    when(seriesService.getEpisodesForSeries(recommendedSeries.getId()))
-        .thenReturn(List.of(firstEpisode));
+
+    when(reminderCandidateService.findCandidates(List.of(TEST_EMAIL)))
+        .thenReturn(
+            Map.of(TEST_EMAIL, ReminderCandidate.recommendation(recommendedSeries, firstEpisode)));
+    when(authService.generateMagicLinkTokens(Set.of(TEST_EMAIL)))
+        .thenReturn(Map.of(TEST_EMAIL, TEST_TOKEN));
 
     // Act
-    dailyReminderJob.sendDailyReminders();
+    dailyReminderJob.runWindow(WINDOW);
 
     // Assert
-    verify(emailService, times(1))
-        .sendDailyReminder(
-            eq(TEST_EMAIL),
-            eq("Recommended for you: " + recommendedSeries.getTitle()),
-            contains(
-                "/series/"
-                    + recommendedSeries.getId()
-                    + "/watch?episodeId="
-                    + firstEpisode.getId()
-                    + "&token="
-                    + TEST_TOKEN));
+    ArgumentCaptor<EmailContent> content = ArgumentCaptor.forClass(EmailContent.class);
+    verify(emailService, times(1)).sendDailyReminder(eq(TEST_EMAIL), content.capture());
+    String link =
+        "/series/"
+            + recommendedSeries.getId()
+            + "/watch?episodeId="
+            + firstEpisode.getId()
+            + "&token="
+            + TEST_TOKEN;
+    assertEquals(
+        "Recommended for you: " + recommendedSeries.getTitle(), content.getValue().subject());
+    assertTrue(content.getValue().text().contains(link));
+    assertTrue(content.getValue().html().contains(link.replace("&", "&amp;")));
   }
 
   @Test
-  void shouldSendFallbackRecommendationEmail_WhenMainRecommendationEmpty() {
-    // Arrange
-    org.springframework.data.domain.Page<User> page =
-        new org.springframework.data.domain.PageImpl<>(java.util.List.of(testUser));
-    when(userRepository.findAll(
-            org.mockito.ArgumentMatchers.any(org.springframework.data.domain.Pageable.class)))
-        .thenReturn(page);
-    when(watchProgressService.getContinueWatching(TEST_EMAIL)).thenReturn(Optional.empty());
+  void shouldSendNothing_WhenNoCandidateFound() {
+    when(userRepository.findUsersInRange(FIRST_ID, LAST_ID, null, ZONES, KOLKATA, 100))
+        .thenReturn(new SliceImpl<>(List.of(testUser)));
+    when(reminderCandidateService.findCandidates(List.of(TEST_EMAIL))).thenReturn(Map.of());
 
-    Series fallbackSeries = new Series();
-    ReflectionTestUtils.setField(fallbackSeries, "id", UUID.randomUUID());
-    fallbackSeries.setTitle("Fallback Series");
-    fallbackSeries.setDescription("Good fallback");
+    dailyReminderJob.runWindow(WINDOW);
 
-    // Empty recommendations but present "other"
-    RecommendationResponse recommendations =
-        new RecommendationResponse(Collections.emptyList(), List.of(fallbackSeries));
-    when(seriesService.getRecommendations(TEST_EMAIL)).thenReturn(recommendations);
-    when(authService.generateMagicLinkToken(TEST_EMAIL)).thenReturn(TEST_TOKEN);
+    verify(emailService, never()).sendDailyReminder(anyString(), any());
+  }
 
-    Episode firstEpisode = new Episode();
-    ReflectionTestUtils.setField(firstEpisode, "id", UUID.randomUUID());
-    when(seriesService.getEpisodesForSeries(fallbackSeries.getId()))
-        .thenReturn(List.of(firstEpisode));
+  @Test
+  void shouldComputeCandidatesOncePerPage() {
+    User secondUser = new User();
+    secondUser.setEmail("second@example.com");
+    when(userRepository.findUsersInRange(FIRST_ID, LAST_ID, null, ZONES, KOLKATA, 100))
+        .thenReturn(new SliceImpl<>(List.of(testUser, secondUser)));
+    when(reminderCandidateService.findCandidates(anyCollection())).thenReturn(Map.of());
 
-    // Act
-    dailyReminderJob.sendDailyReminders();
+    dailyReminderJob.runWindow(WINDOW);
 
-    // Assert
-    verify(emailService, times(1))
-        .sendDailyReminder(
-            eq(TEST_EMAIL),
-            eq("Recommended for you: " + fallbackSeries.getTitle()),
-            contains(
-                "/series/"
-                    + fallbackSeries.getId()
-                    + "/watch?episodeId="
-                    + firstEpisode.getId()
-                    + "&token="
-                    + TEST_TOKEN));
+    verify(reminderCandidateService, times(1))
+        .findCandidates(List.of(TEST_EMAIL, "second@example.com"));
+  }
+
+  @Test
+  void shouldLeaveShardUnchecked_WhenTokensCannotBeIssued() {
+    when(userRepository.findUsersInRange(FIRST_ID, LAST_ID, null, ZONES, KOLKATA, 100))
+        .thenReturn(new SliceImpl<>(List.of(testUser), PageRequest.of(0, 100), true));
+    when(reminderCandidateService.findCandidates(anyCollection()))
+        .thenReturn(Map.of(TEST_EMAIL, ReminderCandidate.resume(progress())));
+    when(authService.generateMagicLinkTokens(anyCollection()))
+        .thenThrow(new RuntimeException("database down"));
+
+    dailyReminderJob.runWindow(WINDOW);
+
+    // The page is retried once the lease runs out
+    verify(emailService, never()).sendDailyReminder(anyString(), any());
+    verify(userRepository, times(1)).findUsersInRange(any(), any(), any(), any(), any(), anyInt());
+    verify(reminderShardService, never()).checkpoint(any(), any());
+    verify(reminderShardService, never()).complete(shard);
+    assertEquals(1, meterRegistry.get("reminders.job.duration").timer().count());
+  }
+
+  @Test
+  void shouldContinueWithOtherUsers_WhenOneUserFails() {
+    User failingUser = new User();
+    failingUser.setEmail("broken@example.com");
+    when(userRepository.findUsersInRange(FIRST_ID, LAST_ID, null, ZONES, KOLKATA, 100))
+        .thenReturn(new SliceImpl<>(List.of(failingUser, testUser)));
+    Map<String, ReminderCandidate> candidates = new HashMap<>();
+    candidates.put("broken@example.com", ReminderCandidate.resume(progress()));
+    candidates.put(TEST_EMAIL, ReminderCandidate.resume(progress()));
+    when(reminderCandidateService.findCandidates(anyCollection())).thenReturn(candidates);
+    when(authService.generateMagicLinkTokens(anyCollection()))
+        .thenReturn(Map.of("broken@example.com", "t1", TEST_EMAIL, TEST_TOKEN));
+    doThrow(new RuntimeException("boom"))
+        .when(emailService)
+        .sendDailyReminder(eq("broken@example.com"), any());
+
+    dailyReminderJob.runWindow(WINDOW);
+
+    verify(emailService, times(1)).sendDailyReminder(eq(TEST_EMAIL), any());
+    assertEquals(
+        1, meterRegistry.get("reminders.user.duration").tag("outcome", "failure").timer().count());
+    assertEquals(
+        1, meterRegistry.get("reminders.user.duration").tag("outcome", "success").timer().count());
+    assertEquals(1, meterRegistry.get("reminders.job.duration").timer().count());
+  }
+
+  @Test
+  void shouldProcessAllUsers_WithBoundedConcurrency() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      dailyReminderJob = newJob(executor, 2);
+      List<User> users = new ArrayList<>();
+      Map<String, ReminderCandidate> candidates = new HashMap<>();
+      for (int i = 0; i < 20; i++) {
+        User user = new User();
+        user.setEmail("user" + i + "@example.com");
+        users.add(user);
+        candidates.put(user.getEmail(), ReminderCandidate.resume(progress()));
+      }
+      when(userRepository.findUsersInRange(FIRST_ID, LAST_ID, null, ZONES, KOLKATA, 100))
+          .thenReturn(new SliceImpl<>(users));
+      when(reminderCandidateService.findCandidates(anyCollection())).thenReturn(candidates);
+      AtomicInteger running = new AtomicInteger();
+      AtomicInteger maxRunning = new AtomicInteger();
+      doAnswer(
+              invocation -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                running.decrementAndGet();
+                return null;
+              })
+          .when(emailService)
+          .sendDailyReminder(anyString(), any());
+
+      dailyReminderJob.runWindow(WINDOW);
+
+      // All users are done once the job returns
+      verify(authService, times(1)).generateMagicLinkTokens(candidates.keySet());
+      verify(emailService, times(20)).sendDailyReminder(anyString(), any());
+      assertTrue(maxRunning.get() <= 2);
+      assertEquals(20, meterRegistry.get("reminders.window.users").summary().totalAmount());
+      assertEquals(0, meterRegistry.get("reminders.queue.in-flight").gauge().value());
+      assertEquals(
+          20,
+          meterRegistry.get("reminders.user.duration").tag("outcome", "success").timer().count());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void shouldContinueAfterLastSeenUser_WhenMoreUsersExist() {
+    User secondUser = new User();
+    secondUser.setEmail("second@example.com");
+    UUID firstId = UUID.randomUUID();
+    ReflectionTestUtils.setField(testUser, "id", firstId);
+    when(userRepository.findUsersInRange(FIRST_ID, LAST_ID, null, ZONES, KOLKATA, 100))
+        .thenReturn(new SliceImpl<>(List.of(testUser), PageRequest.of(0, 100), true));
+    when(userRepository.findUsersInRange(FIRST_ID, LAST_ID, firstId, ZONES, KOLKATA, 100))
+        .thenReturn(new SliceImpl<>(List.of(secondUser)));
+    when(reminderCandidateService.findCandidates(anyCollection())).thenReturn(Map.of());
+
+    dailyReminderJob.runWindow(WINDOW);
+
+    verify(reminderCandidateService).findCandidates(List.of(TEST_EMAIL));
+    verify(reminderCandidateService).findCandidates(List.of("second@example.com"));
+  }
+
+  @Test
+  void shouldResumeShardFromCheckpoint() {
+    UUID checkpoint = UUID.randomUUID();
+    ReflectionTestUtils.setField(shard, "lastUserId", checkpoint);
+    when(userRepository.findUsersInRange(FIRST_ID, LAST_ID, checkpoint, ZONES, KOLKATA, 100))
+        .thenReturn(new SliceImpl<>(List.of(testUser)));
+    when(reminderCandidateService.findCandidates(anyCollection())).thenReturn(Map.of());
+
+    dailyReminderJob.runWindow(WINDOW);
+
+    verify(userRepository, never()).findUsersInRange(FIRST_ID, LAST_ID, null, ZONES, KOLKATA, 100);
+    verify(reminderShardService).checkpoint(shard, testUser.getId());
+    verify(reminderShardService).complete(shard);
+  }
+
+  @Test
+  void shouldStopShard_WhenLeaseIsLost() {
+    when(userRepository.findUsersInRange(FIRST_ID, LAST_ID, null, ZONES, KOLKATA, 100))
+        .thenReturn(new SliceImpl<>(List.of(testUser), PageRequest.of(0, 100), true));
+    when(reminderCandidateService.findCandidates(anyCollection())).thenReturn(Map.of());
+    when(reminderShardService.checkpoint(eq(shard), any())).thenReturn(false);
+
+    dailyReminderJob.runWindow(WINDOW);
+
+    verify(userRepository, times(1)).findUsersInRange(any(), any(), any(), any(), any(), anyInt());
+    verify(reminderShardService, never()).complete(shard);
+  }
+
+  @Test
+  void shouldProcessNothing_WhenAllShardsAreTaken() {
+    when(reminderShardService.claim(any())).thenReturn(Optional.empty());
+
+    dailyReminderJob.resumeAbandonedShards();
+
+    verifyNoInteractions(userRepository, reminderCandidateService, emailService);
+  }
+
+  @Test
+  void shouldSkipWindow_WhenNoZoneIsDue() {
+    dailyReminderJob.runWindow(Instant.parse("2024-01-15T05:00:00Z"));
+
+    verify(reminderShardService, never()).createShards(any());
+    verify(reminderShardService, never()).claim(any());
+    assertEquals(1, meterRegistry.get("reminders.job.duration").timer().count());
+  }
+
+  @Test
+  void shouldCreateShardsOfWindow_WhenZoneIsDue() {
+    when(userRepository.findUsersInRange(FIRST_ID, LAST_ID, null, ZONES, KOLKATA, 100))
+        .thenReturn(new SliceImpl<>(List.of()));
+
+    dailyReminderJob.runWindow(WINDOW);
+
+    verify(reminderShardService).createShards(LocalDateTime.of(2024, 1, 15, 3, 30));
+    verify(reminderShardService, times(2)).claim(LocalDateTime.of(2024, 1, 15, 3, 30));
+    verify(reminderShardService).complete(shard);
+  }
+
+  @Test
+  void shouldCatchUpSkippedWindow_WhenSlowWindowDelaysNextFire() {
+    LocalDateTime kolkataWindow = LocalDateTime.of(2024, 1, 15, 3, 30);
+    when(userRepository.findUsersInRange(FIRST_ID, LAST_ID, null, ZONES, KOLKATA, 100))
+        .thenReturn(new SliceImpl<>(List.of()));
+
+    dailyReminderJob.runWindow(Instant.parse("2024-01-15T03:15:00Z"));
+    // The 03:15 window ran past 03:30, so the cron's next fire is at 03:45
+    dailyReminderJob.runWindow(Instant.parse("2024-01-15T03:45:00Z"));
+
+    verify(reminderShardService).createShards(kolkataWindow);
+    verify(reminderShardService, times(2)).claim(kolkataWindow);
+    verify(reminderShardService).complete(shard);
+  }
+
+  @Test
+  void shouldCatchUpFromNewestShards_AfterRestart() {
+    when(reminderShardService.latestWindowStart())
+        .thenReturn(Optional.of(LocalDateTime.of(2024, 1, 15, 3, 15)));
+    when(userRepository.findUsersInRange(FIRST_ID, LAST_ID, null, ZONES, KOLKATA, 100))
+        .thenReturn(new SliceImpl<>(List.of()));
+
+    dailyReminderJob.runWindow(Instant.parse("2024-01-15T04:00:00Z"));
+
+    verify(reminderShardService).createShards(LocalDateTime.of(2024, 1, 15, 3, 30));
+  }
+
+  @Test
+  void shouldNotCatchUpWindowsOlderThanResumeHorizon() {
+    when(reminderShardService.latestWindowStart())
+        .thenReturn(Optional.of(LocalDateTime.of(2024, 1, 14, 3, 0)));
+
+    dailyReminderJob.runWindow(Instant.parse("2024-01-15T02:00:00Z"));
+
+    verify(reminderShardService, never()).createShards(any());
+  }
+
+  @Test
+  void zonesDueIn_MatchesLocalNineOClock() {
+    List<String> zones =
+        Arrays.asList(null, "Europe/Berlin", "America/New_York", "Pacific/Kiritimati", "Not/AZone");
+    Duration window = Duration.ofMinutes(15);
+
+    assertEquals(Set.of(KOLKATA), DailyReminderJob.zonesDueIn(WINDOW, window, zones));
+    assertEquals(
+        Set.of("Europe/Berlin"),
+        DailyReminderJob.zonesDueIn(Instant.parse("2024-01-15T08:00:00Z"), window, zones));
+    // Daylight saving time: 9:00 EDT is 13:00 UTC
+    assertEquals(
+        Set.of("America/New_York"),
+        DailyReminderJob.zonesDueIn(Instant.parse("2024-07-15T13:00:00Z"), window, zones));
+    // UTC+14: 9:00 on the 16th is still the 15th in UTC
+    assertEquals(
+        Set.of("Pacific/Kiritimati"),
+        DailyReminderJob.zonesDueIn(Instant.parse("2024-01-15T19:00:00Z"), window, zones));
+    assertTrue(
+        DailyReminderJob.zonesDueIn(Instant.parse("2024-01-15T03:45:00Z"), window, zones)
+            .isEmpty());
+  }
+
+  private static ContinueWatchingResponse progress() {
+    return new ContinueWatchingResponse(
+        UUID.randomUUID(),
+        "Test Series",
+        "http://thumb.url",
+        "Tech",
+        UUID.randomUUID(),
+        "Episode 1",
+        1,
+        600,
+        "http://video.url",
+        300,
+        LocalDateTime.now());
+  }
+
+  private DailyReminderJob newJob(java.util.concurrent.Executor executor, int concurrency) {
+    DailyReminderJob job =
+        new DailyReminderJob(
+            userRepository,
+            reminderCandidateService,
+            reminderShardService,
+            emailService,
+            new EmailTemplates(),
+            authService,
+            executor,
+            meterRegistry,
+            concurrency,
+            15);
+    ReflectionTestUtils.setField(job, "frontendUrl", "http://localhost:5173");
+    return job;
   }
 }
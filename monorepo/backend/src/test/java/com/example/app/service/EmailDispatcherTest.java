@@ -0,0 +1,182 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.example.app.model.EmailOutbox;
+import com.example.app.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class EmailDispatcherTest {
+
+  @Mock private EmailOutboxService emailOutboxService;
+
+  @Mock private EmailOutboxRepository emailOutboxRepository;
+
+  @Mock private EmailService emailService;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void dispatch_SendsClaimedEmailsInBatches() {
+    EmailDispatcher dispatcher = dispatcher(100, 2, 600);
+    when(emailService.isConfigured()).thenReturn(true);
+    when(emailOutboxService.claimDue(100)).thenReturn(emails(5));
+    when(emailService.deliver(anyList())).thenReturn(Map.of());
+
+    assertEquals(5, dispatcher.dispatch());
+
+    verify(emailService, times(3)).deliver(anyList());
+    verify(emailOutboxService, times(3)).recordResults(anyList(), eq(Map.of()));
+    assertEquals(5.0, meterRegistry.get("mail.outbox.sent").counter().count());
+  }
+
+  @Test
+  void dispatch_ClaimsNoMoreThanProviderRateAllows() {
+    EmailDispatcher dispatcher = dispatcher(100, 50, 30);
+    when(emailService.isConfigured()).thenReturn(true);
+    when(emailOutboxService.claimDue(30)).thenReturn(emails(30));
+    when(emailService.deliver(anyList())).thenReturn(Map.of());
+
+    assertEquals(30, dispatcher.dispatch());
+    assertEquals(0, dispatcher.dispatch());
+
+    verify(emailOutboxService, times(1)).claimDue(anyInt());
+  }
+
+  @Test
+  void dispatch_UnusedPermitsAreReturned() {
+    EmailDispatcher dispatcher = dispatcher(20, 50, 20);
+    when(emailService.isConfigured()).thenReturn(true);
+    when(emailOutboxService.claimDue(20)).thenReturn(emails(5));
+    when(emailOutboxService.claimDue(15)).thenReturn(emails(15));
+    when(emailService.deliver(anyList())).thenReturn(Map.of());
+
+    assertEquals(5, dispatcher.dispatch());
+    // Only the 5 sent emails count against the rate
+    assertEquals(15, dispatcher.dispatch());
+  }
+
+  @Test
+  void dispatch_DeliveryFailure_RecordsEveryEmailAsFailed() {
+    EmailDispatcher dispatcher = dispatcher(100, 50, 600);
+    List<EmailOutbox> claimed = emails(2);
+    when(emailService.isConfigured()).thenReturn(true);
+    when(emailOutboxService.claimDue(100)).thenReturn(claimed);
+    when(emailService.deliver(anyList())).thenThrow(new MailSendException("connection refused"));
+
+    dispatcher.dispatch();
+
+    verify(emailOutboxService)
+        .recordResults(claimed, Map.of(1L, "connection refused", 2L, "connection refused"));
+    assertEquals(2.0, meterRegistry.get("mail.outbox.failed").counter().count());
+  }
+
+  @Test
+  void dispatch_SenderNotConfigured_LeavesOutboxUntouched() {
+    EmailDispatcher dispatcher = dispatcher(100, 50, 600);
+    when(emailService.isConfigured()).thenReturn(false);
+
+    assertEquals(0, dispatcher.dispatch());
+
+    verifyNoInteractions(emailOutboxService);
+  }
+
+  @Test
+  void purgeSent_DeletesInChunks() {
+    EmailDispatcher dispatcher = dispatcher(100, 50, 600);
+    when(emailOutboxRepository.deleteSentBatch(any(), eq(1000))).thenReturn(1000, 10);
+
+    assertEquals(1010, dispatcher.purgeSent());
+  }
+
+  @Test
+  void dispatch_KeepsPollingWhileLongJobHoldsSharedScheduler() throws Exception {
+    when(emailService.isConfigured()).thenReturn(false);
+    CountDownLatch release = new CountDownLatch(1);
+    LongJob longJob = new LongJob(release);
+    // Without a TaskScheduler bean, @Scheduled jobs share a single thread
+    try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+      context.register(SchedulingConfig.class);
+      context.registerBean(LongJob.class, () -> longJob);
+      context.registerBean(EmailDispatcher.class, () -> dispatcher(100, 50, 600));
+      context.refresh();
+      assertTrue(longJob.started.await(5, TimeUnit.SECONDS));
+
+      verify(emailService, timeout(5000).atLeast(3)).isConfigured();
+
+      assertEquals(1, release.getCount());
+      release.countDown();
+    }
+  }
+
+  @Configuration
+  @EnableScheduling
+  static class SchedulingConfig {}
+
+  static class LongJob {
+
+    final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release;
+
+    LongJob(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void run() throws InterruptedException {
+      started.countDown();
+      release.await();
+    }
+  }
+
+  private EmailDispatcher dispatcher(int claimSize, int batchSize, long ratePerMinute) {
+    return new EmailDispatcher(
+        emailOutboxService,
+        emailOutboxRepository,
+        emailService,
+        Runnable::run,
+        meterRegistry,
+        claimSize,
+        batchSize,
+        ratePerMinute,
+        7,
+        10);
+  }
+
+  private static List<EmailOutbox> emails(int count) {
+    List<EmailOutbox> emails = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      EmailOutbox email = new EmailOutbox("user" + i + "@example.com", "Subject", "Body");
+      ReflectionTestUtils.setField(email, "id", (long) i);
+      emails.add(email);
+    }
+    return emails;
+  }
+}
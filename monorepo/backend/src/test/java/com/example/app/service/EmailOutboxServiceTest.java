@@ -0,0 +1,93 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+import com.example.app.model.EmailOutbox;
+import com.example.app.repository.EmailOutboxRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxServiceTest {
+
+  @Mock private EmailOutboxRepository emailOutboxRepository;
+
+  private EmailOutboxService emailOutboxService;
+
+  @BeforeEach
+  void setUp() {
+    emailOutboxService = new EmailOutboxService(emailOutboxRepository, 300, 30, 3600, 3);
+  }
+
+  @Test
+  void claimDue_CountsAttemptAndLeasesEmail() {
+    EmailOutbox email = email(1L);
+    when(emailOutboxRepository.lockDue(any(), anyInt())).thenReturn(List.of(email));
+
+    List<EmailOutbox> claimed = emailOutboxService.claimDue(10);
+
+    assertEquals(1, claimed.size());
+    assertEquals(1, email.getAttempts());
+    assertTrue(email.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(290)));
+  }
+
+  @Test
+  void recordResults_MarksSentAndSchedulesRetryWithBackoff() {
+    EmailOutbox sent = email(1L);
+    EmailOutbox failed = email(2L);
+    sent.claim(LocalDateTime.now());
+    failed.claim(LocalDateTime.now());
+    failed.claim(LocalDateTime.now());
+    when(emailOutboxRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(sent, failed));
+
+    emailOutboxService.recordResults(List.of(sent, failed), Map.of(2L, "451 try later"));
+
+    assertEquals(EmailOutbox.Status.SENT, sent.getStatus());
+    assertNotNull(sent.getSentAt());
+    assertEquals(EmailOutbox.Status.PENDING, failed.getStatus());
+    assertEquals("451 try later", failed.getLastError());
+    // Second attempt failed: 30s doubled once
+    assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(55)));
+    assertTrue(failed.getNextAttemptAt().isBefore(LocalDateTime.now().plusSeconds(65)));
+  }
+
+  @Test
+  void recordResults_GivesUpAfterMaxAttempts() {
+    EmailOutbox email = email(1L);
+    for (int i = 0; i < 3; i++) {
+      email.claim(LocalDateTime.now());
+    }
+    when(emailOutboxRepository.findAllById(List.of(1L))).thenReturn(List.of(email));
+
+    emailOutboxService.recordResults(List.of(email), Map.of(1L, "550 mailbox unavailable"));
+
+    assertEquals(EmailOutbox.Status.FAILED, email.getStatus());
+  }
+
+  @Test
+  void enqueue_SavesPendingEmail() {
+    when(emailOutboxRepository.save(any(EmailOutbox.class))).thenAnswer(i -> i.getArgument(0));
+
+    EmailOutbox email = emailOutboxService.enqueue("test@example.com", "Subject", "Body");
+
+    assertEquals(EmailOutbox.Status.PENDING, email.getStatus());
+    assertEquals(0, email.getAttempts());
+    assertFalse(email.getNextAttemptAt().isAfter(LocalDateTime.now()));
+  }
+
+  private static EmailOutbox email(Long id) {
+    EmailOutbox email = new EmailOutbox("test@example.com", "Subject", "Body");
+    ReflectionTestUtils.setField(email, "id", id);
+    return email;
+  }
+}
@@ -0,0 +1,103 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.example.app.dto.EmailContent;
+import com.example.app.model.EmailOutbox;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class EmailServiceTest {
+
+  @RegisterExtension
+  static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+  private EmailOutboxService emailOutboxService;
+  private EmailService emailService;
+
+  @BeforeEach
+  void setUp() {
+    JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+    mailSender.setHost("127.0.0.1");
+    mailSender.setPort(greenMail.getSmtp().getPort());
+    emailOutboxService = mock(EmailOutboxService.class);
+    emailService = new EmailService();
+    ReflectionTestUtils.setField(emailService, "mailSender", mailSender);
+    ReflectionTestUtils.setField(emailService, "emailOutboxService", emailOutboxService);
+    ReflectionTestUtils.setField(emailService, "emailTemplates", new EmailTemplates());
+    ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@example.com");
+  }
+
+  @Test
+  void sendOtpEmail_QueuesInsteadOfSending() {
+    emailService.sendOtpEmail("test@example.com", "123456");
+
+    ArgumentCaptor<EmailContent> content = ArgumentCaptor.forClass(EmailContent.class);
+    verify(emailOutboxService).enqueue(eq("test@example.com"), content.capture());
+    assertEquals("Your Login OTP", content.getValue().subject());
+    assertTrue(content.getValue().text().contains("123456"));
+    assertTrue(content.getValue().html().contains("123456"));
+    assertEquals(0, greenMail.getReceivedMessages().length);
+  }
+
+  @Test
+  void deliver_SendsWholeBatch() throws Exception {
+    List<EmailOutbox> batch = new ArrayList<>();
+    for (long i = 1; i <= 20; i++) {
+      EmailOutbox email = new EmailOutbox("user" + i + "@example.com", "Reminder " + i, "Hi ✓");
+      ReflectionTestUtils.setField(email, "id", i);
+      batch.add(email);
+    }
+
+    Map<Long, String> failures = emailService.deliver(batch);
+
+    assertTrue(failures.isEmpty());
+    MimeMessage[] received = greenMail.getReceivedMessages();
+    assertEquals(20, received.length);
+    assertEquals("noreply@example.com", received[0].getFrom()[0].toString());
+    assertEquals("Hi ✓", received[0].getContent().toString().trim());
+  }
+
+  @Test
+  void deliver_ServerUnavailable_ReportsEveryEmail() {
+    JavaMailSenderImpl unreachable = new JavaMailSenderImpl();
+    unreachable.setHost("127.0.0.1");
+    unreachable.setPort(1);
+    ReflectionTestUtils.setField(emailService, "mailSender", unreachable);
+    EmailOutbox email = new EmailOutbox("test@example.com", "Subject", "Body");
+    ReflectionTestUtils.setField(email, "id", 7L);
+
+    Map<Long, String> failures = emailService.deliver(List.of(email));
+
+    assertEquals(1, failures.size());
+    assertTrue(failures.containsKey(7L));
+  }
+
+  @Test
+  void deliver_HtmlBody_SendsTextAndHtmlAlternatives() throws Exception {
+    EmailOutbox email =
+        new EmailOutbox("test@example.com", "Subject", "Plain body", "<p>Html body</p>");
+    ReflectionTestUtils.setField(email, "id", 1L);
+
+    assertTrue(emailService.deliver(List.of(email)).isEmpty());
+
+    MimeMessage received = greenMail.getReceivedMessages()[0];
+    String raw = GreenMailUtil.getWholeMessage(received);
+    assertTrue(raw.contains("multipart/alternative"));
+    assertTrue(raw.contains("Plain body"));
+    assertTrue(raw.contains("<p>Html body</p>"));
+  }
+}
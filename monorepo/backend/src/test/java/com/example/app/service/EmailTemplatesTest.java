@@ -0,0 +1,71 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.app.dto.ContinueWatchingResponse;
+import com.example.app.dto.EmailContent;
+import com.example.app.model.Series;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EmailTemplatesTest {
+
+  private final EmailTemplates emailTemplates = new EmailTemplates();
+
+  @Test
+  void resume_TextMatchesPreviousFormat() {
+    ContinueWatchingResponse progress =
+        new ContinueWatchingResponse(
+            UUID.randomUUID(),
+            "Java Basics",
+            "http://thumb.url",
+            "Tech",
+            UUID.randomUUID(),
+            "Loops",
+            3,
+            600,
+            "http://video.url",
+            120,
+            LocalDateTime.now());
+
+    EmailContent content = emailTemplates.resume(progress, "http://app/watch?token=t");
+
+    assertEquals("Resume your learning: Java Basics", content.subject());
+    assertEquals(
+        String.format(
+            "Hi there,\n\n"
+                + "Pick up where you left off! Continue watching \"%s\":\n\n"
+                + "Series: %s\n"
+                + "Episode Number: %d - %s\n\n"
+                + "Click here to resume: %s\n\n"
+                + "Happy Learning!",
+            "Java Basics", "Java Basics", 3, "Loops", "http://app/watch?token=t"),
+        content.text());
+    assertTrue(content.html().contains("Episode 3 - Loops"));
+  }
+
+  @Test
+  void recommendation_EscapesSeriesInHtml() {
+    Series series = new Series();
+    series.setTitle("Tom & Jerry");
+    series.setDescription("<b>Classic</b>");
+
+    EmailContent content = emailTemplates.recommendation(series, "http://app/watch?a=1&b=2");
+
+    assertEquals("Recommended for you: Tom & Jerry", content.subject());
+    assertTrue(content.text().contains("Description: <b>Classic</b>"));
+    assertTrue(content.html().contains("Tom &amp; Jerry"));
+    assertTrue(content.html().contains("&lt;b&gt;Classic&lt;/b&gt;"));
+    assertTrue(content.html().contains("href=\"http://app/watch?a=1&amp;b=2\""));
+  }
+
+  @Test
+  void otp_RendersCode() {
+    EmailContent content = emailTemplates.otp("123456");
+
+    assertEquals(
+        "Your OTP for login is: 123456\n\nThis code expires in 5 minutes.", content.text());
+    assertTrue(content.html().contains("123456"));
+  }
+}
@@ -19,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class FeedbackServiceTest {
@@ -29,6 +30,8 @@ class FeedbackServiceTest {
 
   @Mock private UserRepository userRepository;
 
+  @Mock private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks private FeedbackService feedbackService;
 
   private String testEmail;
@@ -68,6 +71,7 @@ class FeedbackServiceTest {
     verify(feedbackRepository, times(1)).save(any(Feedback.class));
     verify(userRepository, times(1)).save(user);
     assertEquals(5, user.getInterestWeights().get(category));
+    verify(eventPublisher).publishEvent(new RecommendationInputChangedEvent(testEmail));
   }
 
   @Test
@@ -23,6 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 public class IngestionServiceTest {
@@ -36,6 +37,9 @@ public class IngestionServiceTest {
   @Mock
   private MCQRepository mcqRepository;
 
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks
   private IngestionService ingestionService;
 
@@ -99,6 +103,7 @@ public class IngestionServiceTest {
     verify(seriesRepository, times(1)).save(any(Series.class));
     verify(episodeRepository, times(1)).save(any(Episode.class));
     verify(mcqRepository, times(1)).save(any(MCQ.class));
+    verify(eventPublisher).publishEvent(new CatalogChangedEvent());
   }
 
   @Test
@@ -136,6 +141,7 @@ public class IngestionServiceTest {
 
     verify(seriesRepository).findById(unknownId);
     verify(seriesRepository, never()).save(any());
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
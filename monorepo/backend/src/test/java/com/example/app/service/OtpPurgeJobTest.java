@@ -0,0 +1,61 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.example.app.repository.OtpRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OtpPurgeJobTest {
+
+  @Mock private OtpRepository otpRepository;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void purge_DeletesInChunksAndRecordsMetrics() {
+    OtpPurgeJob job = new OtpPurgeJob(otpRepository, meterRegistry, 500, 10);
+    when(otpRepository.deleteExpiredBatch(any(), eq(500))).thenReturn(500, 120);
+
+    int purged = job.purgeExpiredOtps();
+
+    assertEquals(620, purged);
+    verify(otpRepository, times(2)).deleteExpiredBatch(any(), eq(500));
+    assertEquals(1, meterRegistry.get("otp.purge.rows").summary().count());
+    assertEquals(620.0, meterRegistry.get("otp.purge.rows").summary().totalAmount());
+    assertEquals(1, meterRegistry.get("otp.purge.duration").timer().count());
+  }
+
+  @Test
+  void purge_StopsAfterMaxBatches() {
+    OtpPurgeJob job = new OtpPurgeJob(otpRepository, meterRegistry, 500, 2);
+    when(otpRepository.deleteExpiredBatch(any(), eq(500))).thenReturn(500);
+
+    assertEquals(1000, job.purgeExpiredOtps());
+    verify(otpRepository, times(2)).deleteExpiredBatch(any(), eq(500));
+  }
+
+  @Test
+  void purge_RepositoryFailure_StillRecordsRun() {
+    OtpPurgeJob job = new OtpPurgeJob(otpRepository, meterRegistry, 500, 10);
+    when(otpRepository.deleteExpiredBatch(any(), eq(500)))
+        .thenThrow(new RuntimeException("db down"));
+
+    assertEquals(0, job.purgeExpiredOtps());
+    assertEquals(1, meterRegistry.get("otp.purge.duration").timer().count());
+    assertEquals(0.0, meterRegistry.get("otp.purge.rows").summary().totalAmount());
+  }
+}
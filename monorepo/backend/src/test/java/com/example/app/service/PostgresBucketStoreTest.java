@@ -0,0 +1,111 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresBucketStoreTest {
+
+  @Container
+  private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+  private static final BucketConfiguration TEN_PER_MINUTE =
+      BucketConfiguration.builder()
+          .addLimit(
+              Bandwidth.builder().capacity(10).refillGreedy(10, Duration.ofMinutes(1)).build())
+          .build();
+
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate =
+        new JdbcTemplate(
+            new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+    jdbcTemplate.execute(
+        "CREATE TABLE IF NOT EXISTS rate_limit_buckets (bucket_key VARCHAR(512) PRIMARY KEY,"
+            + " state BYTEA NOT NULL, version BIGINT NOT NULL, expires_at TIMESTAMP NOT NULL)");
+    jdbcTemplate.execute("TRUNCATE rate_limit_buckets");
+  }
+
+  @Test
+  void concurrentConsumes_NeverExceedCapacity() throws Exception {
+    PostgresBucketStore store = store();
+    int threads = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        Callable<Integer> consumer =
+            () -> {
+              start.await();
+              int consumed = 0;
+              for (int i = 0; i < 5; i++) {
+                if (store.bucket("ip:10.0.0.1", () -> TEN_PER_MINUTE).tryConsume(1)) {
+                  consumed++;
+                }
+              }
+              return consumed;
+            };
+        results.add(executor.submit(consumer));
+      }
+      start.countDown();
+
+      int consumed = 0;
+      for (Future<Integer> result : results) {
+        consumed += result.get();
+      }
+      assertEquals(10, consumed);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void secondNode_SharesBucketState() {
+    PostgresBucketStore first = store();
+    PostgresBucketStore second = store();
+
+    for (int i = 0; i < 10; i++) {
+      assertTrue(first.bucket("email:a@example.com", () -> TEN_PER_MINUTE).tryConsume(1));
+    }
+
+    assertFalse(second.bucket("email:a@example.com", () -> TEN_PER_MINUTE).tryConsume(1));
+    assertTrue(second.bucket("email:b@example.com", () -> TEN_PER_MINUTE).tryConsume(1));
+  }
+
+  @Test
+  void purgeExpiredBuckets_DropsRefilledBuckets() {
+    PostgresBucketStore store = store();
+    store.bucket("ip:10.0.0.1", () -> TEN_PER_MINUTE).tryConsume(1);
+    jdbcTemplate.update("UPDATE rate_limit_buckets SET expires_at = NOW() - INTERVAL '1 minute'");
+
+    assertEquals(1, store.purgeExpiredBuckets());
+    assertEquals(
+        0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rate_limit_buckets", Integer.class));
+  }
+
+  /** A store that synchronises every check, as a separate node would see it. */
+  private PostgresBucketStore store() {
+    return new PostgresBucketStore(jdbcTemplate, 60, 100000, 0, 0, 1000);
+  }
+}
@@ -0,0 +1,46 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RateLimitingServiceTest {
+
+  private RateLimitingService rateLimitingService;
+
+  @BeforeEach
+  void setUp() {
+    rateLimitingService =
+        new RateLimitingService(new LocalBucketStore(1000, 24), 5, 20, 50, 3, 10, 20);
+  }
+
+  @Test
+  void resolveBucket_UsesConfiguredLimitsPerEmail() {
+    for (int i = 0; i < 5; i++) {
+      assertTrue(rateLimitingService.resolveBucket("a@example.com").isConsumed());
+    }
+
+    assertFalse(rateLimitingService.resolveBucket("a@example.com").isConsumed());
+    assertTrue(rateLimitingService.resolveBucket("b@example.com").isConsumed());
+  }
+
+  @Test
+  void resolveIpBucket_UsesConfiguredLimits() {
+    for (int i = 0; i < 3; i++) {
+      assertTrue(rateLimitingService.resolveIpBucket("10.0.0.1").isConsumed());
+    }
+
+    assertFalse(rateLimitingService.resolveIpBucket("10.0.0.1").isConsumed());
+    assertTrue(rateLimitingService.resolveIpBucket("10.0.0.2").isConsumed());
+  }
+
+  @Test
+  void resolveIpBucket_IsIndependentOfEmailBuckets() {
+    for (int i = 0; i < 5; i++) {
+      rateLimitingService.resolveBucket("10.0.0.1");
+    }
+
+    assertTrue(rateLimitingService.resolveIpBucket("10.0.0.1").isConsumed());
+  }
+}
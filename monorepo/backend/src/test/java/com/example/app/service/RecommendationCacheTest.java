@@ -0,0 +1,163 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.app.dto.RecommendationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RecommendationCacheTest {
+
+  private static final String EMAIL = "test@example.com";
+
+  private SimpleMeterRegistry meterRegistry;
+  private RecommendationCache recommendationCache;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    recommendationCache = new RecommendationCache(600, 100, meterRegistry);
+    loads = new AtomicInteger();
+  }
+
+  @Test
+  void get_SecondLookupWithSameCatalog_IsServedFromCache() {
+    RecommendationResponse first = get(CatalogSnapshot.EMPTY, null);
+    RecommendationResponse second = get(CatalogSnapshot.EMPTY, null);
+
+    assertSame(first, second);
+    assertEquals(1, loads.get());
+    assertEquals(
+        1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+  }
+
+  @Test
+  void get_NewCatalog_Recomputes() {
+    get(CatalogSnapshot.EMPTY, null);
+    get(new CatalogSnapshot(List.of(), List.of()), null);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void get_NullFromLoader_IsNotCached() {
+    assertNull(recommendationCache.get(EMAIL, CatalogSnapshot.EMPTY, () -> countedLoad(null)));
+    assertNull(recommendationCache.get(EMAIL, CatalogSnapshot.EMPTY, () -> countedLoad(null)));
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void get_InvalidatedWhileLoading_ReturnsButDoesNotCacheLoad() {
+    RecommendationResponse stale =
+        recommendationCache.get(
+            EMAIL,
+            CatalogSnapshot.EMPTY,
+            () -> {
+              recommendationCache.onInputChanged(new RecommendationInputChangedEvent(EMAIL));
+              return countedLoad(recommendations(null));
+            });
+    RecommendationResponse fresh = get(CatalogSnapshot.EMPTY, null);
+
+    assertNotNull(stale);
+    assertNotSame(stale, fresh);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void get_SlowLoad_DoesNotBlockOtherUsersOrEviction() throws Exception {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<RecommendationResponse> slow =
+        CompletableFuture.supplyAsync(
+            () ->
+                recommendationCache.get(
+                    EMAIL,
+                    CatalogSnapshot.EMPTY,
+                    () -> {
+                      loading.countDown();
+                      awaitQuietly(release);
+                      return recommendations(null);
+                    }));
+    assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+    CompletableFuture.runAsync(
+            () -> {
+              recommendationCache.get(
+                  "other@example.com", CatalogSnapshot.EMPTY, () -> recommendations(null));
+              recommendationCache.evict(EMAIL);
+            })
+        .get(5, TimeUnit.SECONDS);
+
+    release.countDown();
+    assertNotNull(slow.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void onInputChanged_DropsOnlyThatUser() {
+    get(CatalogSnapshot.EMPTY, null);
+    recommendationCache.get(
+        "other@example.com", CatalogSnapshot.EMPTY, () -> recommendations(null));
+
+    recommendationCache.onInputChanged(new RecommendationInputChangedEvent(EMAIL));
+    get(CatalogSnapshot.EMPTY, null);
+    recommendationCache.get(
+        "other@example.com", CatalogSnapshot.EMPTY, () -> fail("other user was dropped"));
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void onWatchProgressSaved_SameContinueWatchingSeries_KeepsEntry() {
+    UUID seriesId = UUID.randomUUID();
+    get(CatalogSnapshot.EMPTY, seriesId);
+
+    recommendationCache.onWatchProgressSaved(new WatchProgressSavedEvent(EMAIL, seriesId));
+    get(CatalogSnapshot.EMPTY, seriesId);
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void onWatchProgressSaved_OtherSeries_DropsEntry() {
+    get(CatalogSnapshot.EMPTY, UUID.randomUUID());
+
+    recommendationCache.onWatchProgressSaved(new WatchProgressSavedEvent(EMAIL, UUID.randomUUID()));
+    get(CatalogSnapshot.EMPTY, null);
+
+    assertEquals(2, loads.get());
+  }
+
+  private RecommendationResponse get(CatalogSnapshot catalog, UUID continueWatchingSeriesId) {
+    return recommendationCache.get(
+        EMAIL, catalog, () -> countedLoad(recommendations(continueWatchingSeriesId)));
+  }
+
+  private RecommendationCache.Recommendations countedLoad(
+      RecommendationCache.Recommendations recommendations) {
+    loads.incrementAndGet();
+    return recommendations;
+  }
+
+  private static RecommendationCache.Recommendations recommendations(
+      UUID continueWatchingSeriesId) {
+    return new RecommendationCache.Recommendations(
+        new RecommendationResponse(List.of(), List.of()), continueWatchingSeriesId);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.app.config.RecommendationScoringConfig;
+import com.example.app.model.Series;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class RecommendationEngineTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+  @Test
+  void topK_KeepsHighestScoresInOrder() {
+    List<Series> candidates = new ArrayList<>();
+    Map<String, Integer> weights = new HashMap<>();
+    for (int i = 0; i < 10; i++) {
+      candidates.add(series("S" + i, "C" + i, NOW));
+      weights.put("C" + i, i % 2 == 0 ? i : -i);
+    }
+    RecommendationEngine engine = new RecommendationEngine(List.of(interestOnly()), 3);
+
+    List<Series> top = engine.topK(candidates, context(weights, Map.of(), SeriesSignals.EMPTY));
+
+    assertEquals(List.of("S8", "S6", "S4"), titles(top));
+  }
+
+  @Test
+  void topK_EqualScoresKeepCandidateOrder() {
+    List<Series> candidates =
+        List.of(series("A", "C", NOW), series("B", "C", NOW), series("C", "C", NOW));
+    RecommendationEngine engine = new RecommendationEngine(List.of(interestOnly()), 2);
+
+    List<Series> top = engine.topK(candidates, context(Map.of(), Map.of(), SeriesSignals.EMPTY));
+
+    assertEquals(List.of("A", "B"), titles(top));
+  }
+
+  @Test
+  void topK_FewerCandidatesThanK_ReturnsAll() {
+    RecommendationEngine engine = new RecommendationEngine(List.of(interestOnly()), 20);
+
+    assertEquals(
+        List.of("A"),
+        titles(
+            engine.topK(
+                List.of(series("A", "C", NOW)), context(Map.of(), Map.of(), SeriesSignals.EMPTY))));
+    assertTrue(engine.topK(List.of(), context(Map.of(), Map.of(), SeriesSignals.EMPTY)).isEmpty());
+  }
+
+  @Test
+  void topK_MatchesFullSortByScore() {
+    Random random = new Random(42);
+    List<Series> candidates = new ArrayList<>();
+    Map<String, Integer> weights = new HashMap<>();
+    Map<UUID, SeriesSignals.Stats> stats = new HashMap<>();
+    for (int i = 0; i < 1000; i++) {
+      Series series = series("S" + i, "C" + random.nextInt(20), NOW.minusDays(random.nextInt(90)));
+      candidates.add(series);
+      stats.put(
+          series.getId(),
+          new SeriesSignals.Stats(
+              random.nextInt(50) + 1, 1 + random.nextDouble() * 4, random.nextInt(10_000)));
+    }
+    for (int i = 0; i < 20; i++) {
+      weights.put("C" + i, random.nextInt(41) - 20);
+    }
+    ScoringContext context = context(weights, Map.of(), new SeriesSignals(stats));
+    RecommendationEngine engine =
+        new RecommendationEngine(RecommendationScoringConfig.defaultScorers(), 25);
+
+    List<Series> expected =
+        candidates.stream()
+            .sorted(Comparator.comparingDouble((Series s) -> engine.score(s, context)).reversed())
+            .limit(25)
+            .toList();
+
+    assertEquals(titles(expected), titles(engine.topK(candidates, context)));
+  }
+
+  @Test
+  void scorersWithZeroWeight_AreSkipped() {
+    SeriesScorer failing =
+        SeriesScorer.of(
+            "failing",
+            0,
+            (series, context) -> {
+              throw new AssertionError("scored with weight 0");
+            });
+    RecommendationEngine engine = new RecommendationEngine(List.of(interestOnly(), failing), 5);
+
+    assertEquals(
+        0.0, engine.score(series("A", "C", NOW), context(Map.of(), Map.of(), SeriesSignals.EMPTY)));
+  }
+
+  @Test
+  void constructor_RejectsTopKBelowOne() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new RecommendationEngine(List.of(interestOnly()), 0));
+  }
+
+  private static SeriesScorer interestOnly() {
+    return new RecommendationScoringConfig().interestScorer(1.0);
+  }
+
+  private static ScoringContext context(
+      Map<String, Integer> weights, Map<UUID, Long> completed, SeriesSignals signals) {
+    return new ScoringContext(weights, completed, Map.of(), CatalogSnapshot.EMPTY, signals, NOW);
+  }
+
+  private static Series series(String title, String category, LocalDateTime createdAt) {
+    Series series = new Series(title, "Description", category, "http://thumb.url");
+    series.setId(UUID.randomUUID());
+    series.setCreatedAt(createdAt);
+    return series;
+  }
+
+  private static List<String> titles(List<Series> series) {
+    return series.stream().map(Series::getTitle).toList();
+  }
+}
@@ -0,0 +1,210 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.app.config.RecommendationScoringConfig;
+import com.example.app.dto.ReminderCandidate;
+import com.example.app.model.Episode;
+import com.example.app.model.Series;
+import com.example.app.model.User;
+import com.example.app.model.WatchHistory;
+import com.example.app.repository.UserRepository;
+import com.example.app.repository.WatchHistoryRepository;
+import java.util.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ReminderCandidateServiceTest {
+
+  @Mock private WatchHistoryRepository watchHistoryRepository;
+  @Mock private UserRepository userRepository;
+  @Mock private CatalogService catalogService;
+  @Mock private SeriesSignalsService seriesSignalsService;
+  @Mock private CoCompletionService coCompletionService;
+
+  private ReminderCandidateService reminderCandidateService;
+
+  private static final String RESUMING = "resume@example.com";
+  private static final String NEW_USER = "new@example.com";
+
+  @BeforeEach
+  void setUp() {
+    // The ranking of the home page, over the mocked signals and co-completions
+    SeriesService seriesService = new SeriesService();
+    ReflectionTestUtils.setField(
+        seriesService,
+        "recommendationEngine",
+        new RecommendationEngine(RecommendationScoringConfig.defaultScorers(), 20));
+    ReflectionTestUtils.setField(seriesService, "seriesSignalsService", seriesSignalsService);
+    ReflectionTestUtils.setField(seriesService, "coCompletionService", coCompletionService);
+    lenient().when(seriesSignalsService.signals()).thenReturn(SeriesSignals.EMPTY);
+    lenient().when(coCompletionService.coCompletions()).thenReturn(CoCompletions.EMPTY);
+    reminderCandidateService =
+        new ReminderCandidateService(
+            watchHistoryRepository, userRepository, catalogService, seriesService);
+  }
+
+  @Test
+  void findCandidates_IncompleteEpisode_IsResumed() {
+    Series series = series("Tech");
+    Episode episode = episode(series, 2);
+    WatchHistory watchHistory =
+        new WatchHistory(RESUMING, series.getId(), episode.getId(), 120, false);
+    when(watchHistoryRepository.findLatestIncompleteByUserEmailIn(List.of(RESUMING)))
+        .thenReturn(List.of(watchHistory));
+    when(catalogService.snapshot()).thenReturn(catalog(List.of(series), episode));
+
+    Map<String, ReminderCandidate> candidates =
+        reminderCandidateService.findCandidates(List.of(RESUMING));
+
+    ReminderCandidate candidate = candidates.get(RESUMING);
+    assertTrue(candidate.isResume());
+    assertEquals(episode.getId(), candidate.resume().getEpisodeId());
+    assertEquals(120, candidate.resume().getProgressSeconds());
+    verifyNoInteractions(userRepository);
+  }
+
+  @Test
+  void findCandidates_RecommendsHighestWeightedUncompletedSeries() {
+    Series completed = series("Tech");
+    Series lowWeight = series("Art");
+    Series highWeight = series("Tech");
+    User user = user(NEW_USER, Set.of("Tech", "Art"));
+    user.getInterestWeights().put("Tech", 5);
+    user.getInterestWeights().put("Art", 1);
+    when(userRepository.findWithInterestsByEmailIn(Set.of(NEW_USER))).thenReturn(List.of(user));
+    when(catalogService.snapshot())
+        .thenReturn(
+            catalog(
+                List.of(lowWeight, completed, highWeight),
+                episode(lowWeight, 1),
+                episode(completed, 1),
+                episode(completed, 2),
+                episode(highWeight, 1)));
+    when(watchHistoryRepository.countCompletedByUserEmailIn(Set.of(NEW_USER)))
+        .thenReturn(List.of(completedCount(NEW_USER, completed.getId(), 2)));
+
+    ReminderCandidate candidate =
+        reminderCandidateService.findCandidates(List.of(NEW_USER)).get(NEW_USER);
+
+    assertFalse(candidate.isResume());
+    assertEquals(highWeight.getId(), candidate.series().getId());
+    assertEquals(1, candidate.firstEpisode().getSequenceNumber());
+  }
+
+  @Test
+  void findCandidates_RanksLikeHomePage_PrefersBetterRatedSeries() {
+    Series plain = series("Tech");
+    Series acclaimed = series("Tech");
+    when(userRepository.findWithInterestsByEmailIn(Set.of(NEW_USER)))
+        .thenReturn(List.of(user(NEW_USER, Set.of("Tech"))));
+    when(catalogService.snapshot())
+        .thenReturn(
+            catalog(List.of(plain, acclaimed), episode(plain, 1), episode(acclaimed, 1)));
+    when(seriesSignalsService.signals())
+        .thenReturn(
+            new SeriesSignals(
+                Map.of(acclaimed.getId(), new SeriesSignals.Stats(50, 5.0, 100))));
+
+    ReminderCandidate candidate =
+        reminderCandidateService.findCandidates(List.of(NEW_USER)).get(NEW_USER);
+
+    assertEquals(acclaimed.getId(), candidate.series().getId());
+  }
+
+  @Test
+  void findCandidates_NoMatchingSeries_FallsBackToOtherCategories() {
+    Series other = series("Cooking");
+    User user = user(NEW_USER, Set.of("Tech"));
+    when(userRepository.findWithInterestsByEmailIn(Set.of(NEW_USER))).thenReturn(List.of(user));
+    when(catalogService.snapshot()).thenReturn(catalog(List.of(other), episode(other, 1)));
+
+    ReminderCandidate candidate =
+        reminderCandidateService.findCandidates(List.of(NEW_USER)).get(NEW_USER);
+
+    assertEquals(other.getId(), candidate.series().getId());
+  }
+
+  @Test
+  void findCandidates_EpisodeOfLatestWatchMissing_ExcludesItsSeries() {
+    Series watched = series("Tech");
+    Series next = series("Tech");
+    when(watchHistoryRepository.findLatestIncompleteByUserEmailIn(List.of(NEW_USER)))
+        .thenReturn(
+            List.of(new WatchHistory(NEW_USER, watched.getId(), UUID.randomUUID(), 10, false)));
+    when(userRepository.findWithInterestsByEmailIn(Set.of(NEW_USER)))
+        .thenReturn(List.of(user(NEW_USER, Set.of())));
+    when(catalogService.snapshot())
+        .thenReturn(catalog(List.of(watched, next), episode(watched, 1), episode(next, 1)));
+
+    ReminderCandidate candidate =
+        reminderCandidateService.findCandidates(List.of(NEW_USER)).get(NEW_USER);
+
+    assertEquals(next.getId(), candidate.series().getId());
+  }
+
+  @Test
+  void findCandidates_RecommendedSeriesWithoutEpisodes_IsLeftOut() {
+    Series empty = series("Tech");
+    when(userRepository.findWithInterestsByEmailIn(Set.of(NEW_USER)))
+        .thenReturn(List.of(user(NEW_USER, Set.of("Tech"))));
+    when(catalogService.snapshot()).thenReturn(catalog(List.of(empty)));
+
+    assertTrue(reminderCandidateService.findCandidates(List.of(NEW_USER)).isEmpty());
+  }
+
+  @Test
+  void findCandidates_NoEmails_RunsNoQueries() {
+    assertTrue(reminderCandidateService.findCandidates(List.of()).isEmpty());
+    verifyNoInteractions(watchHistoryRepository, userRepository, catalogService);
+  }
+
+  private static Series series(String category) {
+    Series series = new Series();
+    series.setId(UUID.randomUUID());
+    series.setTitle(category + " series");
+    series.setCategory(category);
+    return series;
+  }
+
+  private static CatalogSnapshot catalog(List<Series> series, Episode... episodes) {
+    return new CatalogSnapshot(series, List.of(episodes));
+  }
+
+  private static Episode episode(Series series, int sequenceNumber) {
+    Episode episode = new Episode(series, "Episode " + sequenceNumber, "url", 600, sequenceNumber);
+    episode.setId(UUID.randomUUID());
+    return episode;
+  }
+
+  private static User user(String email, Set<String> interests) {
+    User user = new User(email);
+    user.setInterests(new HashSet<>(interests));
+    return user;
+  }
+
+  private static WatchHistoryRepository.CompletedCount completedCount(
+      String email, UUID seriesId, long completed) {
+    return new WatchHistoryRepository.CompletedCount() {
+      public String getUserEmail() {
+        return email;
+      }
+
+      public UUID getSeriesId() {
+        return seriesId;
+      }
+
+      public long getCompleted() {
+        return completed;
+      }
+    };
+  }
+}
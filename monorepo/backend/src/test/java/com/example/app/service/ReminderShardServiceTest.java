@@ -0,0 +1,99 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.example.app.model.ReminderShard;
+import com.example.app.repository.ReminderShardRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ReminderShardServiceTest {
+
+  @Mock private ReminderShardRepository reminderShardRepository;
+
+  private ReminderShardService reminderShardService;
+
+  private final LocalDateTime windowStart = LocalDateTime.of(2024, 1, 15, 3, 30);
+
+  @BeforeEach
+  void setUp() {
+    reminderShardService = new ReminderShardService(reminderShardRepository, 3, 300, "node-a");
+  }
+
+  @Test
+  void bounds_CoverWholeIdSpaceWithoutGaps() {
+    int count = 3;
+    assertEquals(new UUID(0L, 0L), ReminderShardService.lowerBound(0, count));
+    assertEquals(new UUID(-1L, -1L), ReminderShardService.upperBound(count - 1, count));
+    for (int i = 0; i < count - 1; i++) {
+      UUID upper = ReminderShardService.upperBound(i, count);
+      UUID nextLower = ReminderShardService.lowerBound(i + 1, count);
+      assertEquals(-1L, upper.getLeastSignificantBits());
+      assertEquals(0L, nextLower.getLeastSignificantBits());
+      assertEquals(upper.getMostSignificantBits() + 1, nextLower.getMostSignificantBits());
+    }
+    // The second shard starts a third of the way in, compared as unsigned
+    assertEquals(
+        "55555555-5555-5555-0000-000000000000", ReminderShardService.lowerBound(1, 3).toString());
+  }
+
+  @Test
+  void createShards_SavesOneShardPerSlice() {
+    when(reminderShardRepository.existsByWindowStart(windowStart)).thenReturn(false);
+
+    reminderShardService.createShards(windowStart);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<ReminderShard>> captor = ArgumentCaptor.forClass(List.class);
+    verify(reminderShardRepository).saveAll(captor.capture());
+    List<ReminderShard> shards = captor.getValue();
+    assertEquals(3, shards.size());
+    assertEquals(2, shards.get(2).getShardIndex());
+    assertEquals(ReminderShard.Status.PENDING, shards.get(0).getStatus());
+  }
+
+  @Test
+  void createShards_AlreadyCreated_DoesNothing() {
+    when(reminderShardRepository.existsByWindowStart(windowStart)).thenReturn(true);
+
+    reminderShardService.createShards(windowStart);
+
+    verify(reminderShardRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  void claim_LeasesShardToThisNode() {
+    ReminderShard shard = new ReminderShard(windowStart, 0, new UUID(0, 0), new UUID(-1, -1));
+    when(reminderShardRepository.lockClaimable(eq(windowStart), any()))
+        .thenReturn(Optional.of(shard));
+
+    Optional<ReminderShard> claimed = reminderShardService.claim(windowStart);
+
+    assertSame(shard, claimed.orElseThrow());
+    assertEquals("node-a", shard.getLeaseOwner());
+    assertTrue(shard.getLeaseUntil().isAfter(LocalDateTime.now().plusSeconds(290)));
+  }
+
+  @Test
+  void checkpoint_LeaseTakenOver_ReturnsFalse() {
+    ReminderShard shard = new ReminderShard(windowStart, 0, new UUID(0, 0), new UUID(-1, -1));
+    UUID lastUserId = UUID.randomUUID();
+    when(reminderShardRepository.checkpoint(any(), eq("node-a"), eq(lastUserId), any()))
+        .thenReturn(0);
+
+    assertFalse(reminderShardService.checkpoint(shard, lastUserId));
+  }
+}
@@ -1,50 +1,92 @@
 package com.example.app.service;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.example.app.config.RecommendationScoringConfig;
 import com.example.app.dto.RecommendationResponse;
+import com.example.app.model.Episode;
 import com.example.app.model.Series;
 import com.example.app.model.User;
-import com.example.app.repository.EpisodeRepository;
-import com.example.app.repository.SeriesRepository;
 import com.example.app.repository.UserRepository;
 import com.example.app.repository.WatchHistoryRepository;
+import com.example.app.util.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 class SeriesServiceTest {
 
+  private static final int TOP_K = 20;
+  private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+
   @Mock private UserRepository userRepository;
-  @Mock private SeriesRepository seriesRepository;
+  @Mock private CatalogService catalogService;
   @Mock private WatchHistoryRepository watchHistoryRepository;
-  @Mock private EpisodeRepository episodeRepository;
+
+  @Mock private SeriesSignalsService seriesSignalsService;
+  @Mock private CoCompletionService coCompletionService;
+
+  @Spy
+  private RecommendationCache recommendationCache =
+      new RecommendationCache(600, 100, new SimpleMeterRegistry());
+
+  @Spy
+  private RecommendationEngine recommendationEngine =
+      new RecommendationEngine(RecommendationScoringConfig.defaultScorers(), TOP_K);
+
+  @Spy
+  private SingleFlight<String, RecommendationResponse> recommendationsFlight =
+      new SingleFlight<>("recommendations", new SimpleMeterRegistry());
+
+  private final SimpleMeterRegistry flightMetrics = new SimpleMeterRegistry();
+
+  @Spy
+  private SingleFlight<UUID, List<Episode>> episodesFlight =
+      new SingleFlight<>("episodes", flightMetrics);
 
   @InjectMocks private SeriesService seriesService;
 
+  @BeforeEach
+  void setUp() {
+    lenient().when(seriesSignalsService.signals()).thenReturn(SeriesSignals.EMPTY);
+    lenient().when(coCompletionService.coCompletions()).thenReturn(CoCompletions.EMPTY);
+  }
+
   @Test
   void testGetRecommendations_Success() {
     String email = "test@example.com";
     User user = new User(email);
     user.setInterests(new HashSet<>(List.of("Tech")));
 
-    when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+    when(userRepository.findWithInterestsByEmail(email)).thenReturn(Optional.of(user));
 
     Series series = new Series();
     series.setId(UUID.randomUUID());
     series.setCategory("Tech");
 
-    when(seriesRepository.findByCategoryIn(any())).thenReturn(List.of(series));
-    when(watchHistoryRepository.findByUserEmailAndIsCompletedTrue(email))
+    when(catalogService.snapshot()).thenReturn(new CatalogSnapshot(List.of(series), List.of()));
+    when(watchHistoryRepository.countCompletedByUserEmailIn(List.of(email)))
         .thenReturn(Collections.emptyList());
-    when(seriesRepository.findByCategoryNotIn(any())).thenReturn(Collections.emptyList());
 
     RecommendationResponse response = seriesService.getRecommendations(email);
     assertNotNull(response);
@@ -53,7 +95,7 @@ class SeriesServiceTest {
 
   @Test
   void testGetRecommendations_NullUser_ReturnsEmpty() {
-    when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+    when(userRepository.findWithInterestsByEmail(anyString())).thenReturn(Optional.empty());
     RecommendationResponse response = seriesService.getRecommendations("unknown@example.com");
     assertTrue(response.getRecommended().isEmpty());
   }
@@ -64,8 +106,8 @@ class SeriesServiceTest {
     User user = new User(email);
     user.setInterests(null); // Explicit null
 
-    when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
-    when(seriesRepository.findAll()).thenReturn(Collections.emptyList());
+    when(userRepository.findWithInterestsByEmail(email)).thenReturn(Optional.of(user));
+    when(catalogService.snapshot()).thenReturn(CatalogSnapshot.EMPTY);
 
     RecommendationResponse response = seriesService.getRecommendations(email);
     assertNotNull(response);
@@ -80,7 +122,7 @@ class SeriesServiceTest {
     user.getInterestWeights().put("Python", 10);
     user.getInterestWeights().put("Java", 5);
 
-    when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+    when(userRepository.findWithInterestsByEmail(email)).thenReturn(Optional.of(user));
 
     Series javaSeries = new Series();
     javaSeries.setId(UUID.randomUUID());
@@ -92,12 +134,12 @@ class SeriesServiceTest {
     pythonSeries.setTitle("Python Basics");
     pythonSeries.setCategory("Python"); // Matched interest, weight 10
 
-    // Repository returns them in arbitrary order (e.g. Java first)
-    when(seriesRepository.findByCategoryIn(any())).thenReturn(List.of(javaSeries, pythonSeries));
+    // Catalog holds them in arbitrary order (e.g. Java first)
+    when(catalogService.snapshot())
+        .thenReturn(new CatalogSnapshot(List.of(javaSeries, pythonSeries), List.of()));
 
-    when(watchHistoryRepository.findByUserEmailAndIsCompletedTrue(email))
+    when(watchHistoryRepository.countCompletedByUserEmailIn(List.of(email)))
         .thenReturn(Collections.emptyList());
-    when(seriesRepository.findByCategoryNotIn(any())).thenReturn(Collections.emptyList());
 
     RecommendationResponse response = seriesService.getRecommendations(email);
 
@@ -109,4 +151,255 @@ class SeriesServiceTest {
     assertEquals("Python Basics", recommended.get(0).getTitle());
     assertEquals("Java Basics", recommended.get(1).getTitle());
   }
+
+  @Test
+  void testGetRecommendations_ExcludesCompletedSeries() {
+    String email = "test@example.com";
+    User user = new User(email);
+    user.setInterests(new HashSet<>(List.of("Tech")));
+    when(userRepository.findWithInterestsByEmail(email)).thenReturn(Optional.of(user));
+
+    Series finished = series("Finished", "Tech");
+    Series started = series("Started", "Tech");
+    Series other = series("Other", "Art");
+    List<Episode> episodes =
+        List.of(
+            episode(finished, 1), episode(finished, 2), episode(started, 1), episode(started, 2));
+    when(catalogService.snapshot())
+        .thenReturn(new CatalogSnapshot(List.of(finished, started, other), episodes));
+    when(watchHistoryRepository.countCompletedByUserEmailIn(List.of(email)))
+        .thenReturn(
+            List.of(
+                completedCount(email, finished.getId(), 2),
+                completedCount(email, started.getId(), 1)));
+
+    RecommendationResponse response = seriesService.getRecommendations(email);
+
+    assertEquals(List.of("Started"), titles(response.getRecommended()));
+    assertEquals(List.of("Other"), titles(response.getOthers()));
+  }
+
+  @Test
+  void testGetRecommendations_AddsCoCompletedSeriesOutsideInterests() {
+    String email = "test@example.com";
+    User user = new User(email);
+    user.setInterests(new HashSet<>(List.of("Tech")));
+    when(userRepository.findWithInterestsByEmail(email)).thenReturn(Optional.of(user));
+
+    Series finished = series("Finished", "Tech");
+    Series alsoFinished = series("Also Finished", "Art");
+    Series other = series("Other", "Art");
+    CatalogSnapshot catalog =
+        new CatalogSnapshot(List.of(finished, alsoFinished, other), List.of(episode(finished, 1)));
+    when(catalogService.snapshot()).thenReturn(catalog);
+    when(watchHistoryRepository.countCompletedByUserEmailIn(List.of(email)))
+        .thenReturn(List.of(completedCount(email, finished.getId(), 1)));
+    CoCompletions.Builder builder = new CoCompletions.Builder(catalog, 16);
+    int[] finishedBoth = {
+      catalog.categoryIndex().denseId(finished.getId()),
+      catalog.categoryIndex().denseId(alsoFinished.getId())
+    };
+    builder.addUser(finishedBoth, 2);
+    when(coCompletionService.coCompletions()).thenReturn(builder.build(10, 1));
+
+    RecommendationResponse response = seriesService.getRecommendations(email);
+
+    assertEquals(List.of("Also Finished"), titles(response.getRecommended()));
+    assertEquals(List.of("Other"), titles(response.getOthers()));
+  }
+
+  @Test
+  void testGetRecommendations_QueryCountIndependentOfCatalogSize() {
+    String email = "test@example.com";
+    User user = new User(email);
+    user.setInterests(new HashSet<>(List.of("Tech")));
+    when(userRepository.findWithInterestsByEmail(email)).thenReturn(Optional.of(user));
+
+    List<Series> series = new ArrayList<>();
+    List<Episode> episodes = new ArrayList<>();
+    List<WatchHistoryRepository.CompletedCount> completed = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      Series s = series("Series " + i, i % 2 == 0 ? "Tech" : "Art");
+      series.add(s);
+      episodes.add(episode(s, 1));
+      episodes.add(episode(s, 2));
+      completed.add(completedCount(email, s.getId(), i % 3 == 0 ? 2 : 1));
+    }
+    when(catalogService.snapshot()).thenReturn(new CatalogSnapshot(series, episodes));
+    when(watchHistoryRepository.countCompletedByUserEmailIn(List.of(email))).thenReturn(completed);
+
+    RecommendationResponse response = seriesService.getRecommendations(email);
+
+    // The best of the 166 Tech series not fully completed (even i not divisible by 3): those with
+    // one of their two episodes completed, in catalog order
+    assertEquals(TOP_K, response.getRecommended().size());
+    assertEquals("Series 2", response.getRecommended().get(0).getTitle());
+    // The 84 fully completed Tech series are left out; the rest missed the top k
+    assertEquals(250 + 166 - TOP_K, response.getOthers().size());
+    // Three queries however many series are in the catalog: user, continue watching, and the
+    // grouped completed counts; episode counts come from the snapshot
+    verify(userRepository).findWithInterestsByEmail(email);
+    verify(watchHistoryRepository)
+        .findTop1ByUserEmailAndIsCompletedFalseOrderByLastWatchedAtDesc(email);
+    verify(watchHistoryRepository).countCompletedByUserEmailIn(List.of(email));
+    verify(catalogService).snapshot();
+    verifyNoMoreInteractions(userRepository, watchHistoryRepository, catalogService);
+  }
+
+  @Test
+  void testGetRecommendations_MatchesBeyondTopKAreListedInOthers() {
+    String email = "test@example.com";
+    User user = new User(email);
+    user.setInterests(new HashSet<>(List.of("Tech")));
+    when(userRepository.findWithInterestsByEmail(email)).thenReturn(Optional.of(user));
+
+    List<Series> series = new ArrayList<>();
+    for (int i = 0; i < TOP_K + 5; i++) {
+      series.add(series("Tech " + i, "Tech"));
+    }
+    series.add(series("Art", "Art"));
+    when(catalogService.snapshot()).thenReturn(new CatalogSnapshot(series, List.of()));
+    when(watchHistoryRepository.countCompletedByUserEmailIn(List.of(email)))
+        .thenReturn(Collections.emptyList());
+
+    RecommendationResponse response = seriesService.getRecommendations(email);
+
+    // Every series is listed exactly once
+    assertEquals(TOP_K, response.getRecommended().size());
+    assertEquals(6, response.getOthers().size());
+    Set<String> listed = new HashSet<>(titles(response.getRecommended()));
+    listed.addAll(titles(response.getOthers()));
+    assertEquals(new HashSet<>(titles(series)), listed);
+  }
+
+  @Test
+  void testGetRecommendations_ServedFromCacheUntilInputChanges() {
+    String email = "test@example.com";
+    User user = new User(email);
+    user.setInterests(new HashSet<>(List.of("Tech")));
+    when(userRepository.findWithInterestsByEmail(email)).thenReturn(Optional.of(user));
+    when(catalogService.snapshot())
+        .thenReturn(new CatalogSnapshot(List.of(series("Tech Talks", "Tech")), List.of()));
+    when(watchHistoryRepository.countCompletedByUserEmailIn(List.of(email)))
+        .thenReturn(Collections.emptyList());
+
+    RecommendationResponse first = seriesService.getRecommendations(email);
+    RecommendationResponse second = seriesService.getRecommendations(email);
+
+    assertSame(first, second);
+    verify(userRepository).findWithInterestsByEmail(email);
+
+    recommendationCache.onInputChanged(new RecommendationInputChangedEvent(email));
+    RecommendationResponse third = seriesService.getRecommendations(email);
+
+    assertNotSame(first, third);
+    verify(userRepository, times(2)).findWithInterestsByEmail(email);
+  }
+
+  @Test
+  void testGetRecommendations_RecomputedForNewCatalog() {
+    String email = "test@example.com";
+    User user = new User(email);
+    user.setInterests(new HashSet<>(List.of("Tech")));
+    when(userRepository.findWithInterestsByEmail(email)).thenReturn(Optional.of(user));
+    when(catalogService.snapshot())
+        .thenReturn(
+            new CatalogSnapshot(List.of(series("Tech Talks", "Tech")), List.of()),
+            new CatalogSnapshot(
+                List.of(series("Tech Talks", "Tech"), series("More Tech", "Tech")), List.of()));
+    when(watchHistoryRepository.countCompletedByUserEmailIn(List.of(email)))
+        .thenReturn(Collections.emptyList());
+
+    assertEquals(1, seriesService.getRecommendations(email).getRecommended().size());
+    assertEquals(2, seriesService.getRecommendations(email).getRecommended().size());
+  }
+
+  @Test
+  void testGetRecommendations_UnknownUserIsNotCached() {
+    when(catalogService.snapshot()).thenReturn(CatalogSnapshot.EMPTY);
+    when(userRepository.findWithInterestsByEmail("new@example.com")).thenReturn(Optional.empty());
+
+    seriesService.getRecommendations("new@example.com");
+    seriesService.getRecommendations("new@example.com");
+
+    verify(userRepository, times(2)).findWithInterestsByEmail("new@example.com");
+  }
+
+  @Test
+  void testGetEpisodesForSeries_ConcurrentCallsShareOneLookup() throws Exception {
+    UUID seriesId = UUID.randomUUID();
+    List<Episode> episodes = List.of(episode(series("Tech Talks", "Tech"), 1));
+    CountDownLatch release = new CountDownLatch(1);
+    when(catalogService.episodesOf(seriesId))
+        .thenAnswer(
+            invocation -> {
+              release.await(5, TimeUnit.SECONDS);
+              return episodes;
+            });
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      List<Future<List<Episode>>> calls = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        calls.add(executor.submit(() -> seriesService.getEpisodesForSeries(seriesId)));
+      }
+      // Two of the calls wait for the third's lookup before it returns
+      Counter coalesced =
+          flightMetrics.get("singleflight.calls").tag("outcome", "coalesced").counter();
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (coalesced.count() < 2 && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      release.countDown();
+
+      for (Future<List<Episode>> call : calls) {
+        assertSame(episodes, call.get(5, TimeUnit.SECONDS));
+      }
+      assertEquals(2, coalesced.count());
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(catalogService, times(1)).episodesOf(seriesId);
+  }
+
+  @Test
+  void testGetSeriesById_NotFound() {
+    UUID id = UUID.randomUUID();
+    when(catalogService.findSeries(id)).thenReturn(Optional.empty());
+
+    assertThrows(RuntimeException.class, () -> seriesService.getSeriesById(id));
+  }
+
+  private static Series series(String title, String category) {
+    Series series = new Series(title, "Description", category, "http://thumb.url");
+    series.setId(UUID.randomUUID());
+    series.setCreatedAt(CREATED_AT);
+    return series;
+  }
+
+  private static Episode episode(Series series, int sequenceNumber) {
+    Episode episode = new Episode(series, "Episode " + sequenceNumber, "url", 600, sequenceNumber);
+    episode.setId(UUID.randomUUID());
+    return episode;
+  }
+
+  private static WatchHistoryRepository.CompletedCount completedCount(
+      String email, UUID seriesId, long completed) {
+    return new WatchHistoryRepository.CompletedCount() {
+      public String getUserEmail() {
+        return email;
+      }
+
+      public UUID getSeriesId() {
+        return seriesId;
+      }
+
+      public long getCompleted() {
+        return completed;
+      }
+    };
+  }
+
+  private static List<String> titles(List<Series> series) {
+    return series.stream().map(Series::getTitle).toList();
+  }
 }
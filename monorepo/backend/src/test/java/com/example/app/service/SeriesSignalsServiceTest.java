@@ -0,0 +1,86 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.app.repository.SeriesReviewRepository;
+import com.example.app.repository.WatchHistoryRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SeriesSignalsServiceTest {
+
+  @Mock private SeriesReviewRepository seriesReviewRepository;
+  @Mock private WatchHistoryRepository watchHistoryRepository;
+
+  @InjectMocks private SeriesSignalsService seriesSignalsService;
+
+  @Test
+  void signals_AreAggregatedOnceAndKept() {
+    UUID rated = UUID.randomUUID();
+    UUID watched = UUID.randomUUID();
+    when(seriesReviewRepository.summarizeRatingsPerSeries())
+        .thenReturn(List.of(ratingSummary(rated, 4, 14)));
+    when(watchHistoryRepository.countViewersPerSeries())
+        .thenReturn(List.of(viewerCount(rated, 3), viewerCount(watched, 12)));
+
+    SeriesSignals signals = seriesSignalsService.signals();
+
+    assertSame(signals, seriesSignalsService.signals());
+    verify(seriesReviewRepository, times(1)).summarizeRatingsPerSeries();
+    assertEquals(new SeriesSignals.Stats(4, 3.5, 3), signals.of(rated));
+    assertEquals(0, signals.of(watched).reviews());
+    assertTrue(Double.isNaN(signals.of(watched).averageRating()));
+    assertEquals(12, signals.of(watched).viewers());
+    assertSame(SeriesSignals.NONE, signals.of(UUID.randomUUID()));
+    assertEquals(12, signals.maxViewers());
+  }
+
+  @Test
+  void refreshPeriodically_FailureKeepsCurrentSignals() {
+    when(seriesReviewRepository.summarizeRatingsPerSeries())
+        .thenReturn(List.of())
+        .thenThrow(new RuntimeException("database down"));
+    when(watchHistoryRepository.countViewersPerSeries()).thenReturn(List.of());
+    SeriesSignals before = seriesSignalsService.signals();
+
+    assertDoesNotThrow(() -> seriesSignalsService.refreshPeriodically());
+
+    assertSame(before, seriesSignalsService.signals());
+  }
+
+  private static SeriesReviewRepository.RatingSummary ratingSummary(
+      UUID seriesId, long reviews, long ratingSum) {
+    return new SeriesReviewRepository.RatingSummary() {
+      public UUID getSeriesId() {
+        return seriesId;
+      }
+
+      public long getReviews() {
+        return reviews;
+      }
+
+      public long getRatingSum() {
+        return ratingSum;
+      }
+    };
+  }
+
+  private static WatchHistoryRepository.ViewerCount viewerCount(UUID seriesId, long viewers) {
+    return new WatchHistoryRepository.ViewerCount() {
+      public UUID getSeriesId() {
+        return seriesId;
+      }
+
+      public long getViewers() {
+        return viewers;
+      }
+    };
+  }
+}
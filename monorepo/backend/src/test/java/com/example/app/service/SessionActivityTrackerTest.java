@@ -0,0 +1,86 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import com.example.app.repository.SessionRepository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SessionActivityTrackerTest {
+
+  @Mock private SessionRepository sessionRepository;
+
+  @Test
+  void flush_CoalescesRepeatedActivityIntoOneUpdate() {
+    SessionActivityTracker tracker = new SessionActivityTracker(true, 168, sessionRepository);
+
+    tracker.touch("a");
+    tracker.touch("b");
+    tracker.touch("a");
+    tracker.flush();
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+    ArgumentCaptor<LocalDateTime> expiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(sessionRepository, times(1)).renew(captor.capture(), any(), expiresAt.capture());
+    assertEquals(Set.of("a", "b"), Set.copyOf(captor.getValue()));
+    assertTrue(expiresAt.getValue().isAfter(LocalDateTime.now().plusHours(167)));
+    assertEquals(0, tracker.pendingCount());
+  }
+
+  @Test
+  void flush_SplitsLargeBacklogIntoBatches() {
+    SessionActivityTracker tracker = new SessionActivityTracker(true, 168, sessionRepository);
+    for (int i = 0; i < SessionActivityTracker.FLUSH_BATCH_SIZE + 1; i++) {
+      tracker.touch("hash-" + i);
+    }
+
+    tracker.flush();
+
+    verify(sessionRepository, times(2)).renew(anyCollection(), any(), any());
+  }
+
+  @Test
+  void flush_NothingRecorded_DoesNotTouchDatabase() {
+    SessionActivityTracker tracker = new SessionActivityTracker(true, 168, sessionRepository);
+
+    tracker.flush();
+
+    verifyNoInteractions(sessionRepository);
+  }
+
+  @Test
+  void touch_SlidingRenewalDisabled_IsIgnored() {
+    SessionActivityTracker tracker = new SessionActivityTracker(false, 168, sessionRepository);
+
+    tracker.touch("a");
+    tracker.flush();
+
+    assertEquals(0, tracker.pendingCount());
+    verifyNoInteractions(sessionRepository);
+  }
+
+  @Test
+  void flush_FailedBatch_IsDroppedWithoutThrowing() {
+    SessionActivityTracker tracker = new SessionActivityTracker(true, 168, sessionRepository);
+    when(sessionRepository.renew(anyCollection(), any(), any()))
+        .thenThrow(new RuntimeException("db down"));
+
+    tracker.touch("a");
+
+    assertDoesNotThrow(tracker::flush);
+    assertEquals(0, tracker.pendingCount());
+    verify(sessionRepository).renew(eq(List.of("a")), any(), any());
+  }
+}
@@ -0,0 +1,100 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.app.dto.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SessionCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private SessionCache sessionCache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    sessionCache = new SessionCache(300, 100, meterRegistry);
+  }
+
+  @Test
+  void get_SecondLookup_IsServedFromCache() {
+    AuthenticatedUser user = principal("test@example.com");
+    AtomicInteger loads = new AtomicInteger();
+
+    sessionCache.get("hash", key -> load(loads, user));
+    Optional<AuthenticatedUser> result = sessionCache.get("hash", key -> load(loads, user));
+
+    assertTrue(result.isPresent());
+    assertSame(user, result.get());
+    assertEquals(1, loads.get());
+    assertEquals(
+        1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    assertEquals(
+        1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+  }
+
+  @Test
+  void get_UnknownToken_IsNotCached() {
+    AtomicInteger loads = new AtomicInteger();
+
+    assertTrue(sessionCache.get("missing", key -> load(loads, null)).isEmpty());
+    assertTrue(sessionCache.get("missing", key -> load(loads, null)).isEmpty());
+
+    assertEquals(2, loads.get());
+    assertEquals(0, sessionCache.size());
+  }
+
+  @Test
+  void evict_RemovesSessionImmediately() {
+    AuthenticatedUser user = principal("test@example.com");
+    AtomicInteger loads = new AtomicInteger();
+    sessionCache.get("hash", key -> load(loads, user));
+
+    sessionCache.evict("hash");
+
+    assertTrue(sessionCache.get("hash", key -> load(loads, null)).isEmpty());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void evictUser_RemovesOnlyThatUsersSessions() {
+    AuthenticatedUser alice = principal("alice@example.com");
+    AuthenticatedUser bob = principal("bob@example.com");
+    AtomicInteger loads = new AtomicInteger();
+    sessionCache.get("alice-1", key -> load(loads, alice));
+    sessionCache.get("alice-2", key -> load(loads, alice));
+    sessionCache.get("bob-1", key -> load(loads, bob));
+
+    sessionCache.evictUser(alice.id());
+
+    assertEquals(1, sessionCache.size());
+  }
+
+  @Test
+  void get_SessionExpiringBeforeCacheTtl_IsNotServedPastItsExpiry() {
+    AuthenticatedUser expired =
+        new AuthenticatedUser(
+            UUID.randomUUID(), "test@example.com", false, LocalDateTime.now().minusSeconds(1));
+    AtomicInteger loads = new AtomicInteger();
+
+    sessionCache.get("hash", key -> load(loads, expired));
+    sessionCache.get("hash", key -> load(loads, expired));
+
+    assertEquals(2, loads.get());
+  }
+
+  private Optional<AuthenticatedUser> load(AtomicInteger loads, AuthenticatedUser principal) {
+    loads.incrementAndGet();
+    return Optional.ofNullable(principal);
+  }
+
+  private AuthenticatedUser principal(String email) {
+    return new AuthenticatedUser(UUID.randomUUID(), email, false);
+  }
+}
@@ -0,0 +1,64 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.example.app.repository.SessionRepository;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SessionReaperJobTest {
+
+  @Mock private SessionRepository sessionRepository;
+
+  @Test
+  void reap_DeletesInChunksUntilAPartialChunk() {
+    SessionReaperJob job = new SessionReaperJob(sessionRepository, 168, 100, 10);
+    when(sessionRepository.deleteExpiredBatch(any(), any(), eq(100))).thenReturn(100, 100, 42);
+
+    int deleted = job.reapExpiredSessions();
+
+    assertEquals(242, deleted);
+    verify(sessionRepository, times(3)).deleteExpiredBatch(any(), any(), eq(100));
+  }
+
+  @Test
+  void reap_StopsAfterMaxBatches() {
+    SessionReaperJob job = new SessionReaperJob(sessionRepository, 168, 100, 3);
+    when(sessionRepository.deleteExpiredBatch(any(), any(), eq(100))).thenReturn(100);
+
+    int deleted = job.reapExpiredSessions();
+
+    assertEquals(300, deleted);
+    verify(sessionRepository, times(3)).deleteExpiredBatch(any(), any(), eq(100));
+  }
+
+  @Test
+  void reap_LegacySessionsWithoutExpiry_AreReapedByAge() {
+    SessionReaperJob job = new SessionReaperJob(sessionRepository, 24, 100, 10);
+
+    job.reapExpiredSessions();
+
+    ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+    ArgumentCaptor<LocalDateTime> legacyCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(sessionRepository).deleteExpiredBatch(now.capture(), legacyCutoff.capture(), eq(100));
+    assertEquals(now.getValue().minusHours(24), legacyCutoff.getValue());
+  }
+
+  @Test
+  void reap_RepositoryFailure_IsNotPropagated() {
+    SessionReaperJob job = new SessionReaperJob(sessionRepository, 168, 100, 10);
+    when(sessionRepository.deleteExpiredBatch(any(), any(), eq(100)))
+        .thenReturn(100)
+        .thenThrow(new RuntimeException("lock timeout"));
+
+    assertEquals(100, job.reapExpiredSessions());
+  }
+}
@@ -0,0 +1,118 @@
+package com.example.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.example.app.repository.SessionRepository;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SignedTokenServiceTest {
+
+  private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+  @Mock private SessionRepository sessionRepository;
+
+  private SignedTokenService signedTokenService;
+  private final UUID sessionId = UUID.randomUUID();
+  private final UUID userId = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    signedTokenService = new SignedTokenService("signed", SECRET, 24, sessionRepository);
+  }
+
+  @Test
+  void verify_IssuedToken_ReturnsClaims() {
+    String token = signedTokenService.issue(sessionId, userId, "test@example.com");
+
+    Optional<SignedTokenService.SessionClaims> claims = signedTokenService.verify(token);
+
+    assertTrue(claims.isPresent());
+    assertEquals(sessionId, claims.get().sessionId());
+    assertEquals(userId, claims.get().userId());
+    assertEquals("test@example.com", claims.get().email());
+  }
+
+  @Test
+  void verify_TamperedPayload_IsRejected() {
+    String token = signedTokenService.issue(sessionId, userId, "test@example.com");
+    String other = signedTokenService.issue(sessionId, userId, "admin@example.com");
+    String forged = other.substring(0, other.indexOf('.')) + token.substring(token.indexOf('.'));
+
+    assertTrue(signedTokenService.verify(forged).isEmpty());
+    assertTrue(signedTokenService.verify("not-a-token").isEmpty());
+  }
+
+  @Test
+  void verify_TokenSignedWithOtherSecret_IsRejected() {
+    SignedTokenService other =
+        new SignedTokenService("signed", SECRET.toUpperCase(), 24, sessionRepository);
+
+    assertTrue(
+        signedTokenService
+            .verify(other.issue(sessionId, userId, "test@example.com"))
+            .isEmpty());
+  }
+
+  @Test
+  void verify_ExpiredToken_IsRejectedButSignatureStillChecks() {
+    String token =
+        signedTokenService.issue(
+            sessionId,
+            userId,
+            "test@example.com",
+            Instant.now().minus(25, ChronoUnit.HOURS));
+
+    assertTrue(signedTokenService.verify(token).isEmpty());
+    assertTrue(signedTokenService.verifySignature(token).isPresent());
+  }
+
+  @Test
+  void verify_RevokedSession_IsRejectedImmediately() {
+    String token = signedTokenService.issue(sessionId, userId, "test@example.com");
+
+    signedTokenService.revoke(signedTokenService.verify(token).get().tokenHash());
+
+    assertTrue(signedTokenService.verify(token).isEmpty());
+  }
+
+  @Test
+  void refreshRevocations_LoadsSessionsRevokedOnOtherNodes() {
+    String token = signedTokenService.issue(sessionId, userId, "test@example.com");
+    String tokenHash = signedTokenService.verify(token).get().tokenHash();
+    when(sessionRepository.findRevokedTokenHashesCreatedAfter(any()))
+        .thenReturn(List.of(tokenHash));
+
+    signedTokenService.refreshRevocations();
+
+    assertTrue(signedTokenService.verify(token).isEmpty());
+    assertEquals(1, signedTokenService.revokedCount());
+  }
+
+  @Test
+  void constructor_SignedModeWithShortSecret_Fails() {
+    assertThrows(
+        IllegalStateException.class,
+        () -> new SignedTokenService("signed", "too-short", 24, sessionRepository));
+  }
+
+  @Test
+  void opaqueMode_VerifiesNothing() {
+    SignedTokenService opaque = new SignedTokenService("opaque", "", 24, sessionRepository);
+    String token = signedTokenService.issue(sessionId, userId, "test@example.com");
+
+    assertFalse(opaque.isEnabled());
+    assertTrue(opaque.verify(token).isEmpty());
+  }
+}
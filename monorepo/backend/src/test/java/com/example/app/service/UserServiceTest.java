@@ -6,6 +6,7 @@ import static org.mockito.Mockito.*;
 
 import com.example.app.model.User;
 import com.example.app.repository.UserRepository;
+import java.time.ZoneId;
 import java.util.Optional;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
@@ -13,12 +14,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
 
   @Mock private UserRepository userRepository;
 
+  @Mock private SessionCache sessionCache;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks private UserService userService;
 
   @Test
@@ -38,6 +44,7 @@ class UserServiceTest {
 
     verify(userRepository, times(1)).save(user);
     assertEquals(interests, user.getInterests());
+    verify(eventPublisher).publishEvent(new RecommendationInputChangedEvent(email));
   }
 
   @Test
@@ -51,4 +58,16 @@ class UserServiceTest {
         IllegalArgumentException.class, () -> userService.updateInterests(email, interests));
     verify(userRepository, never()).save(any());
   }
+
+  @Test
+  void testUpdateTimeZone_StoresZoneId() {
+    String email = "test@example.com";
+    User user = new User(email);
+    when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+
+    userService.updateTimeZone(email, ZoneId.of("Europe/Berlin"));
+
+    assertEquals("Europe/Berlin", user.getTimeZone());
+    verify(userRepository).save(user);
+  }
 }
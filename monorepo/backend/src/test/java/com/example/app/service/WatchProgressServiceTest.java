@@ -9,9 +9,10 @@ import com.example.app.exception.ResourceNotFoundException;
 import com.example.app.model.Episode;
 import com.example.app.model.Series;
 import com.example.app.model.WatchHistory;
-import com.example.app.repository.EpisodeRepository;
 import com.example.app.repository.SeriesRepository;
 import com.example.app.repository.WatchHistoryRepository;
+import com.example.app.util.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,7 +20,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class WatchProgressServiceTest {
@@ -27,9 +30,14 @@ class WatchProgressServiceTest {
   @Mock
   private WatchHistoryRepository watchHistoryRepository;
   @Mock
-  private EpisodeRepository episodeRepository;
+  private CatalogService catalogService;
   @Mock
   private SeriesRepository seriesRepository;
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+  @Spy
+  private SingleFlight<String, Optional<ContinueWatchingResponse>> continueWatchingFlight =
+      new SingleFlight<>("continueWatching", new SimpleMeterRegistry());
 
   @InjectMocks
   private WatchProgressService watchProgressService;
@@ -49,7 +57,7 @@ class WatchProgressServiceTest {
     when(watchHistoryRepository.findTop1ByUserEmailAndIsCompletedFalseOrderByLastWatchedAtDesc(
         email))
         .thenReturn(Optional.of(watchHistory));
-    when(episodeRepository.findById(episodeId)).thenReturn(Optional.of(episode));
+    when(catalogService.findEpisode(episodeId)).thenReturn(Optional.of(episode));
 
     Optional<ContinueWatchingResponse> result = watchProgressService.getContinueWatching(email);
 
@@ -83,7 +91,7 @@ class WatchProgressServiceTest {
 
     when(watchHistoryRepository.findByUserEmailAndEpisodeId(email, episodeId))
         .thenReturn(Optional.empty());
-    when(episodeRepository.findById(episodeId)).thenReturn(Optional.of(episode));
+    when(catalogService.findEpisode(episodeId)).thenReturn(Optional.of(episode));
 
     watchProgressService.saveProgress(email, episodeId, progressSeconds);
 
@@ -98,17 +106,19 @@ class WatchProgressServiceTest {
     Integer progressSeconds = 240;
 
     Series series = new Series("Test Series", "Description", "Tech", "thumb.jpg");
+    series.setId(seriesId);
     Episode episode = new Episode(series, "Episode 1", "video.mp4", 600, 1);
     WatchHistory existingHistory = new WatchHistory(email, seriesId, episodeId, 120, false);
 
     when(watchHistoryRepository.findByUserEmailAndEpisodeId(email, episodeId))
         .thenReturn(Optional.of(existingHistory));
-    when(episodeRepository.findById(episodeId)).thenReturn(Optional.of(episode));
+    when(catalogService.findEpisode(episodeId)).thenReturn(Optional.of(episode));
 
     watchProgressService.saveProgress(email, episodeId, progressSeconds);
 
     assertEquals(240, existingHistory.getProgressSeconds());
     verify(watchHistoryRepository, times(1)).save(existingHistory);
+    verify(eventPublisher).publishEvent(new WatchProgressSavedEvent(email, seriesId));
   }
 
   @Test
@@ -126,6 +136,7 @@ class WatchProgressServiceTest {
 
     assertTrue(existingHistory.isCompleted());
     verify(watchHistoryRepository, times(1)).save(existingHistory);
+    verify(eventPublisher).publishEvent(new RecommendationInputChangedEvent(email));
   }
 
   @Test
@@ -138,7 +149,7 @@ class WatchProgressServiceTest {
 
     when(watchHistoryRepository.findByUserEmailAndEpisodeId(email, episodeId))
         .thenReturn(Optional.empty());
-    when(episodeRepository.findById(episodeId)).thenReturn(Optional.of(episode));
+    when(catalogService.findEpisode(episodeId)).thenReturn(Optional.of(episode));
 
     watchProgressService.markCompleted(email, episodeId);
 
@@ -155,7 +166,7 @@ class WatchProgressServiceTest {
 
     when(watchHistoryRepository.findByUserEmailAndEpisodeId(email, episodeId))
         .thenReturn(Optional.empty());
-    when(episodeRepository.findById(episodeId)).thenReturn(Optional.of(episode));
+    when(catalogService.findEpisode(episodeId)).thenReturn(Optional.of(episode));
 
     watchProgressService.saveProgress(email, episodeId, null);
 
@@ -168,7 +179,7 @@ class WatchProgressServiceTest {
     String email = "test@example.com";
     UUID episodeId = UUID.randomUUID();
 
-    when(episodeRepository.findById(episodeId)).thenReturn(Optional.empty());
+    when(catalogService.findEpisode(episodeId)).thenReturn(Optional.empty());
 
     assertThrows(
         ResourceNotFoundException.class,
@@ -182,7 +193,7 @@ class WatchProgressServiceTest {
 
     when(watchHistoryRepository.findByUserEmailAndEpisodeId(email, episodeId))
         .thenReturn(Optional.empty());
-    when(episodeRepository.findById(episodeId)).thenReturn(Optional.empty());
+    when(catalogService.findEpisode(episodeId)).thenReturn(Optional.empty());
 
     assertThrows(
         ResourceNotFoundException.class,
@@ -202,7 +213,7 @@ class WatchProgressServiceTest {
 
     when(watchHistoryRepository.findByUserEmailAndEpisodeId(email, episodeId))
         .thenReturn(Optional.of(initialHistory));
-    when(episodeRepository.findById(episodeId)).thenReturn(Optional.of(episode));
+    when(catalogService.findEpisode(episodeId)).thenReturn(Optional.of(episode));
 
     // Simulate Session A updating progress
     watchProgressService.saveProgress(email, episodeId, 110);
@@ -228,7 +239,7 @@ class WatchProgressServiceTest {
 
     WatchHistory history1 = new WatchHistory(email, seriesId, epId1, null, false);
 
-    when(episodeRepository.findBySeriesIdOrderBySequenceNumberAsc(seriesId)).thenReturn(java.util.List.of(ep1));
+    when(catalogService.episodesOf(seriesId)).thenReturn(java.util.List.of(ep1));
     when(watchHistoryRepository.findByUserEmailAndSeriesId(email, seriesId)).thenReturn(java.util.List.of(history1));
 
     double progress = watchProgressService.calculateSeriesProgress(email, seriesId);
@@ -252,7 +263,7 @@ class WatchProgressServiceTest {
     WatchHistory history1 = new WatchHistory(email, seriesId, epId1, 50, false);
     WatchHistory history2 = new WatchHistory(email, seriesId, epId2, 90, false);
 
-    when(episodeRepository.findBySeriesIdOrderBySequenceNumberAsc(seriesId)).thenReturn(java.util.List.of(ep1, ep2));
+    when(catalogService.episodesOf(seriesId)).thenReturn(java.util.List.of(ep1, ep2));
     when(watchHistoryRepository.findByUserEmailAndSeriesId(email, seriesId))
         .thenReturn(java.util.List.of(history1, history2));
 
@@ -0,0 +1,67 @@
+package com.example.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class EmailTemplateTest {
+
+  @Test
+  void text_ReplacesPlaceholdersInParameterOrder() {
+    EmailTemplate template =
+        EmailTemplate.text("{{title}} by {{author}}: {{ title }}!", "author", "title");
+
+    assertEquals("Java by Ann: Java!", template.render("Ann", "Java"));
+  }
+
+  @Test
+  void text_InsertsValuesUnescapedAndNullAsNothing() {
+    EmailTemplate template = EmailTemplate.text("<{{a}}>[{{b}}]", "a", "b");
+
+    assertEquals("<x & y>[]", template.render("x & y", null));
+  }
+
+  @Test
+  void html_EscapesValuesButNotTheTemplate() {
+    EmailTemplate template =
+        EmailTemplate.html("<a href=\"{{link}}\">{{title}}</a>", "link", "title");
+
+    assertEquals(
+        "<a href=\"/watch?a=1&amp;b=&quot;2&quot;\">Tom &amp; Jerry&#39;s &lt;show&gt;</a>",
+        template.render("/watch?a=1&b=\"2\"", "Tom & Jerry's <show>"));
+  }
+
+  @Test
+  void render_PooledBuilderStartsEmpty() {
+    EmailTemplate template = EmailTemplate.text("Hi {{name}}", "name");
+
+    assertEquals("Hi A", template.render("A"));
+    assertEquals("Hi B", template.render("B"));
+  }
+
+  @Test
+  void renderTo_AppendsToBuilder() {
+    StringBuilder out = new StringBuilder("> ");
+
+    EmailTemplate.text("{{a}}-{{a}}", "a").renderTo(out, "x");
+
+    assertEquals("> x-x", out.toString());
+  }
+
+  @Test
+  void compile_UnknownPlaceholder_Fails() {
+    assertThrows(IllegalArgumentException.class, () -> EmailTemplate.text("Hi {{nmae}}", "name"));
+  }
+
+  @Test
+  void compile_UnterminatedPlaceholder_Fails() {
+    assertThrows(IllegalArgumentException.class, () -> EmailTemplate.text("Hi {{name", "name"));
+  }
+
+  @Test
+  void render_WrongNumberOfValues_Fails() {
+    EmailTemplate template = EmailTemplate.text("{{a}}{{b}}", "a", "b");
+
+    assertThrows(IllegalArgumentException.class, () -> template.render("only one"));
+  }
+}
@@ -0,0 +1,68 @@
+package com.example.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LongIntHashMapTest {
+
+  @Test
+  void addTo_SumsPerKey() {
+    LongIntHashMap map = new LongIntHashMap(4);
+
+    assertEquals(1, map.addTo(42L, 1));
+    assertEquals(3, map.addTo(42L, 2));
+    assertEquals(-1, map.addTo(7L << 32, -1));
+
+    assertEquals(3, map.get(42L));
+    assertEquals(-1, map.get(7L << 32));
+    assertEquals(0, map.get(43L));
+    assertEquals(2, map.size());
+  }
+
+  @Test
+  void zeroKey_IsAKeyLikeAnyOther() {
+    LongIntHashMap map = new LongIntHashMap(4);
+
+    assertEquals(0, map.get(0L));
+    map.addTo(0L, 5);
+    map.addTo(0L, 1);
+
+    assertEquals(6, map.get(0L));
+    assertEquals(1, map.size());
+    Map<Long, Integer> visited = new HashMap<>();
+    map.forEach(visited::put);
+    assertEquals(Map.of(0L, 6), visited);
+  }
+
+  @Test
+  void growsBeyondExpectedSize_AndMatchesHashMap() {
+    LongIntHashMap map = new LongIntHashMap(0);
+    Map<Long, Integer> expected = new HashMap<>();
+    Random random = new Random(7);
+    for (int i = 0; i < 100_000; i++) {
+      // Pair keys as the co-completion job builds them: high and low halves both vary
+      long key = ((long) random.nextInt(500) << 32) | random.nextInt(500);
+      int delta = random.nextInt(3) + 1;
+      map.addTo(key, delta);
+      expected.merge(key, delta, Integer::sum);
+    }
+
+    Map<Long, Integer> visited = new HashMap<>();
+    map.forEach(visited::put);
+    assertEquals(expected, visited);
+    assertEquals(expected.size(), map.size());
+    expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+  }
+
+  @Test
+  void memoryBytes_CountsBothArrays() {
+    LongIntHashMap map = new LongIntHashMap(9);
+
+    // 9 keys at a load factor of 0.6 need 16 slots of 8 + 4 bytes
+    assertEquals(16 * 12, map.memoryBytes());
+  }
+}
@@ -0,0 +1,84 @@
+package com.example.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class Sha256Test {
+
+  @Test
+  void base64_MatchesMessageDigest() throws Exception {
+    String token = UUID.randomUUID().toString();
+
+    assertEquals(reference(token), Sha256.base64(token));
+    assertEquals(reference(""), Sha256.base64(""));
+  }
+
+  @Test
+  void base64_NonAsciiAndLongInput_MatchMessageDigest() throws Exception {
+    String nonAscii = "otp-123-ü-€-😀";
+    String longInput = "x".repeat(1000) + "é";
+
+    assertEquals(reference(nonAscii), Sha256.base64(nonAscii));
+    assertEquals(reference(longInput), Sha256.base64(longInput));
+  }
+
+  @Test
+  void base64_WithPrefix_HashesConcatenation() throws Exception {
+    String salt = UUID.randomUUID().toString();
+
+    assertEquals(reference(salt + "123456"), Sha256.base64(salt, "123456"));
+  }
+
+  @Test
+  void matches_ComparesAgainstEncodedHash() {
+    String salt = UUID.randomUUID().toString();
+    String hash = Sha256.base64(salt, "123456");
+
+    assertTrue(Sha256.matches(salt, "123456", hash));
+    assertFalse(Sha256.matches(salt, "654321", hash));
+    assertFalse(Sha256.matches(salt, "123456", hash.substring(1)));
+    assertFalse(Sha256.matches(salt, "123456", null));
+  }
+
+  @Test
+  void base64_ConcurrentCallers_GetIndependentResults() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  for (int j = 0; j < 200; j++) {
+                    String token = UUID.randomUUID().toString();
+                    if (!reference(token).equals(Sha256.base64(token))) {
+                      return false;
+                    }
+                  }
+                  return true;
+                }));
+      }
+      for (Future<Boolean> result : results) {
+        assertTrue(result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static String reference(String value) throws Exception {
+    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+    return Base64.getEncoder()
+        .encodeToString(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+  }
+}
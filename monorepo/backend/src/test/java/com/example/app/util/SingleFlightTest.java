@@ -0,0 +1,137 @@
+package com.example.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  private static final int FOLLOWERS = 4;
+
+  private SimpleMeterRegistry meterRegistry;
+  private SingleFlight<String, Object> flight;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    flight = new SingleFlight<>("test", meterRegistry);
+    executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void concurrentCalls_ShareOneExecution() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger executions = new AtomicInteger();
+    Object result = new Object();
+
+    List<Future<Object>> calls = new ArrayList<>();
+    calls.add(
+        executor.submit(() -> flight.execute("key", () -> block(release, executions, result))));
+    awaitInFlight(1);
+    for (int i = 0; i < FOLLOWERS; i++) {
+      calls.add(executor.submit(() -> flight.execute("key", () -> fail("ran a second time"))));
+    }
+    awaitCount("coalesced", FOLLOWERS);
+    release.countDown();
+
+    for (Future<Object> call : calls) {
+      assertSame(result, call.get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, executions.get());
+    assertEquals(1, count("executed"));
+    assertEquals(0, flight.inFlight());
+  }
+
+  @Test
+  void coalescedCalls_GetTheLeadersException() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    IllegalStateException failure = new IllegalStateException("boom");
+
+    Future<Object> leader =
+        executor.submit(
+            () ->
+                flight.execute(
+                    "key",
+                    () -> {
+                      await(release);
+                      throw failure;
+                    }));
+    awaitInFlight(1);
+    Future<Object> follower = executor.submit(() -> flight.execute("key", Object::new));
+    awaitCount("coalesced", 1);
+    release.countDown();
+
+    assertSame(failure, assertThrows(Exception.class, () -> leader.get()).getCause());
+    assertSame(failure, assertThrows(Exception.class, () -> follower.get()).getCause());
+    assertEquals(0, flight.inFlight());
+  }
+
+  @Test
+  void sequentialCalls_RunEachTime() {
+    AtomicInteger executions = new AtomicInteger();
+
+    flight.execute("key", executions::incrementAndGet);
+    flight.execute("key", executions::incrementAndGet);
+    assertNull(flight.execute("other", () -> null));
+
+    assertEquals(2, executions.get());
+    assertEquals(3, count("executed"));
+    assertEquals(0, count("coalesced"));
+  }
+
+  private Object block(CountDownLatch release, AtomicInteger executions, Object result) {
+    executions.incrementAndGet();
+    await(release);
+    return result;
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private void awaitInFlight(int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (flight.inFlight() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertEquals(expected, flight.inFlight());
+  }
+
+  private void awaitCount(String outcome, int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (count(outcome) < expected && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertEquals(expected, count(outcome));
+  }
+
+  private double count(String outcome) {
+    return meterRegistry
+        .get("singleflight.calls")
+        .tag("name", "test")
+        .tag("outcome", outcome)
+        .counter()
+        .count();
+  }
+}
@@ -79,7 +79,9 @@ const OnboardingPage = () => {
         try {
             await api.post('/api/users/preferences', {
                 email: email,
-                interests: Array.from(selectedInterests)
+                interests: Array.from(selectedInterests),
+                // Daily reminders are sent at 9:00 in this zone
+                timeZone: Intl.DateTimeFormat().resolvedOptions().timeZone
             });
             navigate('/recommendations', { state: { email: email } }); // Redirect to RecommendationsPage with email
         } catch (err) {
@@ -99,7 +99,8 @@ describe('OnboardingPage', () => {
         await waitFor(() => {
             expect(api.post).toHaveBeenCalledWith('/api/users/preferences', {
                 email: mockEmail,
-                interests: ['Tech']
+                interests: ['Tech'],
+                timeZone: Intl.DateTimeFormat().resolvedOptions().timeZone
             });
             expect(mockNavigate).toHaveBeenCalledWith('/recommendations', { state: { email: mockEmail } });
         });